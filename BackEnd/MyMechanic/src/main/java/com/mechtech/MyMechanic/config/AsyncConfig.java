@@ -0,0 +1,44 @@
+package com.mechtech.MyMechanic.config;
+
+import com.mechtech.MyMechanic.multiTenants.TenantTaskDecorator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorCustomizer;
+import org.springframework.boot.task.ThreadPoolTaskExecutorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// O decorator é aplicado apenas ao executor de tarefas, não ao agendador: jobs @Scheduled rodam
+// sem tenant de propósito, sobre todos os tenants. O executor atende as requisições assíncronas do
+// MVC (ex.: PDFs, que retornam Callable); com @EnableWebMvc o Boot não faz essa ligação sozinho.
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    public AsyncConfig(@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                       AsyncTaskExecutor applicationTaskExecutor) {
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
+
+    // Estáticos: o executor é criado a partir deles antes desta configuração, que depende dele
+    // Executor padrão (pool de threads de plataforma)
+    @Bean
+    public static ThreadPoolTaskExecutorCustomizer tenantThreadPoolTaskExecutorCustomizer() {
+        return executor -> executor.setTaskDecorator(new TenantTaskDecorator());
+    }
+
+    // Executor usado quando spring.threads.virtual.enabled=true (uma virtual thread por tarefa)
+    @Bean
+    public static SimpleAsyncTaskExecutorCustomizer tenantSimpleAsyncTaskExecutorCustomizer() {
+        return executor -> executor.setTaskDecorator(new TenantTaskDecorator());
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(applicationTaskExecutor);
+    }
+}
@@ -0,0 +1,196 @@
+package com.mechtech.MyMechanic.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.annotations.Filter;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+// Na subida da aplicação, compara as combinações de colunas filtradas (tenant_id dos @Filter
+// e propriedades dos métodos derivados dos repositórios) com os índices existentes no banco
+// e registra no log as combinações sem índice de apoio. Apenas informativo.
+@Slf4j
+@Component
+public class IndexAdvisor {
+
+    private static final String TENANT_FILTER = "tenantFilter";
+    private static final String TENANT_COLUMN = "tenant_id";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+    private final ApplicationContext applicationContext;
+
+    @Value("${app.index-advisor.enabled:true}")
+    private boolean enabled;
+
+    public IndexAdvisor(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+                        ApplicationContext applicationContext) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+        this.applicationContext = applicationContext;
+    }
+
+    private record IndexInfo(String name, boolean unique, List<String> columns) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void advise() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<String> missing = findMissingIndexes();
+            if (missing.isEmpty()) {
+                log.info("Index advisor: todas as combinações de colunas filtradas possuem índice");
+            }
+            missing.forEach(message -> log.warn("Index advisor: {}", message));
+        } catch (Exception e) {
+            log.warn("Index advisor não pôde analisar os índices: {}", e.getMessage());
+        }
+    }
+
+    List<String> findMissingIndexes() throws SQLException {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Repositories repositories = new Repositories(applicationContext);
+        List<String> missing = new ArrayList<>();
+
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+
+            for (EntityType<?> entityType : entityManagerFactory.getMetamodel().getEntities()) {
+                Class<?> entityClass = entityType.getJavaType();
+                EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(entityClass);
+                if (!(persister instanceof AbstractEntityPersister entityPersister)) {
+                    continue;
+                }
+
+                String table = unqualified(entityPersister.getTableName());
+                List<IndexInfo> indexes = readIndexes(metaData, table);
+                boolean tenantFiltered = isTenantFiltered(entityClass);
+
+                Set<List<String>> combinations = new LinkedHashSet<>();
+                if (tenantFiltered) {
+                    combinations.add(List.of(TENANT_COLUMN));
+                }
+                repositories.getRepositoryInformationFor(entityClass).ifPresent(information ->
+                        combinations.addAll(derivedQueryColumns(information, entityClass, entityPersister, tenantFiltered)));
+
+                for (List<String> columns : combinations) {
+                    if (!isCovered(columns, indexes)) {
+                        missing.add(String.format("tabela %s sem índice para (%s)", table, String.join(", ", columns)));
+                    }
+                }
+            }
+        }
+        return missing;
+    }
+
+    private boolean isTenantFiltered(Class<?> entityClass) {
+        return Arrays.stream(entityClass.getAnnotationsByType(Filter.class))
+                .anyMatch(filter -> TENANT_FILTER.equals(filter.name()));
+    }
+
+    // Colunas usadas nos métodos derivados (findBy/existsBy/countBy...); @Query explícitas não são analisadas
+    private List<List<String>> derivedQueryColumns(RepositoryInformation information, Class<?> entityClass,
+                                                   AbstractEntityPersister persister, boolean tenantFiltered) {
+        List<List<String>> result = new ArrayList<>();
+        for (Method method : information.getQueryMethods()) {
+            if (method.isAnnotationPresent(Query.class)) {
+                continue;
+            }
+            try {
+                PartTree tree = new PartTree(method.getName(), entityClass);
+                List<String> columns = new ArrayList<>();
+                if (tenantFiltered) {
+                    columns.add(TENANT_COLUMN);
+                }
+                for (Part part : tree.getParts()) {
+                    String[] propertyColumns = persister.getPropertyColumnNames(part.getProperty().toDotPath());
+                    for (String column : propertyColumns) {
+                        String normalized = column.toLowerCase(Locale.ROOT);
+                        if (!columns.contains(normalized)) {
+                            columns.add(normalized);
+                        }
+                    }
+                }
+                if (columns.size() > (tenantFiltered ? 1 : 0)) {
+                    result.add(columns);
+                }
+            } catch (RuntimeException e) {
+                // Propriedade aninhada ou de coleção (ex.: findByVehicles_Id): fora do escopo da análise
+                log.debug("Index advisor ignorou {}.{}: {}", entityClass.getSimpleName(), method.getName(), e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    // Um índice apoia a combinação quando suas primeiras colunas são exatamente as colunas filtradas
+    // (em qualquer ordem, pois são igualdades), ou quando é um índice único contido na combinação.
+    private boolean isCovered(List<String> columns, List<IndexInfo> indexes) {
+        Set<String> wanted = new HashSet<>(columns);
+        for (IndexInfo index : indexes) {
+            if (index.columns().size() >= wanted.size()
+                    && new HashSet<>(index.columns().subList(0, wanted.size())).equals(wanted)) {
+                return true;
+            }
+            if (index.unique() && wanted.containsAll(index.columns())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<IndexInfo> readIndexes(DatabaseMetaData metaData, String table) throws SQLException {
+        Map<String, Boolean> uniqueByName = new LinkedHashMap<>();
+        Map<String, TreeMap<Short, String>> columnsByName = new LinkedHashMap<>();
+
+        // O PostgreSQL guarda nomes em minúsculas e o H2 em maiúsculas
+        for (String candidate : List.of(table.toLowerCase(Locale.ROOT), table.toUpperCase(Locale.ROOT))) {
+            try (ResultSet rs = metaData.getIndexInfo(null, null, candidate, false, true)) {
+                while (rs.next()) {
+                    String indexName = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (indexName == null || column == null) {
+                        continue;
+                    }
+                    uniqueByName.put(indexName, !rs.getBoolean("NON_UNIQUE"));
+                    columnsByName.computeIfAbsent(indexName, k -> new TreeMap<>())
+                            .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                }
+            }
+            if (!columnsByName.isEmpty()) {
+                break;
+            }
+        }
+
+        List<IndexInfo> indexes = new ArrayList<>();
+        columnsByName.forEach((name, columns) ->
+                indexes.add(new IndexInfo(name, uniqueByName.get(name), new ArrayList<>(columns.values()))));
+        return indexes;
+    }
+
+    private String unqualified(String tableName) {
+        int dot = tableName.lastIndexOf('.');
+        return dot >= 0 ? tableName.substring(dot + 1) : tableName;
+    }
+}
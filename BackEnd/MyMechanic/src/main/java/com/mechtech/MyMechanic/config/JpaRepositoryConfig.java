@@ -0,0 +1,13 @@
+package com.mechtech.MyMechanic.config;
+
+import com.mechtech.MyMechanic.repository.support.ExtendedJpaRepository;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+// Todos os repositórios herdam de ExtendedJpaRepository; os que estendem
+// SliceSpecificationExecutor ganham o findSlice (paginação sem COUNT)
+@Configuration
+@EnableJpaRepositories(basePackages = "com.mechtech.MyMechanic.repository",
+        repositoryBaseClass = ExtendedJpaRepository.class)
+public class JpaRepositoryConfig {
+}
@@ -1,15 +0,0 @@
-package com.mechtech.MyMechanic.config;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.data.projection.ProjectionFactory;
-import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
-
-@Configuration
-public class ProjectionConfig {
-
-    @Bean
-    public ProjectionFactory projectionFactory() {
-        return new SpelAwareProxyProjectionFactory();
-    }
-}
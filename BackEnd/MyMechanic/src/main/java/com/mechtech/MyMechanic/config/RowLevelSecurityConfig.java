@@ -0,0 +1,29 @@
+package com.mechtech.MyMechanic.config;
+
+import com.mechtech.MyMechanic.multiTenants.TenantAwareDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Ativo com app.tenancy.isolation=rls: o isolamento passa a ser feito pelas políticas do
+// PostgreSQL (V19) e o TenantFilterAspect deixa de ativar o filtro do Hibernate.
+@Configuration
+@ConditionalOnProperty(name = "app.tenancy.isolation", havingValue = "rls")
+public class RowLevelSecurityConfig {
+
+    @Bean
+    public static BeanPostProcessor tenantAwareDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TenantAwareDataSource)) {
+                    return new TenantAwareDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
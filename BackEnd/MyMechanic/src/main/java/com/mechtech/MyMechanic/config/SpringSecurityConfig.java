@@ -1,10 +1,13 @@
 package com.mechtech.MyMechanic.config;
 
 
+import com.mechtech.MyMechanic.config.security.RateLimitFilter;
 import com.mechtech.MyMechanic.jwt.JwtAuthenticationEntryPoint;
 import com.mechtech.MyMechanic.jwt.JwtAuthorizationFilter;
 import com.mechtech.MyMechanic.jwt.TenantFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -34,16 +37,23 @@ import org.springframework.security.config.Customizer;
                 .formLogin(form -> form.disable())
                 .httpBasic(httpBasic -> httpBasic.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // Retomada de requisições assíncronas (ex.: PDFs): a requisição original já foi autorizada
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/auth").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/auth/refresh", "/api/v1/auth/logout").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/users").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/tenants/register").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/users/forgot-password").permitAll()
                         .requestMatchers(HttpMethod.PATCH, "/api/v1/users/reset-password").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/addresses/**").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        // As métricas somam todos os tenants: só administradores
+                        .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 ).sessionManagement(
                         session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                ).addFilterBefore(
+                        rateLimitFilter(), UsernamePasswordAuthenticationFilter.class
                 ).addFilterBefore(
                         tenantFilter(), UsernamePasswordAuthenticationFilter.class
                 )
@@ -55,8 +65,14 @@ import org.springframework.security.config.Customizer;
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength) {
+        // Hashes com custo menor que o configurado são regravados no próximo login (LoginService)
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter() {
+        return new RateLimitFilter();
     }
 
     @Bean
@@ -0,0 +1,147 @@
+package com.mechtech.MyMechanic.config.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mechtech.MyMechanic.exception.ErrorMessage;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Limita as rotas públicas que disparam trabalho caro (BCrypt, envio de e-mail, validações do cadastro,
+// renovação de sessão) por IP de origem e pelo e-mail informado no corpo. Roda antes dos filtros de JWT.
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Rota -> campo do corpo que contém o e-mail
+    private static final Map<String, String> LIMITED_ROUTES = Map.of(
+            "/api/v1/auth", "email",
+            "/api/v1/users/forgot-password", "email",
+            "/api/v1/tenants/register", "adminEmail"
+    );
+    // Rotas sem e-mail no corpo: limitadas apenas por IP
+    private static final Set<String> IP_ONLY_ROUTES = Set.of("/api/v1/auth/refresh");
+
+    // Os corpos dessas rotas são pequenos: acima disso a requisição é recusada (413) em vez de
+    // seguir sem o limite por e-mail
+    private static final int MAX_INSPECTED_BODY = 16 * 1024;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${security.rate-limit.enabled:true}")
+    private boolean enabled;
+    @Value("${security.rate-limit.ip.capacity:20}")
+    private long ipCapacity;
+    @Value("${security.rate-limit.ip.refill-per-minute:10}")
+    private long ipRefillPerMinute;
+    @Value("${security.rate-limit.email.capacity:5}")
+    private long emailCapacity;
+    @Value("${security.rate-limit.email.refill-per-minute:2}")
+    private long emailRefillPerMinute;
+    @Value("${security.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    private TokenBucketRateLimiter ipLimiter;
+    private TokenBucketRateLimiter emailLimiter;
+
+    @PostConstruct
+    void init() {
+        this.ipLimiter = new TokenBucketRateLimiter(ipCapacity, ipRefillPerMinute, maxKeys);
+        this.emailLimiter = new TokenBucketRateLimiter(emailCapacity, emailRefillPerMinute, maxKeys);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !HttpMethod.POST.matches(request.getMethod())
+                || !(LIMITED_ROUTES.containsKey(request.getRequestURI())
+                        || IP_ONLY_ROUTES.contains(request.getRequestURI()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String route = request.getRequestURI();
+
+        // O IP vem do container; atrás de proxy, configure server.forward-headers-strategy
+        long retryAfter = ipLimiter.tryConsume(route + "|" + request.getRemoteAddr());
+        if (retryAfter > 0) {
+            reject(request, response, retryAfter);
+            return;
+        }
+        if (IP_ONLY_ROUTES.contains(route)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Leitura limitada também para corpos sem Content-Length (chunked)
+        if (request.getContentLengthLong() > MAX_INSPECTED_BODY) {
+            rejectTooLarge(request, response);
+            return;
+        }
+        CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request, MAX_INSPECTED_BODY);
+        if (cachedRequest.exceedsLimit()) {
+            rejectTooLarge(request, response);
+            return;
+        }
+
+        String email = extractEmail(cachedRequest.getBody(), LIMITED_ROUTES.get(route));
+        if (email != null) {
+            retryAfter = emailLimiter.tryConsume(route + "|" + email);
+            if (retryAfter > 0) {
+                reject(request, response, retryAfter);
+                return;
+            }
+        }
+
+        filterChain.doFilter(cachedRequest, response);
+    }
+
+    private String extractEmail(byte[] body, String field) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode value = objectMapper.readTree(body).path(field);
+            return value.isTextual() && !value.asText().isBlank()
+                    ? value.asText().trim().toLowerCase(Locale.ROOT)
+                    : null;
+        } catch (IOException e) {
+            // Corpo inválido: a validação do controller responde com o erro adequado
+            return null;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        log.warn("Limite de requisições excedido em {} para {}", request.getRequestURI(), request.getRemoteAddr());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        writeError(request, response, HttpStatus.TOO_MANY_REQUESTS,
+                "Muitas requisições. Tente novamente em " + retryAfterSeconds + " segundos.");
+    }
+
+    private void rejectTooLarge(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.warn("Corpo acima de {} bytes recusado em {} para {}", MAX_INSPECTED_BODY, request.getRequestURI(), request.getRemoteAddr());
+        writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE, "Corpo da requisição muito grande.");
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new ErrorMessage(request, status, message));
+    }
+}
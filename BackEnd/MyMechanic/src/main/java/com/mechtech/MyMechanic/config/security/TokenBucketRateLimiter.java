@@ -0,0 +1,76 @@
+package com.mechtech.MyMechanic.config.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Token bucket em memória. As chaves são distribuídas em faixas (stripes), cada uma com
+// seu próprio lock e mapa LRU limitado, para que requisições de clientes diferentes
+// raramente disputem o mesmo lock e a memória não cresça sem limite.
+public class TokenBucketRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final Map<String, Bucket>[] buckets;
+
+    @SuppressWarnings("unchecked")
+    public TokenBucketRateLimiter(long capacity, long refillPerMinute, int maxKeys) {
+        this.capacity = capacity;
+        this.tokensPerNano = (double) refillPerMinute / TimeUnit.MINUTES.toNanos(1);
+        this.buckets = new Map[STRIPES];
+
+        int maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+            buckets[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxKeysPerStripe;
+                }
+            };
+        }
+    }
+
+    // Retorna 0 quando a requisição pode seguir; caso contrário, quantos segundos faltam para o próximo token
+    public long tryConsume(String key) {
+        int stripe = (key.hashCode() & Integer.MAX_VALUE) % STRIPES;
+        ReentrantLock lock = locks[stripe];
+        long now = System.nanoTime();
+
+        lock.lock();
+        try {
+            Bucket bucket = buckets[stripe].computeIfAbsent(key, k -> new Bucket(capacity, now));
+            bucket.refill(now, capacity, tokensPerNano);
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            double missingNanos = (1 - bucket.tokens) / tokensPerNano;
+            return Math.max(1, (long) Math.ceil(missingNanos / TimeUnit.SECONDS.toNanos(1)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(long tokens, long lastRefill) {
+            this.tokens = tokens;
+            this.lastRefill = lastRefill;
+        }
+
+        private void refill(long now, long capacity, double tokensPerNano) {
+            long elapsed = now - lastRefill;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+                lastRefill = now;
+            }
+        }
+    }
+}
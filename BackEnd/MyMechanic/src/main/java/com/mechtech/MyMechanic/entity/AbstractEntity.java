@@ -2,8 +2,11 @@ package com.mechtech.MyMechanic.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.Hibernate;
 import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.SQLDelete;
 import org.springframework.data.annotation.CreatedBy;
@@ -13,6 +16,7 @@ import org.springframework.data.annotation.LastModifiedDate;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Getter
 @Setter
@@ -21,6 +25,12 @@ import java.time.LocalDateTime;
 @Filter(name = "deletedFilter")
 public abstract class AbstractEntity implements Serializable {
 
+    // Identidade atribuída pela aplicação (V25): equals/hashCode não dependem do id do banco, então
+    // são os mesmos antes e depois do persist e espalham bem os itens nos HashSet das coleções
+    @Setter(AccessLevel.NONE)
+    @Column(name = "uuid", nullable = false, updatable = false)
+    private UUID uuid;
+
     @Column(name = "deleted", nullable = false)
     private boolean deleted = false;
 
@@ -39,4 +49,30 @@ public abstract class AbstractEntity implements Serializable {
     @LastModifiedBy
     @Column(name = "updated_by")
     private String updatedBy;
-}
\ No newline at end of file
+
+    // Gerado no primeiro uso; entidades carregadas do banco recebem o valor da coluna sem gerar outro
+    public UUID getUuid() {
+        if (uuid == null) {
+            uuid = UUID.randomUUID();
+        }
+        return uuid;
+    }
+
+    @PrePersist
+    protected void assignUuid() {
+        getUuid();
+    }
+
+    // Usa os getters: em proxies lazy os campos não estão preenchidos
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AbstractEntity other) || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        return getUuid().equals(other.getUuid());
+    }
+
+    @Override
+    public int hashCode() {
+        return getUuid().hashCode();
+    }
+}
@@ -20,25 +20,31 @@ import java.io.Serial;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Objects;
 
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 @Entity(name = "Client")
 @Table(name = "clients")
 @EntityListeners(AuditingEntityListener.class)
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
+@NamedEntityGraph(name = Client.GRAPH_DETAIL, attributeNodes = @NamedAttributeNode("address"))
 public class Client extends AbstractEntity implements Serializable, TenantOwned {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
+    public static final String GRAPH_DETAIL = "Client.detail";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue
     @Column(name = "id")
     private Long id;
 
     @Column(name = "tenant_id", nullable = false, updatable = false)
-    private String tenantId;
+    private Long tenantId;
+
+    // Documento de busca mantido por trigger no banco (V23__add_search_text_columns.sql); somente leitura
+    @Column(name = "search_text", insertable = false, updatable = false)
+    private String searchText;
 
     @Column(name = "name", nullable = false,length = 100)
     private String name;
@@ -55,7 +61,7 @@ public class Client extends AbstractEntity implements Serializable, TenantOwned
     @Pattern(regexp = "^\\d{11}$", message = "CPF deve conter 11 dígitos.")
     private String cpf;
 
-    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JoinColumn(name = "address_id", referencedColumnName = "id")
     private Address address;
 
@@ -79,19 +85,7 @@ public class Client extends AbstractEntity implements Serializable, TenantOwned
     private String updatedBy;
 
     @Override
-    public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        Client client = (Client) o;
-        return Objects.equals(id, client.id);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hashCode(id);
-    }
-
-    @Override
-    public String getTenantId() {
+    public Long getTenantId() {
         return tenantId;
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.mechtech.MyMechanic.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Nao estende AbstractEntity: uma linha por tenant, sem soft delete, mantida pelos fluxos de escrita
+// (deltas atômicos) e corrigida periodicamente pela reconciliação do DashboardService
+@Getter
+@Setter
+@Entity
+@Table(name = "dashboard_counters")
+public class DashboardCounters implements Serializable {
+
+    @Id
+    @Column(name = "tenant_id")
+    private Long tenantId;
+
+    @Column(name = "clients_count", nullable = false)
+    private long clientsCount;
+
+    @Column(name = "vehicles_count", nullable = false)
+    private long vehiclesCount;
+
+    @Column(name = "active_orders_count", nullable = false)
+    private long activeOrdersCount;
+
+    @Column(name = "pending_invoices_count", nullable = false)
+    private long pendingInvoicesCount;
+
+    // Mês a que o faturamento se refere, como aaaamm: um inteiro não passa pela conversão de fuso
+    // do driver, que deslocaria um DATE para o dia anterior fora de America/Sao_Paulo
+    @Column(name = "revenue_month", nullable = false)
+    private int revenueMonth;
+
+    @Column(name = "monthly_revenue", nullable = false, precision = 38, scale = 2)
+    private BigDecimal monthlyRevenue;
+
+    @Column(name = "reconciled_at", nullable = false)
+    private LocalDateTime reconciledAt;
+}
@@ -15,7 +15,6 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 
 @Getter
@@ -25,21 +24,27 @@ import java.util.Set;
 @Entity
 @EntityListeners(AuditingEntityListener.class)
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
+@NamedEntityGraph(name = Employee.GRAPH_DETAIL, attributeNodes = {
+        @NamedAttributeNode("role"),
+        @NamedAttributeNode("address")
+})
 public class Employee extends AbstractEntity implements Serializable, TenantOwned {
 
     private static final long serialVersionUID = 1L;
 
+    public static final String GRAPH_DETAIL = "Employee.detail";
+
     @Id
     @GeneratedValue
     private Long id;
 
     @Column(name = "tenant_id", nullable = false, updatable = false)
-    private String tenantId;
+    private Long tenantId;
 
     @Column(name = "name", nullable = false, length = 100)
     private String name;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "role_id")
     private Role role;
 
@@ -55,7 +60,7 @@ public class Employee extends AbstractEntity implements Serializable, TenantOwne
     @Column(name = "commission_percentage")
     private BigDecimal commissionPercentage;
 
-    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JoinColumn(name = "address_id", referencedColumnName = "id")
     private Address address;
 
@@ -78,17 +83,5 @@ public class Employee extends AbstractEntity implements Serializable, TenantOwne
     @Column(name = "updated_by")
     private String updatedBy;
 
-    @Override
-    public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        Employee employee = (Employee) o;
-        return Objects.equals(id, employee.id);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hashCode(id);
-    }
-
 
 }
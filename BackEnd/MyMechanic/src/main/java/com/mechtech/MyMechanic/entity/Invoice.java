@@ -12,7 +12,6 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Objects;
 
 @Getter
 @Setter
@@ -21,13 +20,38 @@ import java.util.Objects;
 @Entity
 @EntityListeners(AuditingEntityListener.class)
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
+@NamedEntityGraph(name = Invoice.GRAPH_DETAIL,
+        attributeNodes = @NamedAttributeNode(value = "serviceOrder", subgraph = "serviceOrder"),
+        subgraphs = {
+                @NamedSubgraph(name = "serviceOrder", attributeNodes = @NamedAttributeNode(value = "client", subgraph = "client")),
+                @NamedSubgraph(name = "client", attributeNodes = @NamedAttributeNode("address"))
+        })
+// PDF: cliente e veículo da OS; as peças e os serviços vêm em consultas próprias (FetchMode.SUBSELECT)
+@NamedEntityGraph(name = Invoice.GRAPH_PDF,
+        attributeNodes = @NamedAttributeNode(value = "serviceOrder", subgraph = "serviceOrder"),
+        subgraphs = {
+                @NamedSubgraph(name = "serviceOrder", attributeNodes = {
+                        @NamedAttributeNode(value = "vehicle", subgraph = "vehicle"),
+                        @NamedAttributeNode("client")
+                }),
+                @NamedSubgraph(name = "vehicle", attributeNodes = @NamedAttributeNode(value = "model", subgraph = "model")),
+                @NamedSubgraph(name = "model", attributeNodes = @NamedAttributeNode("brand"))
+        })
 public class Invoice extends AbstractEntity implements Serializable, TenantOwned {
+
+    public static final String GRAPH_DETAIL = "Invoice.detail";
+    public static final String GRAPH_PDF = "Invoice.pdf";
+
     @Id
     @GeneratedValue
     private Long id;
 
     @Column(name = "tenant_id", nullable = false, updatable = false)
-    private String tenantId;
+    private Long tenantId;
+
+    // Documento de busca mantido por trigger no banco (V23__add_search_text_columns.sql); somente leitura
+    @Column(name = "search_text", insertable = false, updatable = false)
+    private String searchText;
 
     @Column(name = "invoice_number", nullable = false, unique = true)
     private String invoiceNumber;
@@ -45,7 +69,7 @@ public class Invoice extends AbstractEntity implements Serializable, TenantOwned
     @Column(name = "payment_date")
     private LocalDateTime paymentDate;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "serviceorder_id", nullable = false)
     private ServiceOrder serviceOrder;
 
@@ -53,24 +77,12 @@ public class Invoice extends AbstractEntity implements Serializable, TenantOwned
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
-    @Override
-    public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        Invoice invoice = (Invoice) o;
-        return Objects.equals(id, invoice.id);
-    }
-
     public enum PaymentStatus {
         PENDING,
         PAID,
         OVERDUE
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hashCode(id);
-    }
-
     @LastModifiedDate
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
@@ -19,7 +19,6 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 
 @Getter
@@ -38,7 +37,7 @@ public class Part extends AbstractEntity implements Serializable, TenantOwned {
     private Long id;
 
     @Column(name = "tenant_id", nullable = false, updatable = false)
-    private String tenantId;
+    private Long tenantId;
 
     @Column(name = "name", nullable = false, length = 100)
     private String name;
@@ -93,16 +92,4 @@ public class Part extends AbstractEntity implements Serializable, TenantOwned {
             this.buyDate = LocalDateTime.now();
         }
     }
-
-    @Override
-    public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        Part part = (Part) o;
-        return Objects.equals(id, part.id);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hashCode(id);
-    }
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.mechtech.MyMechanic.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.Setter;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.Filter;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
@@ -28,18 +30,38 @@ import java.util.Set;
 @Entity(name = "Quotation")
 @Table(name = "quotations")
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
+@NamedEntityGraph(name = Quotation.GRAPH_DETAIL,
+        attributeNodes = {
+                @NamedAttributeNode(value = "vehicle", subgraph = "vehicle"),
+                @NamedAttributeNode(value = "client", subgraph = "client"),
+                @NamedAttributeNode("serviceOrder")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "vehicle", attributeNodes = {
+                        @NamedAttributeNode(value = "model", subgraph = "model"),
+                        @NamedAttributeNode(value = "client", subgraph = "client")
+                }),
+                @NamedSubgraph(name = "model", attributeNodes = @NamedAttributeNode("brand")),
+                @NamedSubgraph(name = "client", attributeNodes = @NamedAttributeNode("address"))
+        })
 public class Quotation extends AbstractEntity implements Serializable, TenantOwned {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
+    public static final String GRAPH_DETAIL = "Quotation.detail";
+
     @jakarta.persistence.Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue
     @Column(name = "id")
     private Long id;
 
     @Column(name = "tenant_id", nullable = false, updatable = false)
-    private String tenantId;
+    private Long tenantId;
+
+    // Documento de busca mantido por trigger no banco (V23__add_search_text_columns.sql); somente leitura
+    @Column(name = "search_text", insertable = false, updatable = false)
+    private String searchText;
 
     @Column(name = "description", length = 300)
     private String description;
@@ -76,11 +98,11 @@ public class Quotation extends AbstractEntity implements Serializable, TenantOwn
     @Column(name = "updated_by")
     private String updatedBy;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "vehicle_id", nullable = false)
     private Vehicle vehicle;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     private Client client;
 
@@ -88,10 +110,13 @@ public class Quotation extends AbstractEntity implements Serializable, TenantOwn
     @JoinColumn(name = "service_order_id")
     private ServiceOrder serviceOrder;
 
+    // Cada coleção é carregada em uma consulta própria, sem produto cartesiano entre elas
     @OneToMany(mappedBy = "quotation", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Fetch(FetchMode.SUBSELECT)
     private Set<QuotationPartItem> partItems = new HashSet<>();
 
     @OneToMany(mappedBy = "quotation", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Fetch(FetchMode.SUBSELECT)
     private Set<QuotationServiceItem> serviceItems = new HashSet<>();
 
     @Transient
@@ -115,18 +140,6 @@ public class Quotation extends AbstractEntity implements Serializable, TenantOwn
     }
 
 
-    @Override
-    public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        Quotation that = (Quotation) o;
-        return id != null && id.equals(that.id);
-    }
-
-    @Override
-    public int hashCode() {
-        return 31;
-    }
-
     public enum QuotationStatus {
         AWAITING_CONVERSION,
         CONVERTED_TO_ORDER,
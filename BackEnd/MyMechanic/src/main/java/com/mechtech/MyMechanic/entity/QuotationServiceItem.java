@@ -19,7 +19,7 @@ public class QuotationServiceItem extends AbstractEntity implements Serializable
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue
     private Long id;
 
 
@@ -36,17 +36,4 @@ public class QuotationServiceItem extends AbstractEntity implements Serializable
 
     @Column(name = "service_cost", nullable = false, precision = 10, scale = 2)
     private BigDecimal serviceCost; // Custo do serviço no momento do orçamento
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        QuotationServiceItem that = (QuotationServiceItem) o;
-        return id != null && id.equals(that.id);
-    }
-
-    @Override
-    public int hashCode() {
-        return getClass().hashCode();
-    }
 }
\ No newline at end of file
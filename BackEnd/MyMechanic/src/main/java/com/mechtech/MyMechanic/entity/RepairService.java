@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Filter;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
@@ -19,7 +21,6 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 
 @Getter
@@ -29,6 +30,8 @@ import java.util.Set;
 @Entity
 @EntityListeners(AuditingEntityListener.class)
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class RepairService extends AbstractEntity implements Serializable, TenantOwned  {
     @Serial
     private static final long serialVersionUID = 1L;
@@ -37,7 +40,7 @@ public class RepairService extends AbstractEntity implements Serializable, Tenan
     private Long id;
 
     @Column(name = "tenant_id", nullable = false, updatable = false)
-    private String tenantId;
+    private Long tenantId;
 
     @Column(name = "name", nullable = false, length = 100)
     private String name;
@@ -67,18 +70,6 @@ public class RepairService extends AbstractEntity implements Serializable, Tenan
     @Column(name = "created_by")
     private String createdBy;
 
-    @Override
-    public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        RepairService repairService = (RepairService) o;
-        return Objects.equals(id, repairService.id);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hashCode(id);
-    }
-
     @LastModifiedBy
     @Column(name = "updated_by")
     private String updatedBy;
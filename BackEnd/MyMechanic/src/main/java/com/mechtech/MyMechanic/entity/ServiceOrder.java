@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.Filter;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
@@ -27,18 +29,52 @@ import java.util.*;
 @EntityListeners(AuditingEntityListener.class)
 @Table(name = "service_order")
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
+// Tela de detalhe: associações para-um; cada coleção de itens vem em uma consulta própria (FetchMode.SUBSELECT)
+@NamedEntityGraph(name = ServiceOrder.GRAPH_DETAIL,
+        attributeNodes = {
+                @NamedAttributeNode(value = "vehicle", subgraph = "vehicle"),
+                @NamedAttributeNode(value = "client", subgraph = "client"),
+                @NamedAttributeNode("quotation"),
+                @NamedAttributeNode("invoice")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "vehicle", attributeNodes = {
+                        @NamedAttributeNode(value = "model", subgraph = "model"),
+                        @NamedAttributeNode(value = "client", subgraph = "client")
+                }),
+                @NamedSubgraph(name = "model", attributeNodes = @NamedAttributeNode("brand")),
+                @NamedSubgraph(name = "client", attributeNodes = @NamedAttributeNode("address"))
+        })
+// Relatório de comissões: funcionários com cargo; os itens de serviço vêm por subselect. A fatura
+// (lado inverso do um-para-um, sempre carregado) entra no join para não virar uma consulta por OS.
+@NamedEntityGraph(name = ServiceOrder.GRAPH_COMMISSION,
+        attributeNodes = {
+                @NamedAttributeNode(value = "employees", subgraph = "employees"),
+                @NamedAttributeNode("invoice")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "employees", attributeNodes = @NamedAttributeNode(value = "employee", subgraph = "employee")),
+                @NamedSubgraph(name = "employee", attributeNodes = @NamedAttributeNode("role"))
+        })
 public class ServiceOrder extends AbstractEntity implements Serializable, TenantOwned {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
+    public static final String GRAPH_DETAIL = "ServiceOrder.detail";
+    public static final String GRAPH_COMMISSION = "ServiceOrder.commission";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue
     @Column(name = "id")
   private Long id;
 
     @Column(name = "tenant_id", nullable = false, updatable = false)
-    private String tenantId;
+    private Long tenantId;
+
+    // Documento de busca mantido por trigger no banco (V23__add_search_text_columns.sql); somente leitura
+    @Column(name = "search_text", insertable = false, updatable = false)
+    private String searchText;
 
     @Column(name = "entry_date", nullable = false)
   private LocalDateTime entryDate;
@@ -56,29 +92,33 @@ public class ServiceOrder extends AbstractEntity implements Serializable, Tenant
     @Column(name = "total_cost")
     private BigDecimal totalCost;
 
-  @OneToOne
+  @OneToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "Quotation_id")
   private Quotation quotation;
 
   @Column(name = "initial_mileage")
   private Integer initialMileage;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "vehicle_id", nullable = false)
   private Vehicle vehicle;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "client_id", nullable = false)
   private Client client;
 
 
+  // Cada coleção é carregada em uma consulta própria, sem produto cartesiano entre elas
   @OneToMany(mappedBy = "serviceOrder", cascade = CascadeType.ALL, orphanRemoval = true)
+  @Fetch(FetchMode.SUBSELECT)
   private Set<ServiceOrderPartItem> partItems = new HashSet<>();
 
   @OneToMany(mappedBy = "serviceOrder", cascade = CascadeType.ALL, orphanRemoval = true)
+  @Fetch(FetchMode.SUBSELECT)
   private Set<ServiceOrderServiceItem> serviceItems = new HashSet<>();
 
   @OneToMany(mappedBy = "serviceOrder", cascade = CascadeType.ALL, orphanRemoval = true)
+  @Fetch(FetchMode.SUBSELECT)
   private Set<ServiceOrderEmployee> employees = new HashSet<>();
 
 
@@ -100,18 +140,6 @@ public class ServiceOrder extends AbstractEntity implements Serializable, Tenant
   @Column(name = "updated_at")
   private LocalDateTime updatedAt;
 
-  @Override
-  public boolean equals(Object o) {
-    if (o == null || getClass() != o.getClass()) return false;
-    ServiceOrder that = (ServiceOrder) o;
-    return Objects.equals(id, that.id);
-  }
-
-  @Override
-  public int hashCode() {
-    return Objects.hashCode(id);
-  }
-
   @CreatedBy
   @Column(name = "created_by")
   private String createdBy;
@@ -11,7 +11,6 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.io.Serial;
 import java.io.Serializable;
 import java.time.LocalDateTime;
-import java.util.Objects;
 
 @EntityListeners(AuditingEntityListener.class)
 @Getter @Setter @NoArgsConstructor
@@ -29,7 +28,7 @@ public class User extends AbstractEntity implements Serializable, TenantOwned {
     private Long id;
 
     @Column(name = "tenant_id", nullable = false, updatable = false)
-    private String tenantId;
+    private Long tenantId;
 
     @Column(name = "full_name", nullable = false, unique = true)
     private String fullName;
@@ -49,6 +48,10 @@ public class User extends AbstractEntity implements Serializable, TenantOwned {
     @Column(name = "password_reset_token_expires_at")
     private LocalDateTime passwordResetTokenExpiresAt;
 
+    // Incrementada para revogar os tokens já emitidos (troca de senha, exclusão)
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion = 0;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "role", nullable = false,length = 25)
     private Role role = Role.ROLE_CLIENT;
@@ -85,18 +88,6 @@ public class User extends AbstractEntity implements Serializable, TenantOwned {
         INACTIVE
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        User user = (User) o;
-        return Objects.equals(id, user.id);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hashCode(id);
-    }
-
     @Override
     public String toString() {
         return "User{" +
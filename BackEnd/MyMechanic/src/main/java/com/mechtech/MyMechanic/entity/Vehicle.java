@@ -23,17 +23,28 @@ import java.util.List;
 @Entity(name = "Vehicle")
 @Table(name = "vehicles")
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
+@NamedEntityGraph(name = Vehicle.GRAPH_DETAIL,
+        attributeNodes = {
+                @NamedAttributeNode(value = "model", subgraph = "model"),
+                @NamedAttributeNode(value = "client", subgraph = "client")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "model", attributeNodes = @NamedAttributeNode("brand")),
+                @NamedSubgraph(name = "client", attributeNodes = @NamedAttributeNode("address"))
+        })
 public class Vehicle extends AbstractEntity implements Serializable, com.mechtech.MyMechanic.multiTenants.TenantOwned {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    public static final String GRAPH_DETAIL = "Vehicle.detail";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue
     @Column(name = "id")
     private Long id;
 
     @Column(name = "tenant_id", nullable = false, updatable = false)
-    private String tenantId;
+    private Long tenantId;
 
     @Column(name = "\"year\"", nullable = false, length = 4)
     private int year;
@@ -44,11 +55,11 @@ public class Vehicle extends AbstractEntity implements Serializable, com.mechtec
     @Column(name = "color", nullable = false)
     private String color;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "model_id", nullable = false)
     private VehicleModel model;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     private Client client;
 
@@ -70,15 +81,5 @@ public class Vehicle extends AbstractEntity implements Serializable, com.mechtec
     @LastModifiedBy
     @Column(name = "updated_by")
     private String updatedBy;
-
-    @Override
-    public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        Vehicle vehicle = (Vehicle) o;
-        return id != null && id.equals(vehicle.id);
-    }
-    @Override
-    public int hashCode() {
-        return id != null ? id.hashCode() : 0;
-    }
 }
+
@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Filter;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -17,6 +19,8 @@ import java.io.Serializable;
 @Entity
 @Table(name = "vehicle_brands")
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class VehicleBrand extends AbstractEntity implements Serializable, TenantOwned {
 
     @Id
@@ -24,7 +28,7 @@ public class VehicleBrand extends AbstractEntity implements Serializable, Tenant
     private Long id;
 
     @Column(name = "tenant_id", nullable = false, updatable = false)
-    private String tenantId;
+    private Long tenantId;
 
     @Column(name = "name", nullable = false, length = 100)
     private String name;
@@ -7,6 +7,8 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Filter;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -19,19 +21,24 @@ import java.io.Serializable;
 @Entity
 @Table(name = "vehicle_models")
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedEntityGraph(name = VehicleModel.GRAPH_DETAIL, attributeNodes = @NamedAttributeNode("brand"))
 public class VehicleModel extends AbstractEntity implements Serializable, TenantOwned {
 
+    public static final String GRAPH_DETAIL = "VehicleModel.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @Column(name = "tenant_id", nullable = false, updatable = false)
-    private String tenantId;
+    private Long tenantId;
 
     @Column(name = "name", nullable = false, length = 100)
     private String name;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "brand_id", nullable = false)
     private VehicleBrand brand;
 }
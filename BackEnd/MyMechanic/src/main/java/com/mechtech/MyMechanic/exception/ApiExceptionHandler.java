@@ -4,6 +4,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -43,11 +44,14 @@ public class ApiExceptionHandler {
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ErrorMessage> dataIntegrityViolationException(DataIntegrityViolationException ex, HttpServletRequest request) {
         log.error("Api Error - ", ex);
+        // Restrição UNIQUE conhecida: mesma mensagem da validação do serviço
+        String message = UniqueConstraintMessages.messageFor(ex)
+                .orElseGet(() -> "Data integrity violation: " + ex.getMostSpecificCause());
         return ResponseEntity.status(HttpStatus.CONFLICT)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(new ErrorMessage(request,
                         HttpStatus.CONFLICT,
-                        "Data integrity violation: " + ex.getMostSpecificCause()));
+                        message));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -111,6 +115,16 @@ public class ApiExceptionHandler {
                 .body(new ErrorMessage(request, HttpStatus.UNAUTHORIZED, "Credenciais inválidas"));
     }
 
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ErrorMessage> serviceBusyException(ServiceBusyException ex, HttpServletRequest request) {
+        log.warn("Service busy - {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorMessage> globalExceptionHandler(Exception ex, HttpServletRequest request) {
         log.error("Api Error - ", ex);
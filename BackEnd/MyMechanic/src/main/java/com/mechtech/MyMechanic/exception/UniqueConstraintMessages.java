@@ -0,0 +1,51 @@
+package com.mechtech.MyMechanic.exception;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Map.entry;
+
+// Traduz violações de restrições UNIQUE do banco (nomes padrão do PostgreSQL: <tabela>_<coluna>_key)
+// para as mesmas mensagens das validações dos serviços. Cobre as corridas entre a verificação e o INSERT
+// e os valores já usados em outro tenant, que a verificação (filtrada por tenant) não enxerga.
+public final class UniqueConstraintMessages {
+
+    private static final Map<String, String> MESSAGES = Map.ofEntries(
+            entry("clients_cpf_key", "CPF já cadastrado"),
+            entry("clients_email_key", "Email já cadastrado"),
+            entry("clients_phone_key", "Telefone já cadastrado"),
+            entry("employee_cpf_key", "Já existe um funcionário com o CPF informado."),
+            entry("employee_email_key", "Já existe um funcionário com o email informado."),
+            entry("employee_phone_key", "Já existe um funcionário com o telefone informado."),
+            entry("part_code_key", "Código de peça já cadastrado."),
+            entry("vehicles_license_plate_key", "Placa já cadastrada"),
+            entry("users_email_key", "Este e-mail já está em uso."),
+            entry("tenants_document_key", "Este CNPJ/CPF já está em uso."),
+            entry("invoice_invoice_number_key", "Número de fatura já cadastrado."),
+            entry("invoice_serviceorder_id_key", "Esta ordem de serviço já possui uma fatura."),
+            entry("service_order_quotation_id_key", "Este orçamento já foi convertido em ordem de serviço.")
+    );
+
+    // Construtor privado para evitar que a classe seja instanciada
+    private UniqueConstraintMessages() {}
+
+    public static Optional<String> messageFor(DataIntegrityViolationException ex) {
+        Throwable cause = ex;
+        while (cause != null) {
+            if (cause instanceof org.hibernate.exception.ConstraintViolationException violation
+                    && violation.getConstraintName() != null) {
+                return Optional.ofNullable(MESSAGES.get(violation.getConstraintName().toLowerCase(Locale.ROOT)));
+            }
+            cause = cause.getCause();
+        }
+        return Optional.empty();
+    }
+
+    // Para os serviços que capturam a violação no save: mensagem conhecida ou a mensagem informada
+    public static UniqueConstraintViolationException toException(DataIntegrityViolationException ex, String fallbackMessage) {
+        return new UniqueConstraintViolationException(messageFor(ex).orElse(fallbackMessage));
+    }
+}
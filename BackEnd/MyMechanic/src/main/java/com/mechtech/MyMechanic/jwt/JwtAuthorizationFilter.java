@@ -1,11 +1,13 @@
 package com.mechtech.MyMechanic.jwt;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,30 +23,54 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
     private JwtUserDetailsService jwtUserDetailsService;
     @Autowired
     private JwtUtils jwtUtils;
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
+    // Quando ativo, o principal é montado a partir das claims, sem buscar o usuário no banco
+    @Value("${jwt.claims-principal.enabled:true}")
+    private boolean claimsPrincipalEnabled;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
-        final String token = request.getHeader(jwtUtils.JWT_AUTHORIZATION);
-        if (token == null || !token.startsWith(jwtUtils.JWT_BEARER)) {
+        // As claims já foram verificadas pelo TenantFilter; aqui apenas reaproveitamos
+        Claims claims = jwtUtils.resolveClaims(request);
+        if (claims == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        if (!jwtUtils.isTokenValid(token)) {
-            log.warn("JWT Token is invalid");
-            filterChain.doFilter(request, response);
-            return;
+        UserDetails userDetails;
+        if (claimsPrincipalEnabled && claims.get(JwtUtils.CLAIM_USER_ID) != null) {
+            userDetails = fromClaims(claims);
+            if (userDetails == null) {
+                log.warn("JWT Token revogado para o usuário: {}", claims.getSubject());
+                filterChain.doFilter(request, response);
+                return;
+            }
+        } else {
+            // Tokens emitidos antes das claims de usuário continuam válidos até expirarem
+            userDetails = jwtUserDetailsService.loadUserByUsername(claims.getSubject());
         }
-        String username = jwtUtils.getUsernameFromToken(token);
 
-        toAuthentication(request, username);
+        toAuthentication(request, userDetails);
         filterChain.doFilter(request, response);
     }
 
-    private void toAuthentication(HttpServletRequest request, String username) {
-        UserDetails userDetails = jwtUserDetailsService.loadUserByUsername(username);
+    private UserDetails fromClaims(Claims claims) {
+        Long userId = claims.get(JwtUtils.CLAIM_USER_ID, Long.class);
+        Integer tokenVersion = claims.get(JwtUtils.CLAIM_TOKEN_VERSION, Integer.class);
+        if (tokenVersion == null || tokenVersion != tokenVersionCache.currentVersion(userId)) {
+            return null;
+        }
+        return new JwtUserDetails(
+                userId,
+                claims.getSubject(),
+                "ROLE_" + claims.get(JwtUtils.CLAIM_ROLE, String.class),
+                JwtUtils.getTenantId(claims));
+    }
 
+    private void toAuthentication(HttpServletRequest request, UserDetails userDetails) {
         UsernamePasswordAuthenticationToken authenticationToken = UsernamePasswordAuthenticationToken
                 .authenticated(userDetails, null, userDetails.getAuthorities());
 
@@ -52,4 +78,4 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
         SecurityContextHolder.getContext().setAuthentication(authenticationToken);
     }
-}
\ No newline at end of file
+}
@@ -11,4 +11,9 @@ import lombok.Setter;
 @Getter @Setter
 public class JwtToken {
     private  String token;
+    private  String refreshToken;
+
+    public JwtToken(String token) {
+        this.token = token;
+    }
 }
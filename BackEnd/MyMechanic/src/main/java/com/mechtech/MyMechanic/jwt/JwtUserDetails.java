@@ -10,18 +10,34 @@ import java.util.Collection;
 
 public class JwtUserDetails extends User {
 
-    private com.mechtech.MyMechanic.entity.User user;
+    private final Long id;
+    private final String role;
+    private final Long tenantId;
 
     public JwtUserDetails(com.mechtech.MyMechanic.entity.User user) {
         super(user.getEmail(), user.getPassword(), AuthorityUtils.createAuthorityList(user.getRole().name()));
-        this.user = user;
+        this.id = user.getId();
+        this.role = user.getRole().name();
+        this.tenantId = user.getTenantId();
+    }
+
+    // Principal montado apenas com as claims de um token já verificado, sem consultar o banco
+    public JwtUserDetails(Long id, String email, String role, Long tenantId) {
+        super(email, "", AuthorityUtils.createAuthorityList(role));
+        this.id = id;
+        this.role = role;
+        this.tenantId = tenantId;
     }
 
     public Long getId() {
-        return this.user.getId();
+        return this.id;
     }
 
     public String getRole() {
-        return this.user.getRole().name();
+        return this.role;
+    }
+
+    public Long getTenantId() {
+        return this.tenantId;
     }
 }
@@ -23,8 +23,8 @@ public class  JwtUserDetailsService implements UserDetailsService {
         return new JwtUserDetails(user);
     }
 
-    public JwtToken getTokenAuthenticated(String email, String tenantId) {
-       User.Role role = userService.findRoleByEmail(email);
-        return jwtUtils.createToken(email, role.name().substring("ROLE_".length()), tenantId);
+    public JwtToken getTokenAuthenticated(User user) {
+        return jwtUtils.createToken(user.getEmail(), user.getId(),
+                user.getRole().name().substring("ROLE_".length()), user.getTenantId(), user.getTokenVersion());
     }
 }
@@ -2,9 +2,12 @@ package com.mechtech.MyMechanic.jwt;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -22,29 +25,44 @@ public class JwtUtils {
 
     public static final String JWT_BEARER = "Bearer ";
     public static final String JWT_AUTHORIZATION = "Authorization";
+    // Atributo da requisição onde as claims já verificadas ficam guardadas para os demais filtros
+    public static final String JWT_CLAIMS_ATTRIBUTE = JwtUtils.class.getName() + ".CLAIMS";
+
+    private static final Object INVALID_TOKEN = new Object();
 
     @Value("${jwt.secret.key}")
     private String secretKey;
 
-    public static final long EXPIRE_DAYS = 1;
-    public static final long EXPIRE_HOURS = 0;
-    public static final long EXPIRE_MINUTES = 30;
+    // Access token curto; a sessão é mantida pelo refresh token (RefreshTokenService)
+    @Value("${jwt.access-token.expiration-minutes:15}")
+    private long expireMinutes;
+
+    private Key signingKey;
+    private JwtParser jwtParser;
 
-    private Key generateKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+    @PostConstruct
+    void init() {
+        // Chave e parser são imutáveis e thread-safe, então são criados uma única vez
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     private Date toExpireDate(Date start) {
         LocalDateTime dateTime = start.toInstant()
                 .atZone(ZoneId.systemDefault())
                 .toLocalDateTime();
-        LocalDateTime end = dateTime.plusDays(EXPIRE_DAYS)
-                .plusHours(EXPIRE_HOURS)
-                .plusMinutes(EXPIRE_MINUTES);
+        LocalDateTime end = dateTime.plusMinutes(expireMinutes);
         return Date.from(end.atZone(ZoneId.systemDefault()).toInstant());
     }
 
-    public JwtToken createToken(String email, String role, String tenantId) {
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TENANT = "tenant";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
+    public JwtToken createToken(String email, Long userId, String role, Long tenantId, int tokenVersion) {
         Date issueDate = new Date();
         Date limit = toExpireDate(issueDate);
 
@@ -53,26 +71,44 @@ public class JwtUtils {
                 .setSubject(email)
                 .setIssuedAt(issueDate)
                 .setExpiration(limit)
-                .signWith(generateKey(), SignatureAlgorithm.HS256)
-                .addClaims(Map.of("role", role))
-                .addClaims(Map.of("tenant", tenantId))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .addClaims(Map.of(CLAIM_ROLE, role))
+                .addClaims(Map.of(CLAIM_TENANT, tenantId))
+                .addClaims(Map.of(CLAIM_USER_ID, userId))
+                .addClaims(Map.of(CLAIM_TOKEN_VERSION, tokenVersion))
                 .compact();
         return new JwtToken(token);
     }
 
     private Claims getClaimsFromToken(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(generateKey())
-                    .build()
+            return jwtParser
                     .parseClaimsJws(refactorToken(token))
                     .getBody();
-        } catch (JwtException e) {
+        } catch (JwtException | IllegalArgumentException e) {
             log.error(String.format("Invalid JWT token: %s", e.getMessage()));
         }
         return null;
     }
 
+    // Verifica o token Bearer apenas na primeira chamada da requisição; o resultado
+    // (válido ou não) fica no atributo JWT_CLAIMS_ATTRIBUTE para os filtros seguintes.
+    public Claims resolveClaims(HttpServletRequest request) {
+        Object cached = request.getAttribute(JWT_CLAIMS_ATTRIBUTE);
+        if (cached != null) {
+            return cached instanceof Claims claims ? claims : null;
+        }
+
+        final String token = request.getHeader(JWT_AUTHORIZATION);
+        if (token == null || !token.startsWith(JWT_BEARER)) {
+            return null;
+        }
+
+        Claims claims = getClaimsFromToken(token);
+        request.setAttribute(JWT_CLAIMS_ATTRIBUTE, claims != null ? claims : INVALID_TOKEN);
+        return claims;
+    }
+
     public String getUsernameFromToken(String token) {
         Claims claims = getClaimsFromToken(token);
         if (claims != null) {
@@ -81,19 +117,32 @@ public class JwtUtils {
         return null;
     }
 
-    public String getTenantFromToken(String token) {
+    public Long getTenantFromToken(String token) {
         Claims claims = getClaimsFromToken(token);
-        return claims != null ? claims.get("tenant", String.class) : null;
+        return claims != null ? getTenantId(claims) : null;
+    }
+
+    // Tokens emitidos antes da migração para BIGINT trazem o tenant como texto
+    public static Long getTenantId(Claims claims) {
+        Object tenant = claims.get(CLAIM_TENANT);
+        if (tenant instanceof Number number) {
+            return number.longValue();
+        }
+        if (tenant instanceof String text && !text.isEmpty()) {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
     }
 
     public boolean isTokenValid(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(generateKey())
-                    .build()
-                    .parseClaimsJws(refactorToken(token));
+            jwtParser.parseClaimsJws(refactorToken(token));
             return true;
-        } catch (JwtException e) {
+        } catch (JwtException | IllegalArgumentException e) {
             log.error(String.format("Invalid JWT token: %s", e.getMessage()));
         }
         return false;
@@ -1,6 +1,7 @@
 package com.mechtech.MyMechanic.jwt;
 
 import com.mechtech.MyMechanic.multiTenants.TenantContext;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,19 +23,14 @@ public class TenantFilter extends OncePerRequestFilter {
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
-        final String token = request.getHeader(jwtUtils.JWT_AUTHORIZATION);
-        if (token == null || !token.startsWith(jwtUtils.JWT_BEARER)) {
+        Claims claims = jwtUtils.resolveClaims(request);
+        if (claims == null) {
             filterChain.doFilter(request, response);
             return;
         }
-        if (!jwtUtils.isTokenValid(token)) {
-            logger.warn("JWT Token é inválido");
-            filterChain.doFilter(request, response);
-            return;
-        }
-        String tenantId = jwtUtils.getTenantFromToken(token);
+        Long tenantId = JwtUtils.getTenantId(claims);
 
-        if (tenantId != null && !tenantId.isEmpty()) {
+        if (tenantId != null) {
             TenantContext.setTenantId(tenantId);
         }
 
@@ -0,0 +1,93 @@
+package com.mechtech.MyMechanic.jwt;
+
+import com.mechtech.MyMechanic.multiTenants.TenantContext;
+import com.mechtech.MyMechanic.repository.UserRepository;
+import com.mechtech.MyMechanic.service.InvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Cache LRU limitado com a versão atual do token de cada usuário. Evita consultar o banco
+// a cada requisição e permite revogar tokens ao invalidar a entrada do usuário.
+// A invalidação chega às outras instâncias pelo InvalidationBus: a revogação vale em todas.
+@Component
+public class TokenVersionCache {
+
+    // Usuário inexistente ou removido: nenhum token é aceito
+    public static final int REVOKED = -1;
+    public static final String ENTITY = "userTokenVersion";
+
+    private final UserRepository userRepository;
+    private final InvalidationBus invalidationBus;
+    private final Map<Long, Integer> versions;
+    // Incrementada a cada invalidação (sob o lock de versions): uma leitura do banco iniciada antes
+    // de uma invalidação não grava no cache a versão que pode já estar revogada
+    private long generation;
+
+    public TokenVersionCache(UserRepository userRepository, InvalidationBus invalidationBus,
+                             @Value("${jwt.token-version-cache.max-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.invalidationBus = invalidationBus;
+        this.versions = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+                return size() > maxSize;
+            }
+        };
+        invalidationBus.subscribe(ENTITY, invalidation -> {
+            if (invalidation.id() == null) {
+                synchronized (versions) {
+                    versions.clear();
+                    generation++;
+                }
+            } else {
+                invalidate(Long.valueOf(invalidation.id()));
+            }
+        });
+    }
+
+    public int currentVersion(Long userId) {
+        long loadedAt;
+        synchronized (versions) {
+            Integer version = versions.get(userId);
+            if (version != null) {
+                return version;
+            }
+            loadedAt = generation;
+        }
+        int version = userRepository.findTokenVersionById(userId).orElse(REVOKED);
+        synchronized (versions) {
+            // Houve invalidação durante a leitura: responde com o valor lido, mas não o guarda
+            if (generation == loadedAt) {
+                versions.putIfAbsent(userId, version);
+            }
+        }
+        return version;
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (versions) {
+            versions.remove(userId);
+            generation++;
+        }
+    }
+
+    // Invalida só depois do commit, para que uma leitura concorrente não recoloque a versão antiga
+    public void invalidateAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(userId);
+                }
+            });
+        } else {
+            invalidate(userId);
+        }
+        invalidationBus.publishAfterCommit(ENTITY, TenantContext.NO_TENANT, userId);
+    }
+}
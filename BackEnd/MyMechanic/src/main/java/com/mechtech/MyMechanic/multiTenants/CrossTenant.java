@@ -0,0 +1,14 @@
+package com.mechtech.MyMechanic.multiTenants;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Métodos de serviço que, sem tenant definido, precisam enxergar todos os tenants (login, cadastro,
+// redefinição de senha, jobs agendados). No modo rls é o único caminho que libera as políticas do
+// PostgreSQL; no modo hibernate não altera nada.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CrossTenant {
+}
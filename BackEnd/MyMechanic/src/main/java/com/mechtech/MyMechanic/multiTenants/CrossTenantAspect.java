@@ -0,0 +1,26 @@
+package com.mechtech.MyMechanic.multiTenants;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Precedência máxima: envolve o @Transactional, então a conexão da transação já é obtida
+// (e configurada pelo TenantAwareDataSource) com a marcação ativa.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CrossTenantAspect {
+
+    @Around("@annotation(com.mechtech.MyMechanic.multiTenants.CrossTenant)")
+    public Object runAcrossTenants(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = TenantContext.setCrossTenant(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            TenantContext.setCrossTenant(previous);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.mechtech.MyMechanic.multiTenants;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+// Modo RLS: a cada conexão obtida do pool grava o tenant atual em app.tenant_id,
+// variável lida pelas políticas de row-level security do PostgreSQL.
+// Os valores são sempre sobrescritos, pois as conexões são reaproveitadas: sem tenant, app.tenant_id
+// fica vazio e nenhuma linha é visível, exceto dentro de um método @CrossTenant (app.bypass_rls = on).
+public class TenantAwareDataSource extends DelegatingDataSource {
+
+    private static final String SET_TENANT_SQL =
+            "SELECT set_config('app.tenant_id', ?, false), set_config('app.bypass_rls', ?, false)";
+
+    public TenantAwareDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return applyTenant(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return applyTenant(super.getConnection(username, password));
+    }
+
+    private Connection applyTenant(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SET_TENANT_SQL)) {
+            boolean hasTenant = TenantContext.hasTenant();
+            statement.setString(1, hasTenant ? Long.toString(TenantContext.getTenantId()) : "");
+            statement.setString(2, !hasTenant && TenantContext.isCrossTenant() ? "on" : "off");
+            statement.execute();
+            return connection;
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+}
@@ -1,17 +1,82 @@
 package com.mechtech.MyMechanic.multiTenants;
 
+import org.springframework.security.access.AccessDeniedException;
+
 public class TenantContext {
-    private static final ThreadLocal<String> currentTenant = new ThreadLocal<>();
 
-    public static void setTenantId(String tenantId) {
-        currentTenant.set(tenantId);
+    // Ids de tenant vêm de BIGSERIAL (>= 1), então 0 representa "nenhum tenant"
+    public static final long NO_TENANT = 0L;
+
+    // Estado mutável por thread: o id fica como long primitivo, sem boxing a cada leitura
+    private static final class State {
+        private long tenantId = NO_TENANT;
+        // Marcado em threads de trabalho: sem tenant definido, nenhuma consulta é permitida
+        private boolean tenantRequired;
+        // Dentro de um método @CrossTenant: sem tenant, a conexão libera as políticas de RLS
+        private boolean crossTenant;
+    }
+
+    private static final ThreadLocal<State> currentState = ThreadLocal.withInitial(State::new);
+
+    public static void setTenantId(long tenantId) {
+        currentState.get().tenantId = tenantId;
+    }
+
+    public static long getTenantId() {
+        return currentState.get().tenantId;
+    }
+
+    public static boolean hasTenant() {
+        return currentState.get().tenantId != NO_TENANT;
     }
 
-    public static String getTenantId() {
-        return currentTenant.get();
+    // Tenant de registros novos: sem tenant definido falha aqui, em vez de gravar 0 (NO_TENANT)
+    // e estourar na chave estrangeira para tenants
+    public static long requireTenantId() {
+        long tenantId = currentState.get().tenantId;
+        if (tenantId == NO_TENANT) {
+            throw new AccessDeniedException("Nenhuma empresa vinculada ao usuário: não é possível criar o registro.");
+        }
+        return tenantId;
     }
 
     public static void clear() {
-        currentTenant.remove();
+        currentState.get().tenantId = NO_TENANT;
+    }
+
+    public static boolean isTenantRequired() {
+        return currentState.get().tenantRequired;
+    }
+
+    public static boolean isCrossTenant() {
+        return currentState.get().crossTenant;
+    }
+
+    // Usado pelo CrossTenantAspect; devolve o valor anterior para ser restaurado
+    static boolean setCrossTenant(boolean crossTenant) {
+        State state = currentState.get();
+        boolean previous = state.crossTenant;
+        state.crossTenant = crossTenant;
+        return previous;
+    }
+
+    // Captura o tenant da thread atual e o reinstala na thread que executar a tarefa,
+    // restaurando o estado anterior ao final (threads de pool são reaproveitadas).
+    // Sem tenant, a tarefa não pode consultar o banco (ver TenantFilterAspect).
+    public static Runnable wrap(Runnable task) {
+        long tenantId = getTenantId();
+        return () -> {
+            State state = currentState.get();
+            long previousTenant = state.tenantId;
+            boolean previousRequired = state.tenantRequired;
+            state.tenantId = tenantId;
+            state.tenantRequired = true;
+            try {
+                task.run();
+            } finally {
+                state.tenantId = previousTenant;
+                state.tenantRequired = previousRequired;
+            }
+        };
     }
 }
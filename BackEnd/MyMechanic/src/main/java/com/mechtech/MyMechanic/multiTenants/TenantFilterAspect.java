@@ -1,13 +1,20 @@
 package com.mechtech.MyMechanic.multiTenants;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.hibernate.Filter;
 import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 @Aspect
 @Component
 public class TenantFilterAspect {
@@ -15,16 +22,61 @@ public class TenantFilterAspect {
     @PersistenceContext
     private EntityManager entityManager;
 
-        @Before("execution(* com.mechtech.MyMechanic.service..*.*(..))")
+    // hibernate (padrão): filtro tenantFilter; rls: políticas do PostgreSQL via TenantAwareDataSource
+    private final boolean rowLevelSecurity;
+
+    private final Counter checks;
+    private final Counter tenantFilterActivations;
+    private final Counter deletedFilterActivations;
+    // Tenant vinculado ao tenantFilter de cada Session aberta (a entrada sai com a Session)
+    private final Map<Session, Long> boundTenants = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public TenantFilterAspect(MeterRegistry meterRegistry,
+                              @Value("${app.tenancy.isolation:hibernate}") String isolation) {
+        this.rowLevelSecurity = "rls".equalsIgnoreCase(isolation);
+        // checks: chamadas interceptadas; activations: vezes em que um filtro foi de fato (re)ativado na sessão
+        this.checks = Counter.builder("tenant.filter.checks")
+                .description("Chamadas de serviço que verificaram os filtros da sessão")
+                .register(meterRegistry);
+        this.tenantFilterActivations = Counter.builder("tenant.filter.activations")
+                .tag("filter", "tenantFilter")
+                .register(meterRegistry);
+        this.deletedFilterActivations = Counter.builder("tenant.filter.activations")
+                .tag("filter", "deletedFilter")
+                .register(meterRegistry);
+    }
+
+    // Os filtros ficam habilitados na Session até ela ser fechada, então só são ativados na
+    // primeira chamada de serviço da sessão; as chamadas aninhadas apenas conferem o estado.
+    @Before("execution(public * com.mechtech.MyMechanic.service..*.*(..))")
     public void activateTenantFilter() {
+        checks.increment();
+        boolean hasTenant = TenantContext.hasTenant();
+
+        // "Sem tenant, sem consulta": tarefas assíncronas nunca caem na sessão sem filtro
+        if (!hasTenant && TenantContext.isTenantRequired()) {
+            throw new IllegalStateException("Nenhum tenant definido para a tarefa em execução na thread "
+                    + Thread.currentThread().getName());
+        }
         Session session = entityManager.unwrap(Session.class);
-        String tenantId = TenantContext.getTenantId();
 
-        if (tenantId != null) {
+        long tenantId = TenantContext.getTenantId();
+        if (!rowLevelSecurity && hasTenant && !isTenantFilterActive(session, tenantId)) {
             Filter filter = session.enableFilter("tenantFilter");
             filter.setParameter("tenantId", tenantId);
+            boundTenants.put(session, tenantId);
+            tenantFilterActivations.increment();
         }
 
+        if (session.getEnabledFilter("deletedFilter") == null) {
             session.enableFilter("deletedFilter");
+            deletedFilterActivations.increment();
+        }
+    }
+
+    private boolean isTenantFilterActive(Session session, long tenantId) {
+        return session.getEnabledFilter("tenantFilter") != null
+                && boundTenants.get(session) instanceof Long current
+                && current == tenantId;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,5 @@
 package com.mechtech.MyMechanic.multiTenants;
 
 public interface TenantOwned {
-    String getTenantId();
+    Long getTenantId();
 }
@@ -0,0 +1,12 @@
+package com.mechtech.MyMechanic.multiTenants;
+
+import org.springframework.core.task.TaskDecorator;
+
+// Propaga o tenant da thread que submete a tarefa para a thread do executor
+public class TenantTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return TenantContext.wrap(runnable);
+    }
+}
@@ -1,21 +1,27 @@
 package com.mechtech.MyMechanic.repository;
 
-
 import com.mechtech.MyMechanic.entity.Client;
-import jakarta.validation.constraints.Pattern;
+import com.mechtech.MyMechanic.repository.projection.SuggestionRow;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
+public interface ClientRepository extends JpaRepository<Client, Long>, JpaSpecificationExecutor<Client>,
+        ProjectionSpecificationExecutor<Client>, UniquenessExecutor<Client> {
 
-public interface ClientRepository extends JpaRepository<Client, Long>, JpaSpecificationExecutor<Client> {
+    @Override
+    @EntityGraph(Client.GRAPH_DETAIL)
+    Optional<Client> findById(Long id);
 
     Optional<Client> findByEmail(String email);
 
     Optional<Client> findByVehicles_Id(Long vehicleId);
 
-    Optional<Client> findByCpf(@Pattern(regexp = "^\\d{11}$", message = "CPF deve conter 11 dígitos.") String cpf);
-
-    Optional<Client> findByPhone(@Pattern(regexp = "^\\d{10,11}$", message = "O telefone deve conter 10 ou 11 dígitos, incluindo o DDD.") String phone);
+    // Índice de sugestões: somente as colunas usadas no autocompletar
+    @Query("SELECT new com.mechtech.MyMechanic.repository.projection.SuggestionRow(c.id, c.name, c.cpf) FROM Client c")
+    List<SuggestionRow> findSuggestionRows();
 }
@@ -0,0 +1,40 @@
+package com.mechtech.MyMechanic.repository;
+
+import com.mechtech.MyMechanic.entity.DashboardCounters;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+public interface DashboardCountersRepository extends JpaRepository<DashboardCounters, Long> {
+
+    // Reconciliação: a linha fica travada enquanto as contagens são refeitas, e os deltas concorrentes esperam
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM DashboardCounters c WHERE c.tenantId = :tenantId")
+    Optional<DashboardCounters> findByTenantIdForUpdate(@Param("tenantId") Long tenantId);
+
+    @Query("SELECT c.tenantId FROM DashboardCounters c")
+    List<Long> findAllTenantIds();
+
+    // Sem linha (tenant que ainda não abriu o painel) não há o que atualizar: a primeira leitura reconcilia
+    @Modifying
+    @Query("UPDATE DashboardCounters c SET c.clientsCount = c.clientsCount + :clients, " +
+            "c.vehiclesCount = c.vehiclesCount + :vehicles, " +
+            "c.activeOrdersCount = c.activeOrdersCount + :activeOrders, " +
+            "c.pendingInvoicesCount = c.pendingInvoicesCount + :pendingInvoices " +
+            "WHERE c.tenantId = :tenantId")
+    int addCounts(@Param("tenantId") Long tenantId, @Param("clients") long clients, @Param("vehicles") long vehicles,
+                  @Param("activeOrders") long activeOrders, @Param("pendingInvoices") long pendingInvoices);
+
+    // Só altera o faturamento se a linha for do mesmo mês da data de saída da OS
+    @Modifying
+    @Query("UPDATE DashboardCounters c SET c.monthlyRevenue = c.monthlyRevenue + :amount " +
+            "WHERE c.tenantId = :tenantId AND c.revenueMonth = :month")
+    int addRevenue(@Param("tenantId") Long tenantId, @Param("month") int month, @Param("amount") BigDecimal amount);
+}
@@ -1,21 +1,26 @@
 package com.mechtech.MyMechanic.repository;
 
-
 import com.mechtech.MyMechanic.entity.Employee;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
-
-    Optional<Employee> findByCpf(String cpf);
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        ProjectionSpecificationExecutor<Employee>, UniquenessExecutor<Employee> {
 
-    Optional<Employee> findByEmail(String email);
+    @Override
+    @EntityGraph(Employee.GRAPH_DETAIL)
+    Optional<Employee> findById(Long id);
 
-    boolean existsByCpf(String cpf);
+    // Montagem da OS: a função (comissão) vem na mesma consulta
+    @Override
+    @EntityGraph(Employee.GRAPH_DETAIL)
+    List<Employee> findAllById(Iterable<Long> ids);
 
-    boolean existsByEmail(String email);
+    Optional<Employee> findByCpf(String cpf);
 
-    boolean existsByPhone(String phone);
+    Optional<Employee> findByEmail(String email);
 }
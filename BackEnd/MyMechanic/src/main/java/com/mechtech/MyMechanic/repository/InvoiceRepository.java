@@ -1,12 +1,26 @@
 package com.mechtech.MyMechanic.repository;
 
 import com.mechtech.MyMechanic.entity.Invoice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
-public interface InvoiceRepository extends JpaRepository<Invoice, Long>, JpaSpecificationExecutor<Invoice> {
+public interface InvoiceRepository extends JpaRepository<Invoice, Long>, JpaSpecificationExecutor<Invoice>,
+        ProjectionSpecificationExecutor<Invoice> {
+
+    @Override
+    @EntityGraph(Invoice.GRAPH_DETAIL)
+    Optional<Invoice> findById(Long id);
+
+    @EntityGraph(Invoice.GRAPH_PDF)
+    @Query("SELECT i FROM Invoice i WHERE i.id = :id")
+    Optional<Invoice> findForPdfById(@Param("id") Long id);
 
     boolean existsByServiceOrderId(Long serviceOrderId);
     long countByPaymentStatus(Invoice.PaymentStatus paymentStatus);
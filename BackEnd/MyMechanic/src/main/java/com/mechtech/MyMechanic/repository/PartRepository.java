@@ -1,14 +1,22 @@
 package com.mechtech.MyMechanic.repository;
 
 import com.mechtech.MyMechanic.entity.Part;
+import com.mechtech.MyMechanic.repository.projection.SuggestionRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 
-public interface PartRepository extends JpaRepository<Part, Long>, JpaSpecificationExecutor<Part> {
+public interface PartRepository extends JpaRepository<Part, Long>, JpaSpecificationExecutor<Part>,
+        ProjectionSpecificationExecutor<Part> {
 
     Optional<Part> findByCode(String Code);
 
+    // Índice de sugestões: somente as colunas usadas no autocompletar
+    @Query("SELECT new com.mechtech.MyMechanic.repository.projection.SuggestionRow(p.id, p.name, p.code) FROM Part p")
+    List<SuggestionRow> findSuggestionRows();
+
 }
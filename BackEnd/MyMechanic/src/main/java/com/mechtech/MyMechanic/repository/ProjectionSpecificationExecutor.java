@@ -0,0 +1,25 @@
+package com.mechtech.MyMechanic.repository;
+
+import com.mechtech.MyMechanic.repository.projection.ProjectionSelection;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+
+// Listagens que selecionam direto no record de projeção, sem carregar as entidades.
+// Implementado por ExtendedJpaRepository, a classe base de todos os repositórios.
+public interface ProjectionSpecificationExecutor<T> {
+
+    <P> Page<P> findProjected(@Nullable Specification<T> spec, ProjectionSelection<T, P> selection, Pageable pageable);
+
+    // Sem COUNT(*), como o findSlice
+    <P> Slice<P> findProjectedSlice(@Nullable Specification<T> spec, ProjectionSelection<T, P> selection, Pageable pageable);
+
+    // Keyset: as propriedades do sort precisam existir como componentes do record
+    <P> Window<P> scrollProjected(@Nullable Specification<T> spec, ProjectionSelection<T, P> selection,
+                                  Sort sort, int limit, KeysetScrollPosition position);
+}
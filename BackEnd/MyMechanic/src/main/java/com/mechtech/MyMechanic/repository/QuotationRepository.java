@@ -1,23 +1,34 @@
 package com.mechtech.MyMechanic.repository;
 
 import com.mechtech.MyMechanic.entity.Quotation;
+import org.hibernate.Hibernate;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 
-public interface QuotationRepository  extends JpaRepository<Quotation, Long>, JpaSpecificationExecutor<Quotation> {
+public interface QuotationRepository  extends JpaRepository<Quotation, Long>, JpaSpecificationExecutor<Quotation>,
+        ProjectionSpecificationExecutor<Quotation> {
 
-     Optional<List<Quotation>> findByVehicleId(Long vehicleId);
+    @EntityGraph(Quotation.GRAPH_DETAIL)
+    Optional<List<Quotation>> findByVehicleId(Long vehicleId);
 
-    @Query("SELECT q FROM Quotation q " +
-            "LEFT JOIN FETCH q.partItems pi " +
-            "LEFT JOIN FETCH pi.part " +
-            "LEFT JOIN FETCH q.serviceItems si " +
-            "LEFT JOIN FETCH si.repairService " +
-            "WHERE q.id = :id")
-    Optional<Quotation> findByIdWithItems(Long id);
+    @EntityGraph(Quotation.GRAPH_DETAIL)
+    @Query("SELECT q FROM Quotation q WHERE q.id = :id")
+    Optional<Quotation> findDetailById(@Param("id") Long id);
+
+    // Uma consulta para o orçamento e uma por coleção, sem produto cartesiano entre peças e serviços
+    default Optional<Quotation> findByIdWithItems(Long id) {
+        Optional<Quotation> quotation = findDetailById(id);
+        quotation.ifPresent(q -> {
+            Hibernate.initialize(q.getPartItems());
+            Hibernate.initialize(q.getServiceItems());
+        });
+        return quotation;
+    }
 }
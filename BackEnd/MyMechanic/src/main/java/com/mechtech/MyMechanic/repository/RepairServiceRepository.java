@@ -4,6 +4,7 @@ import com.mechtech.MyMechanic.entity.RepairService;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
-public interface RepairServiceRepository extends JpaRepository<RepairService, Long>, JpaSpecificationExecutor<RepairService> {
+public interface RepairServiceRepository extends JpaRepository<RepairService, Long>, JpaSpecificationExecutor<RepairService>,
+        ProjectionSpecificationExecutor<RepairService> {
 
 }
@@ -1,6 +1,8 @@
 package com.mechtech.MyMechanic.repository;
 
 import com.mechtech.MyMechanic.entity.ServiceOrder;
+import org.hibernate.Hibernate;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -11,7 +13,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-public interface ServiceOrderRepository extends JpaRepository<ServiceOrder, Long>, JpaSpecificationExecutor<ServiceOrder> {
+public interface ServiceOrderRepository extends JpaRepository<ServiceOrder, Long>, JpaSpecificationExecutor<ServiceOrder>,
+        ProjectionSpecificationExecutor<ServiceOrder> {
 
     long countByStatus(ServiceOrder.ServiceOrderStatus status);
 
@@ -19,21 +22,25 @@ public interface ServiceOrderRepository extends JpaRepository<ServiceOrder, Long
     @Query("SELECT COALESCE(SUM(so.totalCost), 0) FROM ServiceOrder so WHERE so.status = 'COMPLETO' AND so.exitDate BETWEEN :start AND :end")
     BigDecimal sumTotalCostByExitDateBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
-    // Buscar ordens completas no período para cálculo de comissão
-    @Query("SELECT DISTINCT so FROM ServiceOrder so " +
-            "JOIN FETCH so.employees soe " +
-            "JOIN FETCH soe.employee " +
-            "LEFT JOIN FETCH so.serviceItems " +
-            "WHERE so.status = 'COMPLETO' AND so.exitDate BETWEEN :start AND :end")
+    // Buscar ordens completas no período para cálculo de comissão (funcionários, cargos e itens pelo grafo)
+    @EntityGraph(ServiceOrder.GRAPH_COMMISSION)
+    @Query("SELECT so FROM ServiceOrder so " +
+            "WHERE so.status = 'COMPLETO' AND so.exitDate BETWEEN :start AND :end " +
+            "AND so.employees IS NOT EMPTY")
     List<ServiceOrder> findCompletedOrdersBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
-    @Query("SELECT so FROM ServiceOrder so " +
-            "LEFT JOIN FETCH so.partItems pi " +
-            "LEFT JOIN FETCH pi.part " +
-            "LEFT JOIN FETCH so.serviceItems si " +
-            "LEFT JOIN FETCH si.repairService " +
-            "LEFT JOIN FETCH so.employees ei " +
-            "LEFT JOIN FETCH ei.employee " +
-            "WHERE so.id = :id")
-    Optional<ServiceOrder> findByIdWithItems(@Param("id") Long id);
+    @EntityGraph(ServiceOrder.GRAPH_DETAIL)
+    @Query("SELECT so FROM ServiceOrder so WHERE so.id = :id")
+    Optional<ServiceOrder> findDetailById(@Param("id") Long id);
+
+    // Uma consulta para a OS e uma por coleção: peças + serviços + funcionários linhas, não o produto entre eles
+    default Optional<ServiceOrder> findByIdWithItems(Long id) {
+        Optional<ServiceOrder> serviceOrder = findDetailById(id);
+        serviceOrder.ifPresent(so -> {
+            Hibernate.initialize(so.getPartItems());
+            Hibernate.initialize(so.getServiceItems());
+            Hibernate.initialize(so.getEmployees());
+        });
+        return serviceOrder;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.mechtech.MyMechanic.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+
+// Listagem paginada sem a consulta de COUNT: busca uma linha a mais para saber se há próxima página.
+// Implementado por ExtendedJpaRepository, a classe base de todos os repositórios.
+public interface SliceSpecificationExecutor<T> {
+
+    Slice<T> findSlice(@Nullable Specification<T> spec, Pageable pageable);
+}
@@ -1,15 +1,20 @@
 package com.mechtech.MyMechanic.repository;
 
 import com.mechtech.MyMechanic.entity.Tenant;
-import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface TenantRepository extends JpaRepository<Tenant, Long> {
-    boolean existsByDocument(@NotBlank(message = "O documento (CNPJ) é obrigatório") String companyDocument);
+public interface TenantRepository extends JpaRepository<Tenant, Long>, SliceSpecificationExecutor<Tenant> {
 
-    boolean existsByEmail(@NotBlank(message = "O documento (CNPJ) é obrigatório") String companyDocument);
+    // Cadastro: e-mail do administrador, documento e e-mail da empresa verificados em uma única consulta
+    @Query(value = "SELECT 'adminEmail' FROM users WHERE email = :adminEmail " +
+            "UNION ALL SELECT 'document' FROM tenants WHERE document = :document " +
+            "UNION ALL SELECT 'email' FROM tenants WHERE email = :adminEmail", nativeQuery = true)
+    List<String> findRegistrationConflicts(@Param("adminEmail") String adminEmail, @Param("document") String document);
 
     Optional<Tenant> findByInviteToken(String inviteToken);
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package com.mechtech.MyMechanic.repository;
+
+import java.util.Set;
+
+// Verificação de unicidade de vários campos de uma entidade em uma única consulta
+public interface UniquenessExecutor<T> {
+
+    // Campos, dentre os informados, cujo valor já pertence a outro registro (o próprio registro é ignorado pelo id).
+    // Campos nulos não são verificados.
+    Set<String> findTakenFields(T entity, String... fields);
+}
@@ -26,9 +26,14 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
 
     Optional<User> findByEmail(@NotBlank(message = "O e-mail é obrigatório") @Email(message = "E-mail inválido") String email);
 
-    @Query(value = "SELECT * FROM users WHERE email = :email", nativeQuery = true)
+    @Query(value = "SELECT * FROM users WHERE email = :email AND deleted = false", nativeQuery = true)
     Optional<User> findByEmailIgnoringTenant(@Param("email") String email);
 
-    @Query(value = "SELECT * FROM users", nativeQuery = true)
-    Page<User> findAllIgnoringTenant(Pageable pageable);
+    @Query(value = "SELECT token_version FROM users WHERE id = :id AND deleted = false", nativeQuery = true)
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    // Apenas as colunas de UserProjection (ver UserProjection.fromRow)
+    @Query(value = "SELECT id, full_name, email, phone, role FROM users",
+            countQuery = "SELECT count(*) FROM users", nativeQuery = true)
+    Page<Object[]> findAllIgnoringTenant(Pageable pageable);
 }
@@ -1,13 +1,16 @@
 package com.mechtech.MyMechanic.repository;
 
 import com.mechtech.MyMechanic.entity.VehicleModel;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.util.Optional;
 
-public interface VehicleModelRepository extends JpaRepository<VehicleModel, Long>, JpaSpecificationExecutor<VehicleModel> {
+public interface VehicleModelRepository extends JpaRepository<VehicleModel, Long>, JpaSpecificationExecutor<VehicleModel>,
+        ProjectionSpecificationExecutor<VehicleModel>, UniquenessExecutor<VehicleModel> {
 
-
-    Optional<VehicleModel> findByName(String name);
+    @Override
+    @EntityGraph(VehicleModel.GRAPH_DETAIL)
+    Optional<VehicleModel> findById(Long id);
 }
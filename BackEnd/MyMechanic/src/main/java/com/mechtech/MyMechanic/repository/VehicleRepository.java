@@ -1,12 +1,23 @@
 package com.mechtech.MyMechanic.repository;
 
 import com.mechtech.MyMechanic.entity.Vehicle;
+import com.mechtech.MyMechanic.repository.projection.SuggestionRow;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface VehicleRepository extends JpaRepository<Vehicle, Long>, JpaSpecificationExecutor<Vehicle> {
+public interface VehicleRepository extends JpaRepository<Vehicle, Long>, JpaSpecificationExecutor<Vehicle>,
+        ProjectionSpecificationExecutor<Vehicle>, UniquenessExecutor<Vehicle> {
 
-    Optional<Vehicle> findByLicensePlate(String licensePlate);
+    @Override
+    @EntityGraph(Vehicle.GRAPH_DETAIL)
+    Optional<Vehicle> findById(Long id);
+
+    // Índice de sugestões: somente as colunas usadas no autocompletar
+    @Query("SELECT new com.mechtech.MyMechanic.repository.projection.SuggestionRow(v.id, v.licensePlate) FROM Vehicle v")
+    List<SuggestionRow> findSuggestionRows();
 }
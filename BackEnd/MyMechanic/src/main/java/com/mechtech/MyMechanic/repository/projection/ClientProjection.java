@@ -1,19 +1,15 @@
 package com.mechtech.MyMechanic.repository.projection;
 
-
 import com.mechtech.MyMechanic.entity.Address;
+import com.mechtech.MyMechanic.entity.Client;
+import jakarta.persistence.criteria.JoinType;
 
-public interface ClientProjection {
-
-    Long getId();
-
-    String getName();
-
-    String getEmail();
-
-    String getPhone();
+import java.util.List;
 
-    String getCpf();
+public record ClientProjection(Long id, String name, String email, String phone, String cpf, Address address) {
 
-    Address getAddress();
+    public static final ProjectionSelection<Client, ClientProjection> SELECTION = new ProjectionSelection<>(
+            ClientProjection.class,
+            (root, cb) -> List.of(root.get("id"), root.get("name"), root.get("email"), root.get("phone"),
+                    root.get("cpf"), root.join("address", JoinType.LEFT)));
 }
@@ -1,14 +1,16 @@
 package com.mechtech.MyMechanic.repository.projection;
 
 import com.mechtech.MyMechanic.entity.Address;
+import com.mechtech.MyMechanic.entity.Employee;
 import com.mechtech.MyMechanic.entity.Role;
+import jakarta.persistence.criteria.JoinType;
 
-public interface EmployeeProjection {
-        Long getId();
-        String getName();
-        Role getRole();
-        String getEmail();
-        String getPhone();
-        Address getAddress();
-    }
+import java.util.List;
 
+public record EmployeeProjection(Long id, String name, Role role, String email, String phone, Address address) {
+
+    public static final ProjectionSelection<Employee, EmployeeProjection> SELECTION = new ProjectionSelection<>(
+            EmployeeProjection.class,
+            (root, cb) -> List.of(root.get("id"), root.get("name"), root.join("role", JoinType.LEFT),
+                    root.get("email"), root.get("phone"), root.join("address", JoinType.LEFT)));
+}
@@ -1,24 +1,25 @@
 package com.mechtech.MyMechanic.repository.projection;
 
 import com.mechtech.MyMechanic.entity.Invoice;
-import org.springframework.beans.factory.annotation.Value;
+import com.mechtech.MyMechanic.entity.ServiceOrder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
-public interface InvoiceProjection {
-    Long getId();
-    String getInvoiceNumber();
-    LocalDateTime getIssueDate();
-    BigDecimal getTotalAmount();
-    Invoice.PaymentStatus getPaymentStatus();
+public record InvoiceProjection(Long id, String invoiceNumber, LocalDateTime issueDate, BigDecimal totalAmount,
+                                Invoice.PaymentStatus paymentStatus, Long serviceOrderId,
+                                String serviceOrderClientName, String serviceOrderVehicleLicensePlate) {
 
-    @Value("#{target.serviceOrder.id}")
-    Long getServiceOrderId();
-
-    @Value("#{target.serviceOrder.client.name}")
-    String getServiceOrderClientName();
-
-    @Value("#{target.serviceOrder.vehicle.licensePlate}")
-    String getServiceOrderVehicleLicensePlate();
+    public static final ProjectionSelection<Invoice, InvoiceProjection> SELECTION = new ProjectionSelection<>(
+            InvoiceProjection.class,
+            (root, cb) -> {
+                Join<Invoice, ServiceOrder> serviceOrder = root.join("serviceOrder", JoinType.LEFT);
+                return List.of(root.get("id"), root.get("invoiceNumber"), root.get("issueDate"),
+                        root.get("totalAmount"), root.get("paymentStatus"), serviceOrder.get("id"),
+                        serviceOrder.join("client", JoinType.LEFT).get("name"),
+                        serviceOrder.join("vehicle", JoinType.LEFT).get("licensePlate"));
+            });
 }
@@ -1,13 +1,14 @@
 package com.mechtech.MyMechanic.repository.projection;
 
+import com.mechtech.MyMechanic.entity.Part;
+
 import java.math.BigDecimal;
+import java.util.List;
 
-public interface PartProjection {
-    Long getId();
-    String getName();
-    BigDecimal getPrice();
-    String getDescription();
-    String getCode();
-    String getSupplier();
+public record PartProjection(Long id, String name, BigDecimal price, String description, String code, String supplier) {
 
+    public static final ProjectionSelection<Part, PartProjection> SELECTION = new ProjectionSelection<>(
+            PartProjection.class,
+            (root, cb) -> List.of(root.get("id"), root.get("name"), root.get("price"), root.get("description"),
+                    root.get("code"), root.get("supplier")));
 }
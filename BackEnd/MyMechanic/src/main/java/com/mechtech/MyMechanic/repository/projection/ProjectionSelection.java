@@ -0,0 +1,14 @@
+package com.mechtech.MyMechanic.repository.projection;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+// Colunas lidas pela consulta e o record que as recebe: vira um "select new Record(...)",
+// então só as colunas projetadas (e os joins necessários) chegam do banco.
+public record ProjectionSelection<T, P>(Class<P> type,
+                                        BiFunction<Root<T>, CriteriaBuilder, List<Selection<?>>> columns) {
+}
@@ -1,29 +1,29 @@
 package com.mechtech.MyMechanic.repository.projection;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
-import org.springframework.beans.factory.annotation.Value;
+import com.mechtech.MyMechanic.entity.Quotation;
+import jakarta.persistence.criteria.JoinType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-
-public interface QuotationProjection {
-    Long getId();
-
-    String getDescription();
-
-    String getStatus();
-
-    @Value("#{target.client.name}")
-    String getClientName();
-
-    @Value("#{target.vehicle.licensePlate}")
-    String getVehicleLicensePlate();
-
-    BigDecimal getTotalCost();
-
-    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
-    LocalDateTime getEntryTime();
-
-    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
-    LocalDateTime getExitTime();
+import java.util.List;
+
+public record QuotationProjection(
+        Long id,
+        String description,
+        Quotation.QuotationStatus status,
+        String clientName,
+        String vehicleLicensePlate,
+        BigDecimal totalCost,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime entryTime,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime exitTime) {
+
+    public static final ProjectionSelection<Quotation, QuotationProjection> SELECTION = new ProjectionSelection<>(
+            QuotationProjection.class,
+            (root, cb) -> List.of(root.get("id"), root.get("description"), root.get("status"),
+                    root.join("client", JoinType.LEFT).get("name"),
+                    root.join("vehicle", JoinType.LEFT).get("licensePlate"),
+                    root.get("totalCost"), root.get("entryTime"), root.get("exitTime")));
 }
@@ -1,13 +1,13 @@
 package com.mechtech.MyMechanic.repository.projection;
 
-public interface RepairServiceProjection {
-    Long getId();
+import com.mechtech.MyMechanic.entity.RepairService;
 
-    String getName();
-
-    String getDescription();
-
-    java.math.BigDecimal getCost();
+import java.math.BigDecimal;
+import java.util.List;
 
+public record RepairServiceProjection(Long id, String name, String description, BigDecimal cost) {
 
+    public static final ProjectionSelection<RepairService, RepairServiceProjection> SELECTION = new ProjectionSelection<>(
+            RepairServiceProjection.class,
+            (root, cb) -> List.of(root.get("id"), root.get("name"), root.get("description"), root.get("cost")));
 }
@@ -1,7 +1,12 @@
 package com.mechtech.MyMechanic.repository.projection;
 
-public interface RoleProjection {
-    Long getId();
-    String getName();
-    Boolean getReceivesCommission();
+import com.mechtech.MyMechanic.entity.Role;
+
+import java.util.List;
+
+public record RoleProjection(Long id, String name, boolean receivesCommission) {
+
+    public static final ProjectionSelection<Role, RoleProjection> SELECTION = new ProjectionSelection<>(
+            RoleProjection.class,
+            (root, cb) -> List.of(root.get("id"), root.get("name"), root.get("receivesCommission")));
 }
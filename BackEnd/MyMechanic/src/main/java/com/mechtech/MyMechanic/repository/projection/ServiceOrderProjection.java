@@ -1,30 +1,34 @@
 package com.mechtech.MyMechanic.repository.projection;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
-import org.springframework.beans.factory.annotation.Value;
+import com.mechtech.MyMechanic.entity.ServiceOrder;
+import com.mechtech.MyMechanic.entity.Vehicle;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-
-// Esta projeção é para listagens, mostrando apenas os dados principais.
-public interface ServiceOrderProjection {
-    Long getId();
-    String getStatus();
-
-    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
-    LocalDateTime getEntryDate();
-
-    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
-    LocalDateTime getExitDate();
-
-    BigDecimal getTotalCost();
-
-    @Value("#{target.vehicle.licensePlate}")
-    String getVehicleLicensePlate();
-
-    @Value("#{target.vehicle.model.name}")
-    String getVehicleModelName();
-
-    @Value("#{target.client.name}")
-    String getClientName();
+import java.util.List;
+
+public record ServiceOrderProjection(
+        Long id,
+        ServiceOrder.ServiceOrderStatus status,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime entryDate,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime exitDate,
+        BigDecimal totalCost,
+        String vehicleLicensePlate,
+        String vehicleModelName,
+        String clientName) {
+
+    public static final ProjectionSelection<ServiceOrder, ServiceOrderProjection> SELECTION = new ProjectionSelection<>(
+            ServiceOrderProjection.class,
+            (root, cb) -> {
+                Join<ServiceOrder, Vehicle> vehicle = root.join("vehicle", JoinType.LEFT);
+                return List.of(root.get("id"), root.get("status"), root.get("entryDate"), root.get("exitDate"),
+                        root.get("totalCost"), vehicle.get("licensePlate"),
+                        vehicle.join("model", JoinType.LEFT).get("name"),
+                        root.join("client", JoinType.LEFT).get("name"));
+            });
 }
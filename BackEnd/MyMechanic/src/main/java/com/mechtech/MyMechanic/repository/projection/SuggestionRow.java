@@ -0,0 +1,9 @@
+package com.mechtech.MyMechanic.repository.projection;
+
+// Linha mínima para montar o índice de sugestões (id, texto exibido e detalhe opcional)
+public record SuggestionRow(Long id, String label, String detail) {
+
+    public SuggestionRow(Long id, String label) {
+        this(id, label, null);
+    }
+}
@@ -1,10 +1,17 @@
 package com.mechtech.MyMechanic.repository.projection;
 
-public interface UserProjection {
-    Long getId();
-    String getFullName();
-    String getEmail();
-    String getPhone();
-    String getRole();
+import com.mechtech.MyMechanic.entity.User;
 
+// Preenchida a partir da consulta nativa (sem filtro de tenant) de UserRepository
+public record UserProjection(Long id, String fullName, String email, String phone, User.Role role) {
+
+    // Colunas na ordem do SELECT: id, full_name, email, phone, role
+    public static UserProjection fromRow(Object[] row) {
+        return new UserProjection(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                (String) row[2],
+                (String) row[3],
+                row[4] != null ? User.Role.valueOf(row[4].toString()) : null);
+    }
 }
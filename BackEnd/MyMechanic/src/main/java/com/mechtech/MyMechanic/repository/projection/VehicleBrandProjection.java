@@ -1,8 +1,12 @@
 package com.mechtech.MyMechanic.repository.projection;
 
-public interface VehicleBrandProjection {
+import com.mechtech.MyMechanic.entity.VehicleBrand;
 
-    Long getId();
-    String getName();
+import java.util.List;
 
+public record VehicleBrandProjection(Long id, String name) {
+
+    public static final ProjectionSelection<VehicleBrand, VehicleBrandProjection> SELECTION = new ProjectionSelection<>(
+            VehicleBrandProjection.class,
+            (root, cb) -> List.of(root.get("id"), root.get("name")));
 }
@@ -1,12 +1,13 @@
 package com.mechtech.MyMechanic.repository.projection;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.mechtech.MyMechanic.entity.VehicleModel;
+import jakarta.persistence.criteria.JoinType;
 
-public interface VehicleModelProjection {
-    Long getId();
-    String getName();
+import java.util.List;
 
-    @Value("#{target.brand.name}")
-    String getBrandName();
+public record VehicleModelProjection(Long id, String name, String brandName) {
 
+    public static final ProjectionSelection<VehicleModel, VehicleModelProjection> SELECTION = new ProjectionSelection<>(
+            VehicleModelProjection.class,
+            (root, cb) -> List.of(root.get("id"), root.get("name"), root.join("brand", JoinType.LEFT).get("name")));
 }
@@ -1,26 +1,23 @@
 package com.mechtech.MyMechanic.repository.projection;
 
-import org.springframework.beans.factory.annotation.Value;
-
-public interface VehicleProjection {
-
-    Long getId();
-
-    @Value("#{target.model.brand.name}")
-    String getBrandName();
-
-    @Value("#{target.model.name}")
-    String getModelName();
-
-    int getYear();
-
-    String getLicensePlate();
-
-    @Value("#{target.client.id}")
-    Long getClientId();
-
-    @Value("#{target.client.name}")
-    String getClientName();
-
-    String getColor();
+import com.mechtech.MyMechanic.entity.Client;
+import com.mechtech.MyMechanic.entity.Vehicle;
+import com.mechtech.MyMechanic.entity.VehicleModel;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+
+import java.util.List;
+
+public record VehicleProjection(Long id, String brandName, String modelName, int year, String licensePlate,
+                                Long clientId, String clientName, String color) {
+
+    public static final ProjectionSelection<Vehicle, VehicleProjection> SELECTION = new ProjectionSelection<>(
+            VehicleProjection.class,
+            (root, cb) -> {
+                Join<Vehicle, VehicleModel> model = root.join("model", JoinType.LEFT);
+                Join<Vehicle, Client> client = root.join("client", JoinType.LEFT);
+                return List.of(root.get("id"), model.join("brand", JoinType.LEFT).get("name"), model.get("name"),
+                        root.get("year"), root.get("licensePlate"), client.get("id"), client.get("name"),
+                        root.get("color"));
+            });
 }
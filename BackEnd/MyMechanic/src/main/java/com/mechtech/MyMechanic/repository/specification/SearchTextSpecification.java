@@ -0,0 +1,35 @@
+package com.mechtech.MyMechanic.repository.specification;
+
+import jakarta.persistence.criteria.Expression;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+// Busca no documento search_text mantido por triggers (V23). O LIKE '%termo%' e o <% (termo parecido com
+// algum trecho do documento, tolera erros de digitação) usam o índice GIN de trigramas. Sem ordenação na
+// requisição, os resultados vêm pelo word_similarity: o similarity() compara o termo com o documento
+// inteiro e perde a relevância em documentos longos.
+public class SearchTextSpecification {
+
+    public static <T> Specification<T> matching(String searchTerm) {
+        return (root, query, criteriaBuilder) -> {
+            if (searchTerm == null || searchTerm.trim().isEmpty()) {
+                return criteriaBuilder.conjunction();
+            }
+            String term = searchTerm.trim().toLowerCase(Locale.ROOT);
+            Expression<String> document = root.get("searchText");
+
+            // A consulta de contagem não é ordenada
+            if (!Long.class.equals(query.getResultType()) && query.getOrderList().isEmpty()) {
+                query.orderBy(
+                        criteriaBuilder.desc(criteriaBuilder.function("word_similarity", Double.class,
+                                criteriaBuilder.literal(term), document)),
+                        criteriaBuilder.desc(root.get("id")));
+            }
+            return criteriaBuilder.or(
+                    criteriaBuilder.like(document, "%" + term + "%"),
+                    criteriaBuilder.isTrue(criteriaBuilder.function("word_similar", Boolean.class,
+                            criteriaBuilder.literal(term), document)));
+        };
+    }
+}
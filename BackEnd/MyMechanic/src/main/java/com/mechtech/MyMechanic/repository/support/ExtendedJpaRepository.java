@@ -0,0 +1,235 @@
+package com.mechtech.MyMechanic.repository.support;
+
+import com.mechtech.MyMechanic.multiTenants.TenantOwned;
+import com.mechtech.MyMechanic.repository.ProjectionSpecificationExecutor;
+import com.mechtech.MyMechanic.repository.SliceSpecificationExecutor;
+import com.mechtech.MyMechanic.repository.UniquenessExecutor;
+import com.mechtech.MyMechanic.repository.projection.ProjectionSelection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.annotations.Cache;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.lang.Nullable;
+
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+public class ExtendedJpaRepository<T, ID> extends SimpleJpaRepository<T, ID>
+        implements SliceSpecificationExecutor<T>, ProjectionSpecificationExecutor<T>, UniquenessExecutor<T> {
+
+    private final JpaEntityInformation<T, ?> entityInformation;
+    private final EntityManager entityManager;
+
+    public ExtendedJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityInformation = entityInformation;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Slice<T> findSlice(@Nullable Specification<T> spec, Pageable pageable) {
+        TypedQuery<T> query = getQuery(spec, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList());
+        }
+        return toSlice(query, pageable);
+    }
+
+    @Override
+    public <P> Page<P> findProjected(@Nullable Specification<T> spec, ProjectionSelection<T, P> selection, Pageable pageable) {
+        TypedQuery<P> query = projectedQuery(spec, selection, pageable.getSort(), null);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(query.getResultList());
+        }
+        query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+        query.setMaxResults(pageable.getPageSize());
+        // O COUNT só roda quando a página não permite deduzir o total
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable,
+                () -> spec == null ? count() : count(spec));
+    }
+
+    @Override
+    public <P> Slice<P> findProjectedSlice(@Nullable Specification<T> spec, ProjectionSelection<T, P> selection, Pageable pageable) {
+        TypedQuery<P> query = projectedQuery(spec, selection, pageable.getSort(), null);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList());
+        }
+        return toSlice(query, pageable);
+    }
+
+    @Override
+    public <P> Window<P> scrollProjected(@Nullable Specification<T> spec, ProjectionSelection<T, P> selection,
+                                         Sort sort, int limit, KeysetScrollPosition position) {
+        TypedQuery<P> query = projectedQuery(spec, selection, sort, position.isInitial() ? null : position);
+        query.setMaxResults(limit + 1);
+
+        List<P> rows = query.getResultList();
+        boolean hasNext = rows.size() > limit;
+        List<P> content = hasNext ? rows.subList(0, limit) : rows;
+        return Window.from(content, index -> ScrollPosition.forward(keysOf(content.get(index), sort)), hasNext);
+    }
+
+    // SELECT campo1, campo2... WHERE (campo1 = ? OR campo2 = ? ...) AND id <> ?
+    @Override
+    public Set<String> findTakenFields(T entity, String... fields) {
+        BeanWrapper wrapper = new BeanWrapperImpl(entity);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(getDomainClass());
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        List<Predicate> matches = new ArrayList<>();
+        List<Selection<?>> columns = new ArrayList<>();
+        for (String field : fields) {
+            Object value = wrapper.getPropertyValue(field);
+            if (value != null) {
+                values.put(field, value);
+                matches.add(cb.equal(root.get(field), value));
+                columns.add(root.get(field).alias(field));
+            }
+        }
+        if (values.isEmpty()) {
+            return Set.of();
+        }
+
+        Predicate where = cb.or(matches.toArray(new Predicate[0]));
+        Object id = entityInformation.getId(entity);
+        if (id != null) {
+            where = cb.and(where, cb.notEqual(root.get(entityInformation.getRequiredIdAttribute().getName()), id));
+        }
+        // Tenant como parâmetro (além do tenantFilter): no modo rls o SQL seria o mesmo para todos os tenants,
+        // e o resultado não poderia ir para o cache de consultas
+        if (entity instanceof TenantOwned owned && owned.getTenantId() != null) {
+            where = cb.and(where, cb.equal(root.get("tenantId"), owned.getTenantId()));
+        }
+        query.multiselect(columns).where(where);
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                // Entidades no cache de segundo nível (marcas, modelos): resultado no cache de consultas,
+                // invalidado pelo Hibernate a cada escrita na tabela
+                .setHint(HibernateHints.HINT_CACHEABLE, getDomainClass().isAnnotationPresent(Cache.class))
+                // Sem flush automático: a própria entidade (já excluída pelo id) não precisa ir ao banco antes da verificação
+                .setFlushMode(FlushModeType.COMMIT)
+                // Com restrição de unicidade, cada valor pertence a no máximo um registro
+                .setMaxResults(values.size())
+                .getResultList();
+
+        Set<String> taken = new LinkedHashSet<>();
+        for (Tuple row : rows) {
+            values.forEach((field, value) -> {
+                if (Objects.equals(row.get(field), value)) {
+                    taken.add(field);
+                }
+            });
+        }
+        return taken;
+    }
+
+    // Busca uma linha a mais que o tamanho da página para saber se existe a próxima
+    private <R> Slice<R> toSlice(TypedQuery<R> query, Pageable pageable) {
+        int pageSize = pageable.getPageSize();
+        query.setFirstResult(Math.toIntExact(pageable.getOffset()));
+        query.setMaxResults(pageSize + 1);
+
+        List<R> content = query.getResultList();
+        boolean hasNext = content.size() > pageSize;
+        return new SliceImpl<>(hasNext ? content.subList(0, pageSize) : content, pageable, hasNext);
+    }
+
+    private <P> TypedQuery<P> projectedQuery(@Nullable Specification<T> spec, ProjectionSelection<T, P> selection,
+                                            Sort sort, @Nullable KeysetScrollPosition position) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<P> query = cb.createQuery(selection.type());
+        Root<T> root = query.from(getDomainClass());
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        if (position != null) {
+            predicates.add(keysetPredicate(root, cb, sort, position.getKeys()));
+        }
+
+        query.select(cb.construct(selection.type(), selection.columns().apply(root, cb).toArray(new Selection<?>[0])));
+        query.where(predicates.toArray(new Predicate[0]));
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    // (k1 > v1) OR (k1 = v1 AND k2 > v2) ..., com < nas ordens decrescentes
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Predicate keysetPredicate(Root<T> root, CriteriaBuilder cb, Sort sort, Map<String, Object> keys) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalities = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Expression<Comparable> path = root.get(order.getProperty());
+            Comparable value = (Comparable) keys.get(order.getProperty());
+
+            List<Predicate> step = new ArrayList<>(equalities);
+            step.add(order.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value));
+            alternatives.add(cb.and(step.toArray(new Predicate[0])));
+            equalities.add(cb.equal(path, value));
+        }
+        return cb.or(alternatives.toArray(new Predicate[0]));
+    }
+
+    private static Map<String, Object> keysOf(Object row, Sort sort) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            keys.put(order.getProperty(), readComponent(row, order.getProperty()));
+        }
+        return keys;
+    }
+
+    private static Object readComponent(Object row, String name) {
+        RecordComponent[] components = row.getClass().getRecordComponents();
+        if (components != null) {
+            for (RecordComponent component : components) {
+                if (component.getName().equals(name)) {
+                    try {
+                        return component.getAccessor().invoke(row);
+                    } catch (ReflectiveOperationException e) {
+                        throw new IllegalStateException("Falha ao ler a chave de paginação " + name, e);
+                    }
+                }
+            }
+        }
+        throw new IllegalArgumentException(String.format(
+                "A projeção %s não possui a chave de paginação '%s'", row.getClass().getSimpleName(), name));
+    }
+}
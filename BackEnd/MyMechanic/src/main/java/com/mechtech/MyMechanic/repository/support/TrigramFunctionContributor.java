@@ -0,0 +1,18 @@
+package com.mechtech.MyMechanic.repository.support;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+// Operador <% do pg_trgm para as Criteria (o HQL não tem operadores customizados): word_similar(termo, texto)
+// é verdadeiro quando o termo se parece com algum trecho do texto e, ao contrário de word_similarity()
+// em uma comparação, é atendido pelo índice GIN. Registrado em META-INF/services.
+public class TrigramFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                "word_similar", "(?1 <% ?2)",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
@@ -7,13 +7,31 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
 
 public abstract class AbstractTenantAwareService<T extends TenantOwned, ID, R extends JpaRepository<T, ID>> {
 
     protected final R repository;
 
+    // Cache de catálogo (opcional): atende findCachedById, usado pelos outros serviços
+    private final CatalogCache catalogCache;
+    private final String cacheRegion;
+
     public AbstractTenantAwareService(R repository) {
+        this(repository, null, null);
+    }
+
+    protected AbstractTenantAwareService(R repository, CatalogCache catalogCache, String cacheRegion) {
         this.repository = repository;
+        this.catalogCache = catalogCache;
+        this.cacheRegion = cacheRegion;
     }
 
 
@@ -29,10 +47,58 @@ public abstract class AbstractTenantAwareService<T extends TenantOwned, ID, R ex
         return entity;
     }
 
+    // Referência em associações de outros serviços (modelo do veículo, marca do modelo, função do
+    // funcionário). O cache de catálogo guarda só os ids já conferidos para o tenant: um id conhecido
+    // vira uma referência da sessão atual, sem consulta, e os dados vêm do cache de segundo nível quando
+    // lidos. Nenhuma instância é compartilhada entre sessões. Alterações partem do findById.
+    public T findCachedById(ID id) {
+        if (catalogCache == null) {
+            return findById(id);
+        }
+        if (catalogCache.contains(cacheRegion, id)) {
+            return repository.getReferenceById(id);
+        }
+        T entity = findById(id);
+        catalogCache.put(cacheRegion, id);
+        return entity;
+    }
+
+    // Resolve vários ids em uma única consulta (IN), com a mesma validação de tenant do findById.
+    // Usado na montagem dos itens de OS e orçamento, em vez de um findById por item.
+    @Transactional(readOnly = true)
+    public Map<ID, T> findAllByIds(Collection<ID> ids, Function<T, ID> idOf) {
+        Map<ID, T> found = new HashMap<>();
+        Set<ID> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+        // Sem o cache de catálogo: preço e nome dos itens são lidos, e referências virariam uma consulta por item
+        if (!distinctIds.isEmpty()) {
+            for (T entity : repository.findAllById(distinctIds)) {
+                validateTenant(entity);
+                found.put(idOf.apply(entity), entity);
+            }
+        }
+
+        List<ID> missing = ids.stream().filter(id -> id == null || !found.containsKey(id)).distinct().toList();
+        if (missing.size() == 1) {
+            throw new EntityNotFoundException(String.format("Recurso com id '%s' não encontrado.", missing.get(0)));
+        }
+        if (!missing.isEmpty()) {
+            throw new EntityNotFoundException(String.format("Recursos com ids %s não encontrados.", missing));
+        }
+        return found;
+    }
+
+    // Chamado pelos serviços de catálogo nas alterações e exclusões
+    protected void evictCached(ID id, Long tenantId) {
+        if (catalogCache != null) {
+            catalogCache.evictAfterCommit(cacheRegion, tenantId, id);
+        }
+    }
+
     protected void validateTenant(T entity) {
-        String currentTenantId = TenantContext.getTenantId();
         // A validacao so é feita se houver um tenant no contexto
-        if (currentTenantId != null && !currentTenantId.equals(entity.getTenantId())) {
+        if (TenantContext.hasTenant()
+                && (entity.getTenantId() == null || entity.getTenantId() != TenantContext.getTenantId())) {
             throw new AccessDeniedException("Acesso negado. Este recurso não pertence ao seu tenant.");
         }
     }
@@ -0,0 +1,129 @@
+package com.mechtech.MyMechanic.service;
+
+import com.mechtech.MyMechanic.multiTenants.TenantContext;
+import com.mechtech.MyMechanic.multiTenants.TenantFilterAspect;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Totais aproximados para as listagens em modo Slice (sem COUNT a cada página).
+// Listagens sem filtro usam a estimativa do PostgreSQL (pg_class.reltuples); as demais usam
+// uma contagem exata por tenant e termo de busca, guardada em cache e recalculada em segundo plano.
+@Slf4j
+@Service
+public class ApproximateCountService {
+
+    private static final String RELTUPLES_SQL = "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)";
+
+    private record Key(long tenantId, String table, String searchTerm) {
+    }
+
+    private record CachedCount(long count, long refreshedAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TenantFilterAspect tenantFilterAspect;
+    private final AsyncTaskExecutor taskExecutor;
+    private final long ttlNanos;
+    private final Map<Key, CachedCount> counts;
+    private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+    private volatile Boolean postgres;
+
+    public ApproximateCountService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   TenantFilterAspect tenantFilterAspect,
+                                   @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                                   @Value("${app.pagination.approximate-count.ttl-seconds:60}") long ttlSeconds,
+                                   @Value("${app.pagination.approximate-count.max-entries:10000}") int maxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.tenantFilterAspect = tenantFilterAspect;
+        this.taskExecutor = taskExecutor;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.counts = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedCount> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    // tenantScoped = false para tabelas sem tenant_id (ex.: tenants).
+    // Retorna null enquanto não houver estimativa: a primeira contagem roda em segundo plano.
+    public Long estimate(String table, boolean tenantScoped, String searchTerm, Supplier<Long> exactCount) {
+        String term = searchTerm == null ? "" : searchTerm.trim().toLowerCase(Locale.ROOT);
+        boolean unfiltered = !tenantScoped || !TenantContext.hasTenant();
+
+        if (unfiltered && term.isEmpty() && isPostgres()) {
+            Long estimate = jdbcTemplate.queryForObject(RELTUPLES_SQL, Long.class, table);
+            // -1: tabela ainda não analisada; segue para a contagem em cache
+            if (estimate != null && estimate >= 0) {
+                return estimate;
+            }
+        }
+
+        Key key = new Key(tenantScoped ? TenantContext.getTenantId() : TenantContext.NO_TENANT, table, term);
+        CachedCount cached = counts.get(key);
+        if (cached == null || System.nanoTime() - cached.refreshedAt() > ttlNanos) {
+            refreshAsync(key, tenantScoped, exactCount);
+        }
+        return cached != null ? cached.count() : null;
+    }
+
+    private void refreshAsync(Key key, boolean tenantScoped, Supplier<Long> exactCount) {
+        // Já existe uma contagem em andamento para a mesma chave
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            // O executor padrão propaga o tenant da requisição (TenantTaskDecorator)
+            taskExecutor.execute(() -> {
+                try {
+                    Long count = transactionTemplate.execute(status -> {
+                        // Fora de uma chamada de serviço o aspecto não é acionado: ativa os filtros na sessão da transação
+                        if (tenantScoped || TenantContext.hasTenant()) {
+                            tenantFilterAspect.activateTenantFilter();
+                        }
+                        return exactCount.get();
+                    });
+                    if (count != null) {
+                        counts.put(key, new CachedCount(count, System.nanoTime()));
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao atualizar a contagem aproximada de {}: {}", key.table(), e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())));
+            postgres = result;
+        }
+        return result;
+    }
+}
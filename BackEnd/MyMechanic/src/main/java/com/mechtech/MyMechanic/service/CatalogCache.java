@@ -0,0 +1,121 @@
+package com.mechtech.MyMechanic.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mechtech.MyMechanic.multiTenants.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Cache em memória, por tenant, dos ids de catálogo (marcas, modelos e funções) já conferidos
+// para o tenant, usados como referência a cada veículo, modelo e funcionário criado. Uma região por tipo,
+// limitada por tamanho e TTL. Guarda só o id, nunca a entidade: instâncias gerenciadas não podem ser
+// compartilhadas entre sessões, e os dados já ficam no cache de segundo nível.
+// Métricas: cache.gets{cache=catalog.<região>, result=hit|miss}, cache.size, cache.evictions (/actuator/metrics).
+// As remoções são repassadas às outras instâncias pelo InvalidationBus (entidade = nome da região).
+@Component
+public class CatalogCache {
+
+    private record Key(long tenantId, Object id) {
+    }
+
+    private final boolean enabled;
+    private final long maxEntries;
+    private final Duration ttl;
+    private final MeterRegistry meterRegistry;
+    private final InvalidationBus invalidationBus;
+    private final Map<String, Cache<Key, Boolean>> regions = new ConcurrentHashMap<>();
+
+    public CatalogCache(MeterRegistry meterRegistry, InvalidationBus invalidationBus,
+                        @Value("${app.catalog-cache.enabled:true}") boolean enabled,
+                        @Value("${app.catalog-cache.max-entries:10000}") long maxEntries,
+                        @Value("${app.catalog-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.invalidationBus = invalidationBus;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        // Empresa alterada em outra instância (ex.: desativada): descarta o catálogo dela
+        invalidationBus.subscribe(InvalidationBus.TENANT, invalidation ->
+                regions.values().forEach(cache -> removeTenant(cache, invalidation.tenantId())));
+    }
+
+    // Sem tenant no contexto (jobs, login) o cache não é usado
+    public boolean contains(String region, Object id) {
+        if (!enabled || !TenantContext.hasTenant()) {
+            return false;
+        }
+        return region(region).getIfPresent(new Key(TenantContext.getTenantId(), id)) != null;
+    }
+
+    // Chamado depois da validação de tenant do registro
+    public void put(String region, Object id) {
+        if (enabled && TenantContext.hasTenant()) {
+            region(region).put(new Key(TenantContext.getTenantId(), id), Boolean.TRUE);
+        }
+    }
+
+    // Chamado nas alterações e exclusões: remove após o commit, para que uma leitura concorrente
+    // não recoloque no cache o estado anterior à transação
+    public void evictAfterCommit(String region, Long tenantId, Object id) {
+        long tenant = tenantOf(tenantId);
+        afterCommit(() -> region(region).invalidate(new Key(tenant, id)));
+        invalidationBus.publishAfterCommit(region, tenant, id);
+    }
+
+    private Cache<Key, Boolean> region(String name) {
+        return regions.computeIfAbsent(name, this::createRegion);
+    }
+
+    private Cache<Key, Boolean> createRegion(String name) {
+        Cache<Key, Boolean> cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "catalog." + name);
+        // Ids de catálogo são Long; no aviso vêm como texto
+        invalidationBus.subscribe(name, invalidation -> {
+            if (invalidation.id() == null) {
+                removeTenant(cache, invalidation.tenantId());
+            } else {
+                cache.invalidate(new Key(invalidation.tenantId(), Long.valueOf(invalidation.id())));
+            }
+        });
+        return cache;
+    }
+
+    // NO_TENANT: avisos perdidos durante uma reconexão, esvazia a região
+    private static void removeTenant(Cache<Key, Boolean> cache, long tenantId) {
+        if (tenantId == TenantContext.NO_TENANT) {
+            cache.invalidateAll();
+        } else {
+            cache.asMap().keySet().removeIf(key -> key.tenantId() == tenantId);
+        }
+    }
+
+    // Entidades recebidas do controller podem vir sem tenantId preenchido
+    private static long tenantOf(Long tenantId) {
+        return tenantId != null ? tenantId : TenantContext.getTenantId();
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+}
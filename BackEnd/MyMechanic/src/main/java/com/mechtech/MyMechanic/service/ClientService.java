@@ -2,34 +2,53 @@ package com.mechtech.MyMechanic.service;
 
 import com.mechtech.MyMechanic.entity.Client;
 import com.mechtech.MyMechanic.exception.EntityNotFoundException;
+import com.mechtech.MyMechanic.exception.UniqueConstraintMessages;
 import com.mechtech.MyMechanic.exception.UniqueConstraintViolationException;
 import com.mechtech.MyMechanic.multiTenants.TenantContext;
 import com.mechtech.MyMechanic.repository.ClientRepository;
 import com.mechtech.MyMechanic.repository.projection.ClientProjection;
 import com.mechtech.MyMechanic.repository.specification.ClientSpecification;
+import com.mechtech.MyMechanic.util.KeysetCursor;
 import com.mechtech.MyMechanic.util.ValidationUtils;
+import com.mechtech.MyMechanic.web.dto.suggestion.SuggestionDto;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ClientService extends AbstractTenantAwareService<Client, Long, ClientRepository> {
 
+    // Ordem de paginação por cursor: alfabética, id como desempate
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.ASC, "name", "id");
+    private static final Map<String, Class<?>> KEYSET_KEYS = Map.of("name", String.class, "id", Long.class);
+
     private final VehicleService vehicleService;
     private final ClientRepository clientRepository;
-    private final ProjectionFactory projectionFactory;
+    private final ApproximateCountService approximateCountService;
+    private final TextSearchService textSearchService;
+    private final SuggestionService suggestionService;
+    private final DashboardService dashboardService;
 
     public ClientService(ClientRepository repository, VehicleService vehicleService,
-                         ClientRepository clientRepository, ProjectionFactory projectionFactory) {
+                         ClientRepository clientRepository,
+                         ApproximateCountService approximateCountService, TextSearchService textSearchService,
+                         SuggestionService suggestionService, DashboardService dashboardService) {
         super(repository);
         this.vehicleService = vehicleService;
         this.clientRepository = clientRepository;
-        this.projectionFactory = projectionFactory;
+        this.approximateCountService = approximateCountService;
+        this.textSearchService = textSearchService;
+        this.suggestionService = suggestionService;
+        this.dashboardService = dashboardService;
     }
 
 
@@ -39,18 +58,21 @@ public class ClientService extends AbstractTenantAwareService<Client, Long, Clie
         validateClient(client);
 
         try {
-            client.setTenantId(TenantContext.getTenantId());
-            return repository.save(client);
-        } catch (Exception ex) {
-            throw new UniqueConstraintViolationException(
+            client.setTenantId(TenantContext.requireTenantId());
+            // Com ids de sequência o INSERT só iria no commit, fora deste catch: o flush o antecipa
+            Client savedClient = repository.saveAndFlush(client);
+            suggestionService.indexClient(savedClient);
+            dashboardService.clientsChanged(savedClient.getTenantId(), 1);
+            return savedClient;
+        } catch (DataIntegrityViolationException ex) {
+            throw UniqueConstraintMessages.toException(ex,
                    "Erro de violação de restrição de unicidade: " + ex.getMessage());
         }
     }
 
     @Transactional(readOnly = true)
     public Page<ClientProjection> findAll(Pageable pageable) {
-        Page<Client> clientsPage = repository.findAll(pageable);
-        return clientsPage.map(client -> projectionFactory.createProjection(ClientProjection.class, client));
+        return repository.findProjected(null, ClientProjection.SELECTION, pageable);
     }
 
     @Transactional(readOnly = true)
@@ -76,7 +98,9 @@ public class ClientService extends AbstractTenantAwareService<Client, Long, Clie
 
         validateClient(existingClient);
 
-        return repository.save(existingClient);
+        Client savedClient = repository.save(existingClient);
+        suggestionService.indexClient(savedClient);
+        return savedClient;
     }
 
     @Transactional
@@ -85,7 +109,13 @@ public class ClientService extends AbstractTenantAwareService<Client, Long, Clie
             throw new EntityNotFoundException("Cliente nao encontrado");
         }
         validateTenant(client);
+        // Os veículos do cliente são excluídos em cascata
+        long vehicles = client.getVehicles() == null ? 0
+                : client.getVehicles().stream().filter(vehicle -> !vehicle.isDeleted()).count();
         repository.delete(client);
+        suggestionService.remove(SuggestionDto.Type.CLIENT, client.getId(), client.getTenantId());
+        dashboardService.clientsChanged(client.getTenantId(), -1);
+        dashboardService.vehiclesChanged(client.getTenantId(), -vehicles);
     }
 
     @Transactional(readOnly = true)
@@ -98,24 +128,40 @@ public class ClientService extends AbstractTenantAwareService<Client, Long, Clie
 
     @Transactional(readOnly = true)
     public Page<ClientProjection> search(String searchTerm, Pageable pageable) {
-        Specification<Client> spec = ClientSpecification.search(searchTerm);
-        Page<Client> clientsPage = repository.findAll(spec, pageable);
-        return clientsPage.map(client -> projectionFactory.createProjection(ClientProjection.class, client));
+        Specification<Client> spec = textSearchService.search(searchTerm, ClientSpecification::search);
+        return repository.findProjected(spec, ClientProjection.SELECTION, pageable);
+    }
+
+    // Paginação por keyset: custo constante em qualquer página e sem COUNT(*)
+    @Transactional(readOnly = true)
+    public Window<ClientProjection> scroll(String searchTerm, String cursor, int size) {
+        Specification<Client> spec = textSearchService.search(searchTerm, ClientSpecification::search);
+        return repository.scrollProjected(spec, ClientProjection.SELECTION, KEYSET_SORT,
+                KeysetCursor.clampSize(size), KeysetCursor.decode(cursor, KEYSET_KEYS));
     }
 
+    // Modo sem contagem (?count=false): busca uma linha a mais em vez de executar o COUNT(*)
+    @Transactional(readOnly = true)
+    public Slice<ClientProjection> slice(String searchTerm, Pageable pageable) {
+        Specification<Client> spec = textSearchService.search(searchTerm, ClientSpecification::search);
+        return repository.findProjectedSlice(spec, ClientProjection.SELECTION, pageable);
+    }
+
+    public Long approximateTotal(String searchTerm) {
+        return approximateCountService.estimate("clients", true, searchTerm,
+                () -> repository.count(textSearchService.search(searchTerm, ClientSpecification::search)));
+    }
+
+    // CPF, email e telefone verificados em uma única consulta
     private void validateClient(Client client){
-        Optional<Client> existingCpfClient = clientRepository.findByCpf(client.getCpf());
-        if (existingCpfClient.isPresent() && !existingCpfClient.get().getId().equals(client.getId())){
+        Set<String> taken = repository.findTakenFields(client, "cpf", "email", "phone");
+        if (taken.contains("cpf")){
             throw new UniqueConstraintViolationException("CPF já cadastrado");
         }
-
-        Optional<Client> existingEmailClient = clientRepository.findByEmail(client.getEmail());
-        if (existingEmailClient.isPresent() && !existingEmailClient.get().getId().equals(client.getId())){
+        if (taken.contains("email")){
             throw new UniqueConstraintViolationException("Email já cadastrado");
         }
-
-        Optional<Client> existingPhoneClient = clientRepository.findByPhone(client.getPhone());
-        if (existingPhoneClient.isPresent() && !existingPhoneClient.get().getId().equals(client.getId())){
+        if (taken.contains("phone")){
             throw new UniqueConstraintViolationException("Telefone já cadastrado");
         }
     }
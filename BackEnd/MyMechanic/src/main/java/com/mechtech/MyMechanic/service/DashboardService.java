@@ -1,41 +1,271 @@
 package com.mechtech.MyMechanic.service;
 
+import com.mechtech.MyMechanic.entity.DashboardCounters;
 import com.mechtech.MyMechanic.entity.Invoice;
 import com.mechtech.MyMechanic.entity.ServiceOrder;
+import com.mechtech.MyMechanic.multiTenants.CrossTenant;
+import com.mechtech.MyMechanic.multiTenants.TenantContext;
+import com.mechtech.MyMechanic.multiTenants.TenantFilterAspect;
 import com.mechtech.MyMechanic.repository.ClientRepository;
+import com.mechtech.MyMechanic.repository.DashboardCountersRepository;
 import com.mechtech.MyMechanic.repository.InvoiceRepository;
 import com.mechtech.MyMechanic.repository.ServiceOrderRepository;
 import com.mechtech.MyMechanic.repository.VehicleRepository;
 import com.mechtech.MyMechanic.web.dto.dashboard.DashboardStatsDto;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.temporal.TemporalAdjusters;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 
+// Painel lido de uma linha por tenant (dashboard_counters) em vez de cinco consultas a cada atualização.
+// Os fluxos de escrita informam as variações; elas são somadas por transação e aplicadas com um UPDATE
+// atômico no commit (a linha fica travada só nesse instante). A reconciliação refaz as contagens na
+// primeira leitura do tenant, na virada do mês e periodicamente, corrigindo qualquer desvio.
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class DashboardService {
 
+    // Estado de uma OS que entra no painel; null para OS inexistente (criação/exclusão)
+    public record OrderState(ServiceOrder.ServiceOrderStatus status, LocalDateTime exitDate, BigDecimal totalCost) {
+
+        public static OrderState of(ServiceOrder serviceOrder) {
+            return new OrderState(serviceOrder.getStatus(), serviceOrder.getExitDate(), serviceOrder.getTotalCost());
+        }
+    }
+
+    // Variações de um tenant acumuladas na transação
+    private static final class Delta {
+        private long clients;
+        private long vehicles;
+        private long activeOrders;
+        private long pendingInvoices;
+        private final Map<YearMonth, BigDecimal> revenueByMonth = new HashMap<>();
+    }
+
     private final ClientRepository clientRepository;
     private final VehicleRepository vehicleRepository;
     private final ServiceOrderRepository serviceOrderRepository;
     private final InvoiceRepository invoiceRepository;
+    private final DashboardCountersRepository countersRepository;
+    private final TenantFilterAspect tenantFilterAspect;
+    private final TransactionTemplate transactionTemplate;
+
+    public DashboardService(ClientRepository clientRepository, VehicleRepository vehicleRepository,
+                            ServiceOrderRepository serviceOrderRepository, InvoiceRepository invoiceRepository,
+                            DashboardCountersRepository countersRepository, TenantFilterAspect tenantFilterAspect,
+                            PlatformTransactionManager transactionManager) {
+        this.clientRepository = clientRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.serviceOrderRepository = serviceOrderRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.countersRepository = countersRepository;
+        this.tenantFilterAspect = tenantFilterAspect;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
-    @Transactional(readOnly = true)
     public DashboardStatsDto getStats() {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startOfMonth = now.with(TemporalAdjusters.firstDayOfMonth()).withHour(0).withMinute(0);
-        LocalDateTime endOfMonth = now.with(TemporalAdjusters.lastDayOfMonth()).withHour(23).withMinute(59);
+        // Sem tenant (administrador da plataforma): contagens sobre todos os tenants, como antes
+        if (!TenantContext.hasTenant()) {
+            return transactionTemplate.execute(status -> {
+                tenantFilterAspect.activateTenantFilter();
+                return toDto(count(TenantContext.NO_TENANT));
+            });
+        }
+        long tenantId = TenantContext.getTenantId();
+        int month = monthKey(currentMonth());
+        DashboardCounters counters = countersRepository.findById(tenantId)
+                .filter(row -> row.getRevenueMonth() == month)
+                .orElseGet(() -> reconcile(tenantId));
+        return toDto(counters);
+    }
+
+    public void clientsChanged(Long tenantId, long delta) {
+        change(tenantId, d -> d.clients += delta, delta != 0);
+    }
+
+    public void vehiclesChanged(Long tenantId, long delta) {
+        change(tenantId, d -> d.vehicles += delta, delta != 0);
+    }
+
+    public void invoiceChanged(Long tenantId, Invoice.PaymentStatus before, Invoice.PaymentStatus after) {
+        long delta = pending(after) - pending(before);
+        change(tenantId, d -> d.pendingInvoices += delta, delta != 0);
+    }
+
+    public void serviceOrderChanged(Long tenantId, OrderState before, OrderState after) {
+        long active = active(after) - active(before);
+        change(tenantId, d -> d.activeOrders += active, active != 0);
+
+        // Faturamento: sai a contribuição anterior (no mês da saída anterior) e entra a nova
+        if (!Objects.equals(revenueKey(before), revenueKey(after)) || !sameCost(before, after)) {
+            change(tenantId, d -> {
+                addRevenue(d, before, -1);
+                addRevenue(d, after, 1);
+            }, true);
+        }
+    }
+
+    // Corrige o desvio dos tenants que já têm contadores (os demais são criados na primeira leitura)
+    @CrossTenant
+    @Scheduled(cron = "${app.dashboard.reconcile-cron:0 */10 * * * *}")
+    public void reconcileAll() {
+        for (Long tenantId : countersRepository.findAllTenantIds()) {
+            try {
+                TenantContext.setTenantId(tenantId);
+                reconcile(tenantId);
+            } catch (RuntimeException ex) {
+                log.warn("Falha ao reconciliar os contadores do painel do tenant {}: {}", tenantId, ex.getMessage());
+            } finally {
+                TenantContext.clear();
+            }
+        }
+    }
+
+    // Trava a linha antes de contar: deltas de transações ainda abertas esperam e são somados depois,
+    // os já confirmados aparecem nas contagens. Duas criações simultâneas: a perdedora relê a linha.
+    private DashboardCounters reconcile(long tenantId) {
+        try {
+            return transactionTemplate.execute(status -> {
+                tenantFilterAspect.activateTenantFilter();
+                DashboardCounters current = countersRepository.findByTenantIdForUpdate(tenantId).orElse(null);
+                DashboardCounters counted = count(tenantId);
+                if (current != null && current.getRevenueMonth() == counted.getRevenueMonth()
+                        && drifted(current, counted)) {
+                    log.info("Contadores do painel do tenant {} corrigidos na reconciliação", tenantId);
+                }
+                return countersRepository.save(counted);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            return countersRepository.findById(tenantId).orElseThrow(() -> ex);
+        }
+    }
+
+    private DashboardCounters count(long tenantId) {
+        YearMonth month = currentMonth();
+        LocalDateTime startOfMonth = month.atDay(1).atStartOfDay();
+        LocalDateTime endOfMonth = month.atEndOfMonth().atTime(23, 59);
+
+        DashboardCounters counters = new DashboardCounters();
+        counters.setTenantId(tenantId);
+        counters.setClientsCount(clientRepository.count());
+        counters.setVehiclesCount(vehicleRepository.count());
+        counters.setActiveOrdersCount(serviceOrderRepository.countByStatus(ServiceOrder.ServiceOrderStatus.EM_PROGRESSO));
+        counters.setPendingInvoicesCount(invoiceRepository.countByPaymentStatus(Invoice.PaymentStatus.PENDING));
+        counters.setRevenueMonth(monthKey(month));
+        counters.setMonthlyRevenue(serviceOrderRepository.sumTotalCostByExitDateBetween(startOfMonth, endOfMonth));
+        counters.setReconciledAt(LocalDateTime.now());
+        return counters;
+    }
+
+    private void change(Long entityTenantId, Consumer<Delta> change, boolean changed) {
+        long tenantId = entityTenantId != null ? entityTenantId : TenantContext.getTenantId();
+        if (!changed || tenantId == TenantContext.NO_TENANT) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Delta delta = new Delta();
+            change.accept(delta);
+            transactionTemplate.executeWithoutResult(status -> apply(tenantId, delta));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<Long, Delta> pending = (Map<Long, Delta>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<Long, Delta> deltas = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    deltas.forEach(DashboardService.this::apply);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DashboardService.this);
+                }
+            });
+            pending = deltas;
+        }
+        change.accept(pending.computeIfAbsent(tenantId, id -> new Delta()));
+    }
+
+    private void apply(Long tenantId, Delta delta) {
+        if (delta.clients != 0 || delta.vehicles != 0 || delta.activeOrders != 0 || delta.pendingInvoices != 0) {
+            countersRepository.addCounts(tenantId, delta.clients, delta.vehicles, delta.activeOrders, delta.pendingInvoices);
+        }
+        delta.revenueByMonth.forEach((month, amount) -> {
+            if (amount.signum() != 0) {
+                countersRepository.addRevenue(tenantId, monthKey(month), amount);
+            }
+        });
+    }
+
+    private static void addRevenue(Delta delta, OrderState state, int sign) {
+        YearMonth month = revenueKey(state);
+        if (month != null && state.totalCost() != null) {
+            BigDecimal amount = sign < 0 ? state.totalCost().negate() : state.totalCost();
+            delta.revenueByMonth.merge(month, amount, BigDecimal::add);
+        }
+    }
+
+    // Mês em que a OS entra no faturamento (completa e com data de saída)
+    private static YearMonth revenueKey(OrderState state) {
+        if (state == null || state.status() != ServiceOrder.ServiceOrderStatus.COMPLETO || state.exitDate() == null) {
+            return null;
+        }
+        return YearMonth.from(state.exitDate());
+    }
+
+    private static boolean sameCost(OrderState before, OrderState after) {
+        BigDecimal a = before != null ? before.totalCost() : null;
+        BigDecimal b = after != null ? after.totalCost() : null;
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    private static long active(OrderState state) {
+        return state != null && state.status() == ServiceOrder.ServiceOrderStatus.EM_PROGRESSO ? 1 : 0;
+    }
+
+    private static long pending(Invoice.PaymentStatus status) {
+        return status == Invoice.PaymentStatus.PENDING ? 1 : 0;
+    }
+
+    private static boolean drifted(DashboardCounters current, DashboardCounters counted) {
+        return current.getClientsCount() != counted.getClientsCount()
+                || current.getVehiclesCount() != counted.getVehiclesCount()
+                || current.getActiveOrdersCount() != counted.getActiveOrdersCount()
+                || current.getPendingInvoicesCount() != counted.getPendingInvoicesCount()
+                || current.getMonthlyRevenue().compareTo(counted.getMonthlyRevenue()) != 0;
+    }
+
+    private static YearMonth currentMonth() {
+        return YearMonth.now();
+    }
+
+    // Valor da coluna revenue_month (aaaamm)
+    private static int monthKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
 
+    private static DashboardStatsDto toDto(DashboardCounters counters) {
         return DashboardStatsDto.builder()
-                .clientsCount(clientRepository.count())
-                .vehiclesCount(vehicleRepository.count())
-                .activeOrdersCount(serviceOrderRepository.countByStatus(ServiceOrder.ServiceOrderStatus.EM_PROGRESSO))
-                .pendingInvoicesCount(invoiceRepository.countByPaymentStatus(Invoice.PaymentStatus.PENDING))
-                .monthlyRevenue(serviceOrderRepository.sumTotalCostByExitDateBetween(startOfMonth, endOfMonth))
+                .clientsCount(counters.getClientsCount())
+                .vehiclesCount(counters.getVehiclesCount())
+                .activeOrdersCount(counters.getActiveOrdersCount())
+                .pendingInvoicesCount(counters.getPendingInvoicesCount())
+                .monthlyRevenue(counters.getMonthlyRevenue())
                 .build();
     }
-}
\ No newline at end of file
+}
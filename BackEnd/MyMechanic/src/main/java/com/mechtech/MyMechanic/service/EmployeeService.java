@@ -12,40 +12,39 @@ import com.mechtech.MyMechanic.util.ValidationUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Set;
+
 @Service
 public class EmployeeService extends AbstractTenantAwareService<Employee, Long, EmployeeRepository> {
 
-    private final ProjectionFactory projectionFactory;
-
-    public EmployeeService(EmployeeRepository repository, ProjectionFactory projectionFactory) {
+    public EmployeeService(EmployeeRepository repository) {
         super(repository);
-        this.projectionFactory = projectionFactory;
     }
 
     @Transactional
     public Employee create(Employee employee) {
         ValidationUtils.validateCpf(employee.getCpf());
-        if (repository.existsByCpf(employee.getCpf())){
+        // CPF, email e telefone verificados em uma única consulta
+        Set<String> taken = repository.findTakenFields(employee, "cpf", "email", "phone");
+        if (taken.contains("cpf")){
             throw new UniqueConstraintViolationException("Já existe um funcionário com o CPF informado.");
         }
-        if (repository.existsByEmail(employee.getEmail())){
+        if (taken.contains("email")){
             throw new UniqueConstraintViolationException("Já existe um funcionário com o email informado.");
         }
-        if (repository.existsByPhone(employee.getPhone())){
+        if (taken.contains("phone")){
             throw new UniqueConstraintViolationException("Já existe um funcionário com o telefone informado.");
         }
-        employee.setTenantId(TenantContext.getTenantId());
+        employee.setTenantId(TenantContext.requireTenantId());
         return repository.save(employee);
     }
 
     @Transactional(readOnly = true)
     public Page<EmployeeProjection> findAll(Pageable pageable) {
-        Page<Employee> employeesPage = repository.findAll(pageable);
-        return employeesPage.map(employee -> projectionFactory.createProjection(EmployeeProjection.class, employee));
+        return repository.findProjected(null, EmployeeProjection.SELECTION, pageable);
     }
 
     @Transactional
@@ -81,7 +80,6 @@ public class EmployeeService extends AbstractTenantAwareService<Employee, Long,
     @Transactional(readOnly = true)
     public Page<EmployeeProjection> search(String searchTerm, Pageable pageable) {
         Specification<Employee> spec = EmployeeSpecification.search(searchTerm);
-        Page<Employee> employeesPage = repository.findAll(spec, pageable);
-        return employeesPage.map(employee -> projectionFactory.createProjection(EmployeeProjection.class, employee));
+        return repository.findProjected(spec, EmployeeProjection.SELECTION, pageable);
     }
 }
@@ -0,0 +1,259 @@
+package com.mechtech.MyMechanic.service;
+
+import com.mechtech.MyMechanic.multiTenants.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Invalidação dos caches em memória entre instâncias, pelo LISTEN/NOTIFY do PostgreSQL.
+// Quem publica já atualizou os próprios caches: o barramento só avisa as outras instâncias.
+// As invalidações de uma transação são agrupadas (sem repetição) e enviadas com pg_notify na própria
+// transação, então só chegam às outras instâncias se ela for confirmada. Cada instância escuta o canal
+// em uma conexão dedicada, fora do pool, e aplica em lote o que chegar na mesma janela.
+@Slf4j
+@Component
+public class InvalidationBus {
+
+    // Entidade, tenant e id invalidados. id nulo = tudo do tenant; tenant NO_TENANT = todos os tenants
+    public record Invalidation(String entity, long tenantId, String id) {
+    }
+
+    public static final String TENANT = "tenant";
+
+    private static final String CHANNEL = "app_cache_invalidation";
+    // O payload do NOTIFY é limitado a 8000 bytes
+    static final int MAX_PAYLOAD = 7000;
+    private static final long POLL_MILLIS = 5_000;
+    private static final long COALESCE_MILLIS = 50;
+    private static final long RECONNECT_MILLIS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<Invalidation>>> subscribers = new ConcurrentHashMap<>();
+    private final Counter published;
+    private final Counter received;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public InvalidationBus(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                           @Value("${app.cache-invalidation.enabled:true}") boolean enabled,
+                           @Value("${spring.datasource.url:}") String url,
+                           @Value("${spring.datasource.username:}") String username,
+                           @Value("${spring.datasource.password:}") String password) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.published = meterRegistry.counter("cache.invalidation.published");
+        this.received = meterRegistry.counter("cache.invalidation.received");
+    }
+
+    public void subscribe(String entity, Consumer<Invalidation> handler) {
+        subscribers.computeIfAbsent(entity, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    public void publishAfterCommit(String entity, Long tenantId, Object id) {
+        if (!enabled) {
+            return;
+        }
+        long tenant = tenantId != null ? tenantId : TenantContext.getTenantId();
+        Invalidation invalidation = new Invalidation(entity, tenant, id != null ? id.toString() : null);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(List.of(invalidation));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Invalidation> pending = (Set<Invalidation>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Invalidation> batch = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    send(batch);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(InvalidationBus.this);
+                }
+            });
+            pending = batch;
+        }
+        pending.add(invalidation);
+    }
+
+    // Na transação corrente (o NOTIFY é entregue no commit) ou em autocommit, fora de transação
+    private void send(Collection<Invalidation> invalidations) {
+        StringBuilder payload = new StringBuilder(nodeId);
+        int bytes = nodeId.length();
+        for (Invalidation invalidation : coalesce(invalidations)) {
+            String line = invalidation.entity() + '\t' + invalidation.tenantId() + '\t'
+                    + (invalidation.id() != null ? invalidation.id() : "");
+            int lineBytes = line.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (bytes + lineBytes > MAX_PAYLOAD) {
+                notify(payload.toString());
+                payload.setLength(0);
+                payload.append(nodeId);
+                bytes = nodeId.length();
+            }
+            payload.append('\n').append(line);
+            bytes += lineBytes;
+            published.increment();
+        }
+        if (payload.length() > nodeId.length()) {
+            notify(payload.toString());
+        }
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, CHANNEL, payload);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    reconnected();
+                }
+                reconnecting = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) POLL_MILLIS);
+                    if (notifications == null || notifications.length == 0) {
+                        continue;
+                    }
+                    List<String> payloads = new ArrayList<>();
+                    do {
+                        for (PGNotification notification : notifications) {
+                            payloads.add(notification.getParameter());
+                        }
+                        notifications = pgConnection.getNotifications((int) COALESCE_MILLIS);
+                    } while (notifications != null && notifications.length > 0);
+                    receive(payloads);
+                }
+            } catch (SQLException ex) {
+                if (running) {
+                    log.warn("Conexão de invalidação de cache perdida, reconectando em {} ms: {}", RECONNECT_MILLIS, ex.getMessage());
+                    sleep();
+                }
+            }
+        }
+    }
+
+    // Avisos recebidos na mesma janela, aplicados em lote
+    void receive(List<String> payloads) {
+        List<Invalidation> batch = new ArrayList<>();
+        payloads.forEach(payload -> parse(payload, batch));
+        dispatch(coalesce(batch));
+    }
+
+    // Avisos enviados enquanto a conexão estava fora foram perdidos: descarta tudo
+    void reconnected() {
+        dispatch(subscribers.keySet().stream()
+                .map(entity -> new Invalidation(entity, TenantContext.NO_TENANT, null))
+                .toList());
+    }
+
+    // Ignora os avisos da própria instância
+    private void parse(String payload, List<Invalidation> batch) {
+        String[] lines = payload.split("\n");
+        if (lines[0].equals(nodeId)) {
+            return;
+        }
+        for (int i = 1; i < lines.length; i++) {
+            String[] fields = lines[i].split("\t", -1);
+            batch.add(new Invalidation(fields[0], Long.parseLong(fields[1]), fields[2].isEmpty() ? null : fields[2]));
+        }
+    }
+
+    private void dispatch(Collection<Invalidation> invalidations) {
+        for (Invalidation invalidation : invalidations) {
+            received.increment();
+            for (Consumer<Invalidation> handler : subscribers.getOrDefault(invalidation.entity(), List.of())) {
+                try {
+                    handler.accept(invalidation);
+                } catch (RuntimeException ex) {
+                    log.error("Falha ao aplicar invalidação {}", invalidation, ex);
+                }
+            }
+        }
+    }
+
+    // Sem repetições e sem ids de um tenant cuja entidade inteira já foi invalidada
+    private static Collection<Invalidation> coalesce(Collection<Invalidation> invalidations) {
+        Set<Invalidation> wholeTenant = new HashSet<>();
+        for (Invalidation invalidation : invalidations) {
+            if (invalidation.id() == null) {
+                wholeTenant.add(invalidation);
+            }
+        }
+        Set<Invalidation> result = new LinkedHashSet<>();
+        for (Invalidation invalidation : invalidations) {
+            if (invalidation.id() == null
+                    || !wholeTenant.contains(new Invalidation(invalidation.entity(), invalidation.tenantId(), null))) {
+                result.add(invalidation);
+            }
+        }
+        return result;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(RECONNECT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -3,31 +3,46 @@ package com.mechtech.MyMechanic.service;
 import com.mechtech.MyMechanic.entity.Invoice;
 import com.mechtech.MyMechanic.entity.ServiceOrder;
 import com.mechtech.MyMechanic.exception.BusinessRuleException;
+import com.mechtech.MyMechanic.exception.EntityNotFoundException;
 import com.mechtech.MyMechanic.repository.InvoiceRepository;
 import com.mechtech.MyMechanic.repository.projection.InvoiceProjection;
 import com.mechtech.MyMechanic.repository.specification.InvoiceSpecification;
+import com.mechtech.MyMechanic.util.KeysetCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
 
 @Service
 public class InvoiceService extends AbstractTenantAwareService<Invoice, Long, InvoiceRepository> {
 
+    // Ordem de paginação por cursor: mais recentes primeiro, id como desempate
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "issueDate", "id");
+    private static final Map<String, Class<?>> KEYSET_KEYS = Map.of("issueDate", LocalDateTime.class, "id", Long.class);
+
     private final ServiceOrderService serviceOrderService;
     private final PdfGenerationService pdfGenerationService;
-    private final ProjectionFactory projectionFactory;
+    private final ApproximateCountService approximateCountService;
+    private final TextSearchService textSearchService;
+    private final DashboardService dashboardService;
 
-    public InvoiceService(InvoiceRepository repository, ServiceOrderService serviceOrderService, PdfGenerationService pdfGenerationService, ProjectionFactory projectionFactory) {
+    public InvoiceService(InvoiceRepository repository, ServiceOrderService serviceOrderService, PdfGenerationService pdfGenerationService,
+                          ApproximateCountService approximateCountService, TextSearchService textSearchService,
+                          DashboardService dashboardService) {
         super(repository);
         this.serviceOrderService = serviceOrderService;
         this.pdfGenerationService = pdfGenerationService;
-        this.projectionFactory = projectionFactory;
+        this.approximateCountService = approximateCountService;
+        this.textSearchService = textSearchService;
+        this.dashboardService = dashboardService;
     }
 
     @Transactional
@@ -57,25 +72,48 @@ public class InvoiceService extends AbstractTenantAwareService<Invoice, Long, In
                 LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")));
         invoice.setInvoiceNumber(invoiceNumber);
 
-        return repository.save(invoice);
+        Invoice savedInvoice = repository.save(invoice);
+        dashboardService.invoiceChanged(savedInvoice.getTenantId(), null, savedInvoice.getPaymentStatus());
+        return savedInvoice;
     }
 
     @Transactional(readOnly = true)
     public Page<InvoiceProjection> findAll(Pageable pageable) {
-        Page<Invoice> invoicesPage = repository.findAll(pageable);
-        return invoicesPage.map(invoice -> projectionFactory.createProjection(InvoiceProjection.class, invoice));
+        return repository.findProjected(null, InvoiceProjection.SELECTION, pageable);
     }
 
     @Transactional(readOnly = true)
     public Page<InvoiceProjection> search(String searchTerm, Pageable pageable) {
-        Specification<Invoice> spec = InvoiceSpecification.search(searchTerm);
-        Page<Invoice> invoicesPage = repository.findAll(spec, pageable);
-        return invoicesPage.map(invoice -> projectionFactory.createProjection(InvoiceProjection.class, invoice));
+        Specification<Invoice> spec = textSearchService.search(searchTerm, InvoiceSpecification::search);
+        return repository.findProjected(spec, InvoiceProjection.SELECTION, pageable);
+    }
+
+    // Paginação por keyset: custo constante em qualquer página e sem COUNT(*)
+    @Transactional(readOnly = true)
+    public Window<InvoiceProjection> scroll(String searchTerm, String cursor, int size) {
+        Specification<Invoice> spec = textSearchService.search(searchTerm, InvoiceSpecification::search);
+        return repository.scrollProjected(spec, InvoiceProjection.SELECTION, KEYSET_SORT,
+                KeysetCursor.clampSize(size), KeysetCursor.decode(cursor, KEYSET_KEYS));
+    }
+
+    // Modo sem contagem (?count=false): busca uma linha a mais em vez de executar o COUNT(*)
+    @Transactional(readOnly = true)
+    public Slice<InvoiceProjection> slice(String searchTerm, Pageable pageable) {
+        Specification<Invoice> spec = textSearchService.search(searchTerm, InvoiceSpecification::search);
+        return repository.findProjectedSlice(spec, InvoiceProjection.SELECTION, pageable);
+    }
+
+    public Long approximateTotal(String searchTerm) {
+        return approximateCountService.estimate("invoice", true, searchTerm,
+                () -> repository.count(textSearchService.search(searchTerm, InvoiceSpecification::search)));
     }
 
     @Transactional(readOnly = true)
     public byte[] getInvoiceAsPdf(Long invoiceId) {
-        Invoice invoice = findById(invoiceId);
+        Invoice invoice = repository.findForPdfById(invoiceId)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        String.format("Fatura com id '%s' não encontrada.", invoiceId)));
+        validateTenant(invoice);
         return pdfGenerationService.generateInvoicePdf(invoice);
     }
 
@@ -96,7 +134,10 @@ public class InvoiceService extends AbstractTenantAwareService<Invoice, Long, In
             // Se o status for alterado para qualquer coisa que não seja PAGO, remove a data.
             invoice.setPaymentDate(null);
         }
+        Invoice.PaymentStatus previousStatus = invoice.getPaymentStatus();
         invoice.setPaymentStatus(newStatus);
-        return repository.save(invoice);
+        Invoice savedInvoice = repository.save(invoice);
+        dashboardService.invoiceChanged(savedInvoice.getTenantId(), previousStatus, newStatus);
+        return savedInvoice;
     }
 }
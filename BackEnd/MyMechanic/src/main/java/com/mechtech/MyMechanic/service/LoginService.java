@@ -0,0 +1,150 @@
+package com.mechtech.MyMechanic.service;
+
+import com.mechtech.MyMechanic.entity.User;
+import com.mechtech.MyMechanic.exception.ServiceBusyException;
+import com.mechtech.MyMechanic.jwt.JwtToken;
+import com.mechtech.MyMechanic.jwt.JwtUserDetailsService;
+import com.mechtech.MyMechanic.multiTenants.CrossTenant;
+import com.mechtech.MyMechanic.repository.UserRepository;
+import com.mechtech.MyMechanic.web.dto.user.UserLoginDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+public class LoginService {
+
+    private static final String INVALID_CREDENTIALS = "Credenciais inválidas";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtUserDetailsService jwtUserDetailsService;
+    private final RefreshTokenService refreshTokenService;
+    private final ThreadPoolExecutor passwordExecutor;
+    private final long timeoutMillis;
+
+    // Hash usado quando o e-mail não existe, para que a resposta leve o mesmo tempo de uma senha errada
+    private final String dummyHash;
+
+    public LoginService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                        JwtUserDetailsService jwtUserDetailsService, RefreshTokenService refreshTokenService,
+                        @Value("${security.login.threads:0}") int threads,
+                        @Value("${security.login.queue-capacity:64}") int queueCapacity,
+                        @Value("${security.login.timeout-ms:5000}") long timeoutMillis) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtUserDetailsService = jwtUserDetailsService;
+        this.refreshTokenService = refreshTokenService;
+        this.timeoutMillis = timeoutMillis;
+        this.dummyHash = passwordEncoder.encode("dummy-password");
+
+        // BCrypt é puramente CPU: mais threads que núcleos só aumenta a fila, não a vazão
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.passwordExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-bcrypt-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @CrossTenant
+    public JwtToken login(UserLoginDto dto) {
+        User user = userRepository.findByEmailIgnoringTenant(dto.getEmail()).orElse(null);
+        String storedHash = user != null ? user.getPassword() : dummyHash;
+
+        if (!verifyPassword(dto.getPassword(), storedHash) || user == null) {
+            throw new BadCredentialsException(INVALID_CREDENTIALS);
+        }
+
+        if (passwordEncoder.upgradeEncoding(storedHash)) {
+            rehash(user, dto.getPassword());
+        }
+
+        return issueTokens(user);
+    }
+
+    // Renova a sessão sem passar pelo BCrypt: o refresh token apresentado é rotacionado
+    @CrossTenant
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public JwtToken refresh(String rawRefreshToken) {
+        Long userId = refreshTokenService.consume(rawRefreshToken);
+        User user = userRepository.findById(userId)
+                .filter(u -> !u.isDeleted())
+                .orElseThrow(() -> new BadCredentialsException(INVALID_CREDENTIALS));
+        return issueTokens(user);
+    }
+
+    public void logout(String rawRefreshToken) {
+        refreshTokenService.revoke(rawRefreshToken);
+    }
+
+    private JwtToken issueTokens(User user) {
+        JwtToken jwtToken = jwtUserDetailsService.getTokenAuthenticated(user);
+        jwtToken.setRefreshToken(refreshTokenService.issue(user.getId()));
+        return jwtToken;
+    }
+
+    private boolean verifyPassword(String rawPassword, String storedHash) {
+        return runOnPasswordExecutor(() -> passwordEncoder.matches(rawPassword, storedHash));
+    }
+
+    private void rehash(User user, String rawPassword) {
+        try {
+            user.setPassword(runOnPasswordExecutor(() -> passwordEncoder.encode(rawPassword)));
+            userRepository.save(user);
+            log.info("Hash de senha atualizado para o usuário {}", user.getId());
+        } catch (ServiceBusyException ex) {
+            // O login já foi validado; a atualização do hash fica para o próximo acesso
+            log.debug("Atualização de hash adiada para o usuário {}", user.getId());
+        }
+    }
+
+    private <T> T runOnPasswordExecutor(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = passwordExecutor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            throw new ServiceBusyException("Muitas tentativas de login simultâneas. Tente novamente em instantes.");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw new ServiceBusyException("Tempo de verificação de credenciais esgotado. Tente novamente em instantes.");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ServiceBusyException("Verificação de credenciais interrompida.");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        passwordExecutor.shutdownNow();
+    }
+}
@@ -2,43 +2,44 @@ package com.mechtech.MyMechanic.service;
 
 import com.mechtech.MyMechanic.entity.Part;
 import com.mechtech.MyMechanic.exception.EntityNotFoundException;
-import com.mechtech.MyMechanic.exception.UniqueConstraintViolationException;
+import com.mechtech.MyMechanic.exception.UniqueConstraintMessages;
 import com.mechtech.MyMechanic.multiTenants.TenantContext;
 import com.mechtech.MyMechanic.repository.PartRepository;
 import com.mechtech.MyMechanic.repository.projection.PartProjection;
 import com.mechtech.MyMechanic.repository.specification.PartSpecification;
+import com.mechtech.MyMechanic.web.dto.suggestion.SuggestionDto;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class PartService extends AbstractTenantAwareService<Part, Long, PartRepository> {
 
-    private final ProjectionFactory projectionFactory;
+    private final SuggestionService suggestionService;
 
-    public PartService(PartRepository repository, ProjectionFactory projectionFactory) {
+    public PartService(PartRepository repository, SuggestionService suggestionService) {
         super(repository);
-        this.projectionFactory = projectionFactory;
+        this.suggestionService = suggestionService;
     }
 
     @Transactional
     public Part createPart(Part part) {
         try {
-            part.setTenantId(TenantContext.getTenantId());
-            return repository.save(part);
+            part.setTenantId(TenantContext.requireTenantId());
+            Part savedPart = repository.save(part);
+            suggestionService.indexPart(savedPart);
+            return savedPart;
         } catch (DataIntegrityViolationException ex) {
-            throw new UniqueConstraintViolationException("Codigo ja registrado: " + part.getCode());
+            throw UniqueConstraintMessages.toException(ex, "Codigo ja registrado: " + part.getCode());
         }
     }
 
     @Transactional(readOnly = true)
     public Page<PartProjection> findAll(Pageable pageable) {
-        Page<Part> partsPage = repository.findAll(pageable);
-        return partsPage.map(part -> projectionFactory.createProjection(PartProjection.class, part));
+        return repository.findProjected(null, PartProjection.SELECTION, pageable);
     }
 
     @Transactional
@@ -46,9 +47,11 @@ public class PartService extends AbstractTenantAwareService<Part, Long, PartRepo
         try {
             // Garante que a peça existe e pertence ao tenant antes de salvar
             findById(id);
-            return repository.save(partDetails);
+            Part savedPart = repository.save(partDetails);
+            suggestionService.indexPart(savedPart);
+            return savedPart;
         } catch (DataIntegrityViolationException ex) {
-            throw new UniqueConstraintViolationException("Codigo ja registrado: " + partDetails.getCode());
+            throw UniqueConstraintMessages.toException(ex, "Codigo ja registrado: " + partDetails.getCode());
         }
     }
 
@@ -59,6 +62,7 @@ public class PartService extends AbstractTenantAwareService<Part, Long, PartRepo
         }
         validateTenant(part);
         repository.delete(part);
+        suggestionService.remove(SuggestionDto.Type.PART, part.getId(), part.getTenantId());
     }
 
     @Transactional(readOnly = true)
@@ -72,7 +76,6 @@ public class PartService extends AbstractTenantAwareService<Part, Long, PartRepo
     @Transactional(readOnly = true)
     public Page<PartProjection> search(String searchTerm, Pageable pageable) {
         Specification<Part> spec = PartSpecification.search(searchTerm);
-        Page<Part> partsPage = repository.findAll(spec, pageable);
-        return partsPage.map(part -> projectionFactory.createProjection(PartProjection.class, part));
+        return repository.findProjected(spec, PartProjection.SELECTION, pageable);
     }
 }
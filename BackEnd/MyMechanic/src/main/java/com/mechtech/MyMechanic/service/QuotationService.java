@@ -6,38 +6,51 @@ import com.mechtech.MyMechanic.exception.EntityNotFoundException;
 import com.mechtech.MyMechanic.repository.QuotationRepository;
 import com.mechtech.MyMechanic.repository.projection.QuotationProjection;
 import com.mechtech.MyMechanic.repository.specification.QuotationSpecification;
+import com.mechtech.MyMechanic.util.KeysetCursor;
 import com.mechtech.MyMechanic.web.dto.quotation.QuotationPartItemDto;
 import com.mechtech.MyMechanic.web.dto.quotation.QuotationServiceItemDto;
 import com.mechtech.MyMechanic.web.dto.quotation.QuotationUpdateDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Service
 public class QuotationService extends AbstractTenantAwareService<Quotation, Long, QuotationRepository> {
 
+    // Ordem de paginação por cursor: mais recentes primeiro, id como desempate
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "entryTime", "id");
+    private static final Map<String, Class<?>> KEYSET_KEYS = Map.of("entryTime", LocalDateTime.class, "id", Long.class);
+
     private final VehicleService vehicleService;
     private final PartService partService;
     private final RepairServiceService repairServiceService;
     private final PdfGenerationService pdfGenerationService;
-    private final ProjectionFactory projectionFactory;
+    private final ApproximateCountService approximateCountService;
+    private final TextSearchService textSearchService;
 
     public QuotationService(QuotationRepository repository, VehicleService vehicleService,
                             PartService partService, RepairServiceService repairServiceService,
-                            PdfGenerationService pdfGenerationService, ProjectionFactory projectionFactory) {
+                            PdfGenerationService pdfGenerationService,
+                            ApproximateCountService approximateCountService, TextSearchService textSearchService) {
         super(repository);
         this.vehicleService = vehicleService;
         this.partService = partService;
         this.repairServiceService = repairServiceService;
         this.pdfGenerationService = pdfGenerationService;
-        this.projectionFactory = projectionFactory;
+        this.approximateCountService = approximateCountService;
+        this.textSearchService = textSearchService;
     }
 
     @Override
@@ -67,8 +80,9 @@ public class QuotationService extends AbstractTenantAwareService<Quotation, Long
 
         Set<QuotationPartItem> partItems = new HashSet<>();
         if (!partItemsDto.isEmpty()) {
+            Map<Long, Part> parts = findParts(partItemsDto);
             for (QuotationPartItemDto itemDto : partItemsDto) {
-                Part part = partService.findById(itemDto.getId());
+                Part part = parts.get(itemDto.getId());
                 QuotationPartItem partItem = new QuotationPartItem();
                 partItem.setQuotation(quotation);
                 partItem.setPart(part);
@@ -84,8 +98,9 @@ public class QuotationService extends AbstractTenantAwareService<Quotation, Long
 
         Set<QuotationServiceItem> serviceItems = new HashSet<>();
         if (serviceItemsDto != null) {
+            Map<Long, RepairService> services = findRepairServices(serviceItemsDto);
             for (QuotationServiceItemDto itemDto : serviceItemsDto) {
-                RepairService service = repairServiceService.findById(itemDto.getId());
+                RepairService service = services.get(itemDto.getId());
                 QuotationServiceItem serviceItem = new QuotationServiceItem();
                 serviceItem.setQuotation(quotation);
                 serviceItem.setRepairService(service);
@@ -107,8 +122,7 @@ public class QuotationService extends AbstractTenantAwareService<Quotation, Long
 
     @Transactional(readOnly = true)
     public Page<QuotationProjection> findAll(Pageable pageable) {
-        Page<Quotation> quotationsPage = repository.findAll(pageable);
-        return quotationsPage.map(quotation -> projectionFactory.createProjection(QuotationProjection.class, quotation));
+        return repository.findProjected(null, QuotationProjection.SELECTION, pageable);
     }
 
     @Transactional(readOnly = true)
@@ -149,8 +163,9 @@ public class QuotationService extends AbstractTenantAwareService<Quotation, Long
 
         // Adiciona os novos itens de peças, se houver
         if (dto.getPartItems() != null) {
+            Map<Long, Part> parts = findParts(dto.getPartItems());
             for (QuotationPartItemDto itemDto : dto.getPartItems()) {
-                Part part = partService.findById(itemDto.getId());
+                Part part = parts.get(itemDto.getId());
                 QuotationPartItem partItem = new QuotationPartItem();
                 partItem.setQuotation(existingQuotation);
                 partItem.setPart(part);
@@ -162,8 +177,9 @@ public class QuotationService extends AbstractTenantAwareService<Quotation, Long
 
         // Adiciona os novos itens de serviço, se houver
         if (dto.getServiceItems() != null) {
+            Map<Long, RepairService> services = findRepairServices(dto.getServiceItems());
             for (QuotationServiceItemDto itemDto : dto.getServiceItems()) {
-                RepairService service = repairServiceService.findById(itemDto.getId());
+                RepairService service = services.get(itemDto.getId());
                 QuotationServiceItem serviceItem = new QuotationServiceItem();
                 serviceItem.setQuotation(existingQuotation);
                 serviceItem.setRepairService(service);
@@ -180,9 +196,28 @@ public class QuotationService extends AbstractTenantAwareService<Quotation, Long
 
     @Transactional(readOnly = true)
     public Page<QuotationProjection> search(String searchTerm, Pageable pageable) {
-        Specification<Quotation> spec = QuotationSpecification.search(searchTerm);
-        Page<Quotation> quotationsPage = repository.findAll(spec, pageable);
-        return quotationsPage.map(quotation -> projectionFactory.createProjection(QuotationProjection.class, quotation));
+        Specification<Quotation> spec = textSearchService.search(searchTerm, QuotationSpecification::search);
+        return repository.findProjected(spec, QuotationProjection.SELECTION, pageable);
+    }
+
+    // Paginação por keyset: custo constante em qualquer página e sem COUNT(*)
+    @Transactional(readOnly = true)
+    public Window<QuotationProjection> scroll(String searchTerm, String cursor, int size) {
+        Specification<Quotation> spec = textSearchService.search(searchTerm, QuotationSpecification::search);
+        return repository.scrollProjected(spec, QuotationProjection.SELECTION, KEYSET_SORT,
+                KeysetCursor.clampSize(size), KeysetCursor.decode(cursor, KEYSET_KEYS));
+    }
+
+    // Modo sem contagem (?count=false): busca uma linha a mais em vez de executar o COUNT(*)
+    @Transactional(readOnly = true)
+    public Slice<QuotationProjection> slice(String searchTerm, Pageable pageable) {
+        Specification<Quotation> spec = textSearchService.search(searchTerm, QuotationSpecification::search);
+        return repository.findProjectedSlice(spec, QuotationProjection.SELECTION, pageable);
+    }
+
+    public Long approximateTotal(String searchTerm) {
+        return approximateCountService.estimate("quotations", true, searchTerm,
+                () -> repository.count(textSearchService.search(searchTerm, QuotationSpecification::search)));
     }
 
     @Transactional(readOnly = true)
@@ -194,6 +229,15 @@ public class QuotationService extends AbstractTenantAwareService<Quotation, Long
         return pdfGenerationService.generateQuotationPdf(quotation);
     }
 
+    // Uma consulta por tipo de item, em vez de um findById por linha
+    private Map<Long, Part> findParts(Collection<QuotationPartItemDto> items) {
+        return partService.findAllByIds(items.stream().map(QuotationPartItemDto::getId).toList(), Part::getId);
+    }
+
+    private Map<Long, RepairService> findRepairServices(Collection<QuotationServiceItemDto> items) {
+        return repairServiceService.findAllByIds(items.stream().map(QuotationServiceItemDto::getId).toList(), RepairService::getId);
+    }
+
     public void validateStatusUpdate(Quotation.QuotationStatus oldStatus, Quotation.QuotationStatus newStatus){
         if (oldStatus == newStatus){
             return;
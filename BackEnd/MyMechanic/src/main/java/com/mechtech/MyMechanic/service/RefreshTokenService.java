@@ -0,0 +1,99 @@
+package com.mechtech.MyMechanic.service;
+
+import com.mechtech.MyMechanic.entity.RefreshToken;
+import com.mechtech.MyMechanic.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final String INVALID_REFRESH_TOKEN = "Refresh token inválido";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final long expirationDays;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-token.expiration-days:30}") long expirationDays) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expirationDays = expirationDays;
+    }
+
+    @Transactional
+    public String issue(Long userId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUserId(userId);
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setCreatedAt(LocalDateTime.now());
+        refreshToken.setExpiresAt(refreshToken.getCreatedAt().plusDays(expirationDays));
+        refreshTokenRepository.save(refreshToken);
+        return rawToken;
+    }
+
+    // Invalida o token apresentado e devolve o id do usuário dono dele. Um token já
+    // rotacionado sendo reapresentado indica vazamento: todos os tokens do usuário são revogados.
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Long consume(String rawToken) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHashForUpdate(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException(INVALID_REFRESH_TOKEN));
+
+        if (refreshToken.isRevoked()) {
+            log.warn("Refresh token reutilizado para o usuário {}; revogando todas as sessões", refreshToken.getUserId());
+            refreshTokenRepository.revokeAllByUserId(refreshToken.getUserId());
+            throw new BadCredentialsException(INVALID_REFRESH_TOKEN);
+        }
+        if (refreshToken.isExpired()) {
+            throw new BadCredentialsException(INVALID_REFRESH_TOKEN);
+        }
+
+        refreshToken.setRevoked(true);
+        return refreshToken.getUserId();
+    }
+
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHashForUpdate(hash(rawToken))
+                .ifPresent(refreshToken -> refreshToken.setRevoked(true));
+    }
+
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllByUserId(userId);
+    }
+
+    @Scheduled(cron = "${jwt.refresh-token.purge-cron:0 0 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int removed = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            log.info("{} refresh tokens expirados removidos", removed);
+        }
+    }
+
+    private String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
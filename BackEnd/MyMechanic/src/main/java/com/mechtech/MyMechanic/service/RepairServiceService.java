@@ -8,49 +8,50 @@ import com.mechtech.MyMechanic.repository.specification.RepairServiceSpecificati
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class RepairServiceService extends AbstractTenantAwareService<RepairService, Long, RepairServiceRepository> {
 
-    private final ProjectionFactory projectionFactory;
+    public static final String CACHE_REGION = "repairService";
 
-    public RepairServiceService(RepairServiceRepository repository, ProjectionFactory projectionFactory) {
-        super(repository);
-        this.projectionFactory = projectionFactory;
+    // Os serviços são resolvidos em lote (findAllByIds), fora do cache de catálogo: a região só leva as
+    // remoções às outras instâncias, que descartam o cache de segundo nível
+    public RepairServiceService(RepairServiceRepository repository, CatalogCache catalogCache) {
+        super(repository, catalogCache, CACHE_REGION);
     }
 
     @Transactional
     public RepairService create(RepairService repairService) {
-        repairService.setTenantId(TenantContext.getTenantId());
+        repairService.setTenantId(TenantContext.requireTenantId());
         return repository.save(repairService);
     }
 
     @Transactional(readOnly = true)
     public Page<RepairServiceProjection> findAll(Pageable pageable) {
-        Page<RepairService> repairServicesPage = repository.findAll(pageable);
-        return repairServicesPage.map(repairService -> projectionFactory.createProjection(RepairServiceProjection.class, repairService));
+        return repository.findProjected(null, RepairServiceProjection.SELECTION, pageable);
     }
 
     @Transactional(readOnly = true)
     public Page<RepairServiceProjection> search(String searchTerm, Pageable pageable) {
         Specification<RepairService> spec = RepairServiceSpecification.search(searchTerm);
-        Page<RepairService> repairServicesPage = repository.findAll(spec, pageable);
-        return repairServicesPage.map(repairService -> projectionFactory.createProjection(RepairServiceProjection.class, repairService));
+        return repository.findProjected(spec, RepairServiceProjection.SELECTION, pageable);
     }
 
     @Transactional
     public RepairService update(Long id, RepairService repairServiceDetails) {
         // Garante que o serviço que estamos a tentar atualizar existe e pertence ao tenant
         findById(id);
-        return repository.save(repairServiceDetails);
+        RepairService saved = repository.save(repairServiceDetails);
+        evictCached(id, saved.getTenantId());
+        return saved;
     }
 
     @Transactional
     public void delete(Long id) {
         RepairService serviceToDelete = findById(id); // Validação de tenant inclusa
         repository.delete(serviceToDelete);
+        evictCached(id, serviceToDelete.getTenantId());
     }
 }
@@ -12,24 +12,21 @@ import com.mechtech.MyMechanic.web.dto.pageable.PageableDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class RoleService extends AbstractTenantAwareService<Role, Long, RoleRepository> {
 
-    private final ProjectionFactory projectionFactory;
+    public static final String CACHE_REGION = "role";
 
-    public RoleService(RoleRepository repository, ProjectionFactory projectionFactory) {
-
-        super(repository);
-        this.projectionFactory = projectionFactory;
+    public RoleService(RoleRepository repository, CatalogCache catalogCache) {
+        super(repository, catalogCache, CACHE_REGION);
     }
 
     @Transactional
     public Role createRole(Role role) {
-        role.setTenantId(TenantContext.getTenantId());
+        role.setTenantId(TenantContext.requireTenantId());
         return repository.save(role);
     }
 
@@ -38,6 +35,7 @@ public class RoleService extends AbstractTenantAwareService<Role, Long, RoleRepo
         Role existingRole = findById(id);
         existingRole.setName(roleDetails.getName());
         existingRole.setReceivesCommission(roleDetails.isReceivesCommission());
+        evictCached(id, existingRole.getTenantId());
         return repository.save(existingRole);
     }
 
@@ -45,20 +43,19 @@ public class RoleService extends AbstractTenantAwareService<Role, Long, RoleRepo
     public void deleteRole(Long id) {
         Role roleToDelete = findById(id);
         repository.delete(roleToDelete);
+        evictCached(id, roleToDelete.getTenantId());
     }
 
     @Transactional
     public Page<RoleProjection> findAll(Pageable pageable) {
-        Page<Role> rolesPage = repository.findAll(pageable);
-        return rolesPage.map(role -> projectionFactory.createProjection(RoleProjection.class, role));
+        return repository.findProjected(null, RoleProjection.SELECTION, pageable);
     }
 
 
     @Transactional(readOnly = true)
     public Page<RoleProjection> search(String searchTerm, Pageable pageable) {
         Specification<Role> spec = RoleSpecification.search(searchTerm);
-        Page<Role> rolesPage = repository.findAll(spec, pageable);
-        return rolesPage.map(part -> projectionFactory.createProjection(RoleProjection.class, part));
+        return repository.findProjected(spec, RoleProjection.SELECTION, pageable);
     }
 }
 
@@ -0,0 +1,41 @@
+package com.mechtech.MyMechanic.service;
+
+import com.mechtech.MyMechanic.entity.RepairService;
+import com.mechtech.MyMechanic.entity.Role;
+import com.mechtech.MyMechanic.entity.VehicleBrand;
+import com.mechtech.MyMechanic.entity.VehicleModel;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+// O cache de segundo nível do Hibernate é local: alterações feitas em outra instância chegam pelo
+// InvalidationBus (mesmos avisos do CatalogCache) e removem a entidade e os resultados de consultas em cache.
+@Component
+public class SecondLevelCacheInvalidation {
+
+    private static final Map<String, Class<?>> CACHED_ENTITIES = Map.of(
+            RepairServiceService.CACHE_REGION, RepairService.class,
+            RoleService.CACHE_REGION, Role.class,
+            VehicleBrandService.CACHE_REGION, VehicleBrand.class,
+            VehicleModelService.CACHE_REGION, VehicleModel.class);
+    // Só a unicidade de nome de marcas e modelos (findTakenFields) fica no cache de consultas
+    private static final Set<Class<?>> CACHED_QUERIES = Set.of(VehicleBrand.class, VehicleModel.class);
+
+    public SecondLevelCacheInvalidation(EntityManagerFactory entityManagerFactory, InvalidationBus invalidationBus) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        CACHED_ENTITIES.forEach((entity, entityClass) -> invalidationBus.subscribe(entity, invalidation -> {
+            if (invalidation.id() == null) {
+                cache.evictEntityData(entityClass);
+            } else {
+                cache.evictEntityData(entityClass, Long.valueOf(invalidation.id()));
+            }
+            if (CACHED_QUERIES.contains(entityClass)) {
+                cache.evictDefaultQueryRegion();
+            }
+        }));
+    }
+}
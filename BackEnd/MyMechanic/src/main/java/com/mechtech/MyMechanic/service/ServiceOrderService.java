@@ -6,34 +6,47 @@ import com.mechtech.MyMechanic.exception.EntityNotFoundException;
 import com.mechtech.MyMechanic.repository.ServiceOrderRepository;
 import com.mechtech.MyMechanic.repository.projection.ServiceOrderProjection;
 import com.mechtech.MyMechanic.repository.specification.ServiceOrderSpecification;
+import com.mechtech.MyMechanic.util.KeysetCursor;
 import com.mechtech.MyMechanic.web.dto.serviceorder.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 @Service
 public class ServiceOrderService extends AbstractTenantAwareService<ServiceOrder, Long, ServiceOrderRepository> {
 
+    // Ordem de paginação por cursor: mais recentes primeiro, id como desempate
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "entryDate", "id");
+    private static final Map<String, Class<?>> KEYSET_KEYS = Map.of("entryDate", LocalDateTime.class, "id", Long.class);
+
     private final QuotationService quotationService;
     private final PartService partService;
     private final EmployeeService employeeService;
     private final VehicleService vehicleService;
     private final RepairServiceService repairServiceService;
     private final PdfGenerationService pdfGenerationService;
-    private final ProjectionFactory projectionFactory;
+    private final ApproximateCountService approximateCountService;
+    private final TextSearchService textSearchService;
+    private final DashboardService dashboardService;
 
     public ServiceOrderService(ServiceOrderRepository repository, QuotationService quotationService,
                                PartService partService, EmployeeService employeeService,
                                VehicleService vehicleService, RepairServiceService repairServiceService,
-                               PdfGenerationService pdfGenerationService, ProjectionFactory projectionFactory) {
+                               PdfGenerationService pdfGenerationService,
+                               ApproximateCountService approximateCountService, TextSearchService textSearchService,
+                               DashboardService dashboardService) {
         super(repository);
         this.quotationService = quotationService;
         this.partService = partService;
@@ -41,7 +54,9 @@ public class ServiceOrderService extends AbstractTenantAwareService<ServiceOrder
         this.vehicleService = vehicleService;
         this.repairServiceService = repairServiceService;
         this.pdfGenerationService = pdfGenerationService;
-        this.projectionFactory = projectionFactory;
+        this.approximateCountService = approximateCountService;
+        this.textSearchService = textSearchService;
+        this.dashboardService = dashboardService;
     }
 
     @Transactional
@@ -64,8 +79,9 @@ public class ServiceOrderService extends AbstractTenantAwareService<ServiceOrder
         // Processar itens de peças
         Set<ServiceOrderPartItem> soPartItems = new HashSet<>();
         if (dto.getPartItems() != null) {
+            Map<Long, Part> parts = findParts(dto.getPartItems());
             for (ServiceOrderPartDto partItemDto : dto.getPartItems()) {
-                Part part = partService.findById(partItemDto.getId());
+                Part part = parts.get(partItemDto.getId());
                 ServiceOrderPartItem soItem = new ServiceOrderPartItem();
                 soItem.setServiceOrder(serviceOrder);
                 soItem.setPart(part);
@@ -83,8 +99,9 @@ public class ServiceOrderService extends AbstractTenantAwareService<ServiceOrder
         // Processar itens de serviço
         Set<ServiceOrderServiceItem> soServiceItems = new HashSet<>();
         if (dto.getServiceItems() != null) {
+            Map<Long, RepairService> services = findRepairServices(dto.getServiceItems());
             for (ServiceOrderServiceDto serviceItemDto : dto.getServiceItems()) {
-                RepairService service = repairServiceService.findById(serviceItemDto.getId());
+                RepairService service = services.get(serviceItemDto.getId());
                 ServiceOrderServiceItem soItem = new ServiceOrderServiceItem();
                 soItem.setServiceOrder(serviceOrder);
                 soItem.setRepairService(service);
@@ -102,8 +119,9 @@ public class ServiceOrderService extends AbstractTenantAwareService<ServiceOrder
         // Processar itens de funcionário
         Set<ServiceOrderEmployee> soEmployeeItems = new HashSet<>();
         if (dto.getEmployees() != null) {
+            Map<Long, Employee> employees = findEmployees(dto.getEmployees());
             for (ServiceOrderEmployeeDto employeeDto : dto.getEmployees()) {
-                Employee employee = employeeService.findById(employeeDto.getId());
+                Employee employee = employees.get(employeeDto.getId());
 
                 if (employeeDto.getCommissionPercentage() != null && employeeDto.getCommissionPercentage().compareTo(BigDecimal.ZERO) > 0) {
                     if (employee.getRole() == null || !employee.getRole().isReceivesCommission()) {
@@ -148,8 +166,7 @@ public class ServiceOrderService extends AbstractTenantAwareService<ServiceOrder
 
     @Transactional(readOnly = true)
     public Page<ServiceOrderProjection> findAll(Pageable pageable) {
-        Page<ServiceOrder> serviceOrdersPage = repository.findAll(pageable);
-        return serviceOrdersPage.map(order -> projectionFactory.createProjection(ServiceOrderProjection.class, order));
+        return repository.findProjected(null, ServiceOrderProjection.SELECTION, pageable);
     }
 
 
@@ -213,18 +230,43 @@ public class ServiceOrderService extends AbstractTenantAwareService<ServiceOrder
         // O findById já valida se a OS existe e pertence ao tenant
         ServiceOrder serviceOrder = this.findById(id);
         repository.delete(serviceOrder);
+        dashboardService.serviceOrderChanged(serviceOrder.getTenantId(), DashboardService.OrderState.of(serviceOrder), null);
+        // A fatura é excluída em cascata
+        if (serviceOrder.getInvoice() != null) {
+            dashboardService.invoiceChanged(serviceOrder.getTenantId(), serviceOrder.getInvoice().getPaymentStatus(), null);
+        }
     }
 
     @Transactional(readOnly = true)
     public Page<ServiceOrderProjection> search(String searchTerm, Pageable pageable) {
-        Specification<ServiceOrder> spec = ServiceOrderSpecification.search(searchTerm);
-        Page<ServiceOrder> serviceOrdersPage = repository.findAll(spec, pageable);
-        return serviceOrdersPage.map(order -> projectionFactory.createProjection(ServiceOrderProjection.class, order));
+        Specification<ServiceOrder> spec = textSearchService.search(searchTerm, ServiceOrderSpecification::search);
+        return repository.findProjected(spec, ServiceOrderProjection.SELECTION, pageable);
+    }
+
+    // Paginação por keyset: custo constante em qualquer página e sem COUNT(*)
+    @Transactional(readOnly = true)
+    public Window<ServiceOrderProjection> scroll(String searchTerm, String cursor, int size) {
+        Specification<ServiceOrder> spec = textSearchService.search(searchTerm, ServiceOrderSpecification::search);
+        return repository.scrollProjected(spec, ServiceOrderProjection.SELECTION, KEYSET_SORT,
+                KeysetCursor.clampSize(size), KeysetCursor.decode(cursor, KEYSET_KEYS));
+    }
+
+    // Modo sem contagem (?count=false): busca uma linha a mais em vez de executar o COUNT(*)
+    @Transactional(readOnly = true)
+    public Slice<ServiceOrderProjection> slice(String searchTerm, Pageable pageable) {
+        Specification<ServiceOrder> spec = textSearchService.search(searchTerm, ServiceOrderSpecification::search);
+        return repository.findProjectedSlice(spec, ServiceOrderProjection.SELECTION, pageable);
+    }
+
+    public Long approximateTotal(String searchTerm) {
+        return approximateCountService.estimate("service_order", true, searchTerm,
+                () -> repository.count(textSearchService.search(searchTerm, ServiceOrderSpecification::search)));
     }
 
     @Transactional
     public ServiceOrder update(Long id, ServiceOrderUpdateDto dto) {
         ServiceOrder serviceOrder = findById(id);
+        DashboardService.OrderState before = DashboardService.OrderState.of(serviceOrder);
 
         if (dto.getStatus() != null) {
             ServiceOrder.ServiceOrderStatus newStatus = ServiceOrder.ServiceOrderStatus.valueOf(dto.getStatus());
@@ -244,9 +286,10 @@ public class ServiceOrderService extends AbstractTenantAwareService<ServiceOrder
         }
 
         if (dto.getEmployees() != null) {
+            Map<Long, Employee> employees = findEmployees(dto.getEmployees());
             serviceOrder.getEmployees().clear();
             dto.getEmployees().forEach(employeeDto -> {
-                Employee employee = employeeService.findById(employeeDto.getId());
+                Employee employee = employees.get(employeeDto.getId());
 
                 if (employeeDto.getCommissionPercentage() != null && employeeDto.getCommissionPercentage().compareTo(BigDecimal.ZERO) > 0) {
                     if (employee.getRole() == null || !employee.getRole().isReceivesCommission()) {
@@ -267,9 +310,10 @@ public class ServiceOrderService extends AbstractTenantAwareService<ServiceOrder
         }
 
         if (dto.getPartItems() != null) {
+            Map<Long, Part> parts = findParts(dto.getPartItems());
             serviceOrder.getPartItems().clear();
             for (ServiceOrderPartDto partItemDto : dto.getPartItems()) {
-                Part part = partService.findById(partItemDto.getId());
+                Part part = parts.get(partItemDto.getId());
                 ServiceOrderPartItem soItem = new ServiceOrderPartItem();
                 soItem.setServiceOrder(serviceOrder);
                 soItem.setPart(part);
@@ -284,9 +328,10 @@ public class ServiceOrderService extends AbstractTenantAwareService<ServiceOrder
         }
 
         if (dto.getServiceItems() != null) {
+            Map<Long, RepairService> services = findRepairServices(dto.getServiceItems());
             serviceOrder.getServiceItems().clear();
             for (ServiceOrderServiceDto serviceItemDto : dto.getServiceItems()) {
-                RepairService service = repairServiceService.findById(serviceItemDto.getId());
+                RepairService service = services.get(serviceItemDto.getId());
                 ServiceOrderServiceItem soItem = new ServiceOrderServiceItem();
                 soItem.setServiceOrder(serviceOrder);
                 soItem.setRepairService(service);
@@ -315,7 +360,9 @@ public class ServiceOrderService extends AbstractTenantAwareService<ServiceOrder
             serviceOrder.setExitDate(null);
         }
 
-        return repository.save(serviceOrder);
+        ServiceOrder savedOrder = repository.save(serviceOrder);
+        dashboardService.serviceOrderChanged(savedOrder.getTenantId(), before, DashboardService.OrderState.of(savedOrder));
+        return savedOrder;
     }
 
 
@@ -344,6 +391,19 @@ public class ServiceOrderService extends AbstractTenantAwareService<ServiceOrder
         }
     }
 
+    // Uma consulta por tipo de item, em vez de um findById por linha
+    private Map<Long, Part> findParts(Collection<ServiceOrderPartDto> items) {
+        return partService.findAllByIds(items.stream().map(ServiceOrderPartDto::getId).toList(), Part::getId);
+    }
+
+    private Map<Long, RepairService> findRepairServices(Collection<ServiceOrderServiceDto> items) {
+        return repairServiceService.findAllByIds(items.stream().map(ServiceOrderServiceDto::getId).toList(), RepairService::getId);
+    }
+
+    private Map<Long, Employee> findEmployees(Collection<ServiceOrderEmployeeDto> items) {
+        return employeeService.findAllByIds(items.stream().map(ServiceOrderEmployeeDto::getId).toList(), Employee::getId);
+    }
+
     private void validateServiceOrderItems(ServiceOrder serviceOrder) {
         if ((serviceOrder.getPartItems() == null || serviceOrder.getPartItems().isEmpty()) &&
                 (serviceOrder.getServiceItems() == null || serviceOrder.getServiceItems().isEmpty())) {
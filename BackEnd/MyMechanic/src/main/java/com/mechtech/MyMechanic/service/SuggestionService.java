@@ -0,0 +1,307 @@
+package com.mechtech.MyMechanic.service;
+
+import com.mechtech.MyMechanic.entity.Client;
+import com.mechtech.MyMechanic.entity.Part;
+import com.mechtech.MyMechanic.entity.Vehicle;
+import com.mechtech.MyMechanic.multiTenants.TenantContext;
+import com.mechtech.MyMechanic.multiTenants.TenantFilterAspect;
+import com.mechtech.MyMechanic.repository.ClientRepository;
+import com.mechtech.MyMechanic.repository.PartRepository;
+import com.mechtech.MyMechanic.repository.VehicleRepository;
+import com.mechtech.MyMechanic.repository.projection.SuggestionRow;
+import com.mechtech.MyMechanic.web.dto.suggestion.SuggestionDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+// Autocompletar do balcão: índice em memória, por tenant, dos prefixos de placas, nomes/CPFs de
+// clientes e códigos/nomes de peças. Carregado do banco na primeira consulta do tenant e mantido
+// pelos fluxos de criação, alteração e exclusão (após o commit). Cada instância mantém o seu índice;
+// as alterações feitas em outra instância descartam o índice do tenant, recarregado na próxima consulta.
+@Slf4j
+@Service
+public class SuggestionService {
+
+    public static final String ENTITY = "suggestion";
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+    // Separa o termo da identificação da entidade na chave (menor que qualquer caractere do termo)
+    private static final char SEPARATOR = '\u0000';
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final VehicleRepository vehicleRepository;
+    private final ClientRepository clientRepository;
+    private final PartRepository partRepository;
+    private final TenantFilterAspect tenantFilterAspect;
+    private final TransactionTemplate transactionTemplate;
+    private final InvalidationBus invalidationBus;
+    private final Map<Long, TenantIndex> indexes;
+
+    public SuggestionService(VehicleRepository vehicleRepository, ClientRepository clientRepository,
+                             PartRepository partRepository, TenantFilterAspect tenantFilterAspect,
+                             PlatformTransactionManager transactionManager, InvalidationBus invalidationBus,
+                             @Value("${app.suggest.max-tenants:1000}") int maxTenants) {
+        this.vehicleRepository = vehicleRepository;
+        this.clientRepository = clientRepository;
+        this.partRepository = partRepository;
+        this.tenantFilterAspect = tenantFilterAspect;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.invalidationBus = invalidationBus;
+        // Tenants sem uso recente saem da memória e são recarregados na próxima consulta
+        this.indexes = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, TenantIndex> eldest) {
+                return size() > maxTenants;
+            }
+        });
+        invalidationBus.subscribe(ENTITY, this::drop);
+        invalidationBus.subscribe(InvalidationBus.TENANT, this::drop);
+    }
+
+    // Índice de um tenant. Chave = termo normalizado + SEPARATOR + tipo:id, em ordem, para busca por prefixo.
+    // Leituras não usam lock; escritas (raras) são serializadas no próprio índice.
+    private static final class TenantIndex {
+        private final NavigableMap<String, SuggestionDto> entries = new ConcurrentSkipListMap<>();
+        private final Map<String, List<String>> keysByEntity = new ConcurrentHashMap<>();
+        // Entidades alteradas pelos fluxos de escrita durante a carga: a carga não as sobrescreve
+        private final Set<String> touchedWhileLoading = new HashSet<>();
+        private final Object loadLock = new Object();
+        private volatile boolean loaded;
+
+        synchronized void put(SuggestionDto suggestion, Collection<String> terms) {
+            String entityKey = entityKey(suggestion.type(), suggestion.id());
+            if (!loaded) {
+                touchedWhileLoading.add(entityKey);
+            }
+            replace(entityKey, suggestion, terms);
+        }
+
+        synchronized void putLoaded(SuggestionDto suggestion, Collection<String> terms) {
+            String entityKey = entityKey(suggestion.type(), suggestion.id());
+            if (!touchedWhileLoading.contains(entityKey)) {
+                replace(entityKey, suggestion, terms);
+            }
+        }
+
+        synchronized void remove(SuggestionDto.Type type, Long id) {
+            String entityKey = entityKey(type, id);
+            if (!loaded) {
+                touchedWhileLoading.add(entityKey);
+            }
+            List<String> keys = keysByEntity.remove(entityKey);
+            if (keys != null) {
+                keys.forEach(entries::remove);
+            }
+        }
+
+        synchronized void markLoaded() {
+            loaded = true;
+            touchedWhileLoading.clear();
+        }
+
+        private void replace(String entityKey, SuggestionDto suggestion, Collection<String> terms) {
+            List<String> previous = keysByEntity.remove(entityKey);
+            if (previous != null) {
+                previous.forEach(entries::remove);
+            }
+            List<String> keys = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                if (!term.isEmpty()) {
+                    String key = term + SEPARATOR + entityKey;
+                    entries.put(key, suggestion);
+                    keys.add(key);
+                }
+            }
+            keysByEntity.put(entityKey, keys);
+        }
+
+        void collect(String prefix, int limit, Set<SuggestionDto> result) {
+            if (prefix.isEmpty()) {
+                return;
+            }
+            for (Map.Entry<String, SuggestionDto> entry : entries.tailMap(prefix, true).entrySet()) {
+                if (result.size() >= limit || !entry.getKey().startsWith(prefix)) {
+                    return;
+                }
+                result.add(entry.getValue());
+            }
+        }
+
+        private static String entityKey(SuggestionDto.Type type, Long id) {
+            return type.name() + ':' + id;
+        }
+    }
+
+    public List<SuggestionDto> suggest(String query, Integer limit) {
+        if (!TenantContext.hasTenant() || query == null || query.isBlank()) {
+            return List.of();
+        }
+        int max = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        TenantIndex index = loadedIndex(TenantContext.getTenantId());
+
+        // Placas, CPFs e códigos são indexados sem pontuação; nomes, por palavra
+        Set<SuggestionDto> result = new LinkedHashSet<>();
+        index.collect(compact(query), max, result);
+        index.collect(text(query), max, result);
+        return new ArrayList<>(result);
+    }
+
+    public void indexVehicle(Vehicle vehicle) {
+        afterCommit(vehicle.getTenantId(), index -> index.put(vehicleSuggestion(vehicle.getId(), vehicle.getLicensePlate()),
+                vehicleTerms(vehicle.getLicensePlate())));
+    }
+
+    public void indexClient(Client client) {
+        afterCommit(client.getTenantId(), index -> index.put(clientSuggestion(client.getId(), client.getName(), client.getCpf()),
+                clientTerms(client.getName(), client.getCpf())));
+    }
+
+    public void indexPart(Part part) {
+        afterCommit(part.getTenantId(), index -> index.put(partSuggestion(part.getId(), part.getName(), part.getCode()),
+                partTerms(part.getName(), part.getCode())));
+    }
+
+    public void remove(SuggestionDto.Type type, Long id, Long tenantId) {
+        afterCommit(tenantId, index -> index.remove(type, id));
+    }
+
+    // Só atualiza tenants já carregados; os demais leem o estado do banco na primeira consulta
+    private void afterCommit(Long entityTenantId, Consumer<TenantIndex> change) {
+        // Entidades recebidas do controller (ex.: updatePart) podem vir sem tenantId preenchido
+        long tenantId = entityTenantId != null ? entityTenantId : TenantContext.getTenantId();
+        if (tenantId == TenantContext.NO_TENANT) {
+            return;
+        }
+        // Vários avisos do mesmo tenant na transação viram um só
+        invalidationBus.publishAfterCommit(ENTITY, tenantId, null);
+        Runnable apply = () -> {
+            TenantIndex index = indexes.get(tenantId);
+            if (index != null) {
+                change.accept(index);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private TenantIndex loadedIndex(long tenantId) {
+        TenantIndex index = indexes.computeIfAbsent(tenantId, id -> new TenantIndex());
+        if (index.loaded) {
+            return index;
+        }
+        synchronized (index.loadLock) {
+            if (!index.loaded) {
+                load(index);
+            }
+        }
+        return index;
+    }
+
+    // NO_TENANT: avisos perdidos durante uma reconexão, descarta todos os índices
+    private void drop(InvalidationBus.Invalidation invalidation) {
+        if (invalidation.tenantId() == TenantContext.NO_TENANT) {
+            indexes.clear();
+        } else {
+            indexes.remove(invalidation.tenantId());
+        }
+    }
+
+    private void load(TenantIndex index) {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            // Fora de uma transação de serviço o aspecto não ativa os filtros nesta sessão
+            tenantFilterAspect.activateTenantFilter();
+            for (SuggestionRow row : vehicleRepository.findSuggestionRows()) {
+                index.putLoaded(vehicleSuggestion(row.id(), row.label()), vehicleTerms(row.label()));
+            }
+            for (SuggestionRow row : clientRepository.findSuggestionRows()) {
+                index.putLoaded(clientSuggestion(row.id(), row.label(), row.detail()), clientTerms(row.label(), row.detail()));
+            }
+            for (SuggestionRow row : partRepository.findSuggestionRows()) {
+                index.putLoaded(partSuggestion(row.id(), row.label(), row.detail()), partTerms(row.label(), row.detail()));
+            }
+        });
+        index.markLoaded();
+        log.debug("Índice de sugestões do tenant {} carregado em {} ms ({} chaves)",
+                TenantContext.getTenantId(), (System.nanoTime() - start) / 1_000_000, index.entries.size());
+    }
+
+    private static SuggestionDto vehicleSuggestion(Long id, String licensePlate) {
+        return new SuggestionDto(SuggestionDto.Type.VEHICLE, id, licensePlate, null);
+    }
+
+    private static SuggestionDto clientSuggestion(Long id, String name, String cpf) {
+        return new SuggestionDto(SuggestionDto.Type.CLIENT, id, name, cpf);
+    }
+
+    private static SuggestionDto partSuggestion(Long id, String name, String code) {
+        return new SuggestionDto(SuggestionDto.Type.PART, id, name, code);
+    }
+
+    private static List<String> vehicleTerms(String licensePlate) {
+        return List.of(compact(licensePlate));
+    }
+
+    private static List<String> clientTerms(String name, String cpf) {
+        List<String> terms = new ArrayList<>(wordSuffixes(name));
+        terms.add(compact(cpf));
+        return terms;
+    }
+
+    private static List<String> partTerms(String name, String code) {
+        List<String> terms = new ArrayList<>(wordSuffixes(name));
+        terms.add(compact(code));
+        return terms;
+    }
+
+    // "João da Silva" -> "joao da silva", "da silva", "silva": qualquer palavra inicia a busca
+    private static List<String> wordSuffixes(String value) {
+        String normalized = text(value);
+        List<String> terms = new ArrayList<>();
+        int start = 0;
+        while (start < normalized.length()) {
+            terms.add(normalized.substring(start));
+            int space = normalized.indexOf(' ', start);
+            if (space < 0) {
+                break;
+            }
+            start = space + 1;
+        }
+        return terms;
+    }
+
+    private static String text(String value) {
+        if (value == null) {
+            return "";
+        }
+        String lower = Normalizer.normalize(value, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        return SPACES.matcher(DIACRITICS.matcher(lower).replaceAll("")).replaceAll(" ").trim();
+    }
+
+    private static String compact(String value) {
+        return NON_ALPHANUMERIC.matcher(text(value)).replaceAll("");
+    }
+}
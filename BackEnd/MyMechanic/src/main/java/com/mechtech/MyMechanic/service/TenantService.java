@@ -4,6 +4,7 @@ import com.mechtech.MyMechanic.entity.Tenant;
 import com.mechtech.MyMechanic.entity.User;
 import com.mechtech.MyMechanic.exception.EntityNotFoundException;
 import com.mechtech.MyMechanic.exception.UniqueConstraintViolationException;
+import com.mechtech.MyMechanic.multiTenants.CrossTenant;
 import com.mechtech.MyMechanic.repository.TenantRepository;
 import com.mechtech.MyMechanic.repository.UserRepository;
 import com.mechtech.MyMechanic.web.dto.tenant.TenantSignupDto;
@@ -12,12 +13,14 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -27,37 +30,39 @@ public class TenantService {
     private final TenantRepository tenantRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApproximateCountService approximateCountService;
+    private final InvalidationBus invalidationBus;
 
+    @CrossTenant
     @Transactional
     public Tenant registerTenant(TenantSignupDto dto) {
-        if (userRepository.findByEmail(dto.getAdminEmail()).isPresent()) {
+        List<String> conflicts = tenantRepository.findRegistrationConflicts(dto.getAdminEmail(), dto.getCompanyDocument());
+        if (conflicts.contains("adminEmail")) {
             throw new UniqueConstraintViolationException("Este e-mail já está em uso.");
         }
+        if (conflicts.contains("document")) {
+            throw new UniqueConstraintViolationException("Este CNPJ/CPF já está em uso.");
+        }
+        if (conflicts.contains("email")) {
+            throw new UniqueConstraintViolationException("Já existe uma empresa com este e-mail cadastrado.");
+        }
 
         Tenant tenant = new Tenant();
         tenant.setName(dto.getCompanyName());
-        if (tenantRepository.existsByDocument(dto.getCompanyDocument())){
-            throw new UniqueConstraintViolationException("Este CNPJ/CPF já está em uso.");}
         tenant.setDocument(dto.getCompanyDocument());
         tenant.setPhone(dto.getCompanyPhone());
-        if (tenantRepository.existsByEmail(dto.getCompanyDocument())) {
-            throw new UniqueConstraintViolationException("Já existe uma empresa com este e-mail cadastrado.");
-        }
         tenant.setEmail(dto.getAdminEmail());
         tenant.setActive(true);
 
         tenant = tenantRepository.save(tenant);
 
         User adminUser = new User();
-        if (userRepository.findByEmail(dto.getAdminEmail()).isPresent()){
-            throw new UniqueConstraintViolationException("Este e-mail já está em uso.");
-        }
         adminUser.setEmail(dto.getAdminEmail());
         adminUser.setPassword(passwordEncoder.encode(dto.getAdminPassword()));
         adminUser.setFullName(dto.getAdminName());
         adminUser.setPhone(dto.getCompanyPhone());
         adminUser.setRole(User.Role.ROLE_CLIENT);
-        adminUser.setTenantId(String.valueOf(tenant.getId()));
+        adminUser.setTenantId(tenant.getId());
 
         userRepository.save(adminUser);
 
@@ -83,6 +88,8 @@ public class TenantService {
         }
         if (!dto.isActive()) {
             tenant.setActive(false);
+            // Empresa desativada: as outras instâncias descartam o catálogo e o autocompletar dela
+            invalidationBus.publishAfterCommit(InvalidationBus.TENANT, id, null);
         }
         return tenantRepository.save(tenant);
     }
@@ -121,4 +128,14 @@ public class TenantService {
     public Page<Tenant> findAll(Pageable pageable) {
         return tenantRepository.findAll(pageable);
     }
+
+    @Transactional(readOnly = true)
+    public Slice<Tenant> slice(Pageable pageable) {
+        return tenantRepository.findSlice(null, pageable);
+    }
+
+    // Tabela sem tenant_id: no PostgreSQL usa a estimativa do pg_class
+    public Long approximateTotal() {
+        return approximateCountService.estimate("tenants", false, null, tenantRepository::count);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.mechtech.MyMechanic.service;
+
+import com.mechtech.MyMechanic.repository.specification.SearchTextSpecification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Function;
+
+// Escolhe como as telas de busca filtram: pela coluna search_text indexada com pg_trgm (PostgreSQL)
+// ou pelas specifications com LIKE em cada coluna (H2 nos testes, bancos sem a migração V23).
+@Service
+public class TextSearchService {
+
+    @Value("${app.search.full-text.enabled:false}")
+    private boolean fullTextEnabled;
+
+    public <T> Specification<T> search(String searchTerm, Function<String, Specification<T>> likeFallback) {
+        return fullTextEnabled
+                ? SearchTextSpecification.matching(searchTerm)
+                : likeFallback.apply(searchTerm);
+    }
+}
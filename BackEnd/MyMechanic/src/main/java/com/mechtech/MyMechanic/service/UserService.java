@@ -6,6 +6,8 @@ import com.mechtech.MyMechanic.exception.BusinessRuleException;
 import com.mechtech.MyMechanic.exception.EntityNotFoundException;
 import com.mechtech.MyMechanic.exception.PasswordInvalidException;
 import com.mechtech.MyMechanic.exception.UniqueConstraintViolationException;
+import com.mechtech.MyMechanic.jwt.TokenVersionCache;
+import com.mechtech.MyMechanic.multiTenants.CrossTenant;
 import com.mechtech.MyMechanic.repository.UserRepository;
 import com.mechtech.MyMechanic.repository.projection.UserProjection;
 import com.mechtech.MyMechanic.repository.specification.UserSpecification;
@@ -15,7 +17,6 @@ import com.mechtech.MyMechanic.web.dto.user.UserUpdateDto;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,20 +33,24 @@ public class UserService  {
     private final EmailService emailService;
     private final UserRepository userRepository;
     private final TenantService tenantService;
-    private final ProjectionFactory projectionFactory;
+    private final TokenVersionCache tokenVersionCache;
+    private final RefreshTokenService refreshTokenService;
 
 
 
     public UserService(UserRepository repository, PasswordEncoder passwordEncoder, UserMapper userMapper, EmailService emailService,
-                       UserRepository userRepository, TenantService tenantService, ProjectionFactory projectionFactory) {
+                       UserRepository userRepository, TenantService tenantService,
+                       TokenVersionCache tokenVersionCache, RefreshTokenService refreshTokenService) {
         this.passwordEncoder = passwordEncoder;
         this.userMapper = userMapper;
         this.emailService = emailService;
         this.userRepository = userRepository;
         this.tenantService = tenantService;
-        this.projectionFactory = projectionFactory;
+        this.tokenVersionCache = tokenVersionCache;
+        this.refreshTokenService = refreshTokenService;
     }
 
+    @CrossTenant
     @Transactional
     public User createUser(UserCreateDto dto) {
         Tenant tenant = tenantService.findByInviteToken(dto.getInviteToken());
@@ -62,7 +67,7 @@ public class UserService  {
         user.setRole(User.Role.ROLE_CLIENT);
 
         // Define o Tenant ID encontrado via token
-        user.setTenantId(String.valueOf(tenant.getId()));
+        user.setTenantId(tenant.getId());
 
         user.setStatus(User.Status.ACTIVE); // Garante que nasce ativo
 
@@ -81,6 +86,7 @@ public class UserService  {
             throw new PasswordInvalidException("Senha antiga inválida");
         }
         user.setPassword(passwordEncoder.encode(newPassword));
+        revokeTokens(user);
         userRepository.save(user); // Save the updated user
         return user;
     }
@@ -92,8 +98,7 @@ public class UserService  {
 
     @Transactional(readOnly = true)
     public Page<UserProjection> findAll(Pageable pageable) {
-        Page<User> usersPage = userRepository.findAllIgnoringTenant(pageable);
-        return usersPage.map(user -> projectionFactory.createProjection(UserProjection.class, user));
+        return userRepository.findAllIgnoringTenant(pageable).map(UserProjection::fromRow);
     }
 
     @Transactional(readOnly = true)
@@ -102,13 +107,6 @@ public class UserService  {
                 new EntityNotFoundException(String.format("User nao encontrado com email: %s", email)));
     }
 
-    @Transactional(readOnly = true)
-    public User findByEmailForAuthentication(String email) {
-        return userRepository.findByEmailIgnoringTenant(email).orElseThrow(() ->
-                new EntityNotFoundException(String.format("User nao encontrado com email: %s", email)));
-    }
-
-
     @Transactional
     public User updateProfile(Long id, UserUpdateDto userUpdateDto) {
         try {
@@ -132,8 +130,11 @@ public class UserService  {
         }
 
         userRepository.delete(user);
+        refreshTokenService.revokeAll(user.getId());
+        tokenVersionCache.invalidateAfterCommit(user.getId());
     }
 
+    @CrossTenant
     @Transactional
     public User createPasswordResetToken(String email) {
         User user = userRepository.findByEmail(email).orElseThrow(() ->
@@ -160,6 +161,7 @@ public class UserService  {
         return user;
     }
 
+    @CrossTenant
     @Transactional
     public void resetPassword(String token, String newPassword, String confirmNewPassword) {
         if (!newPassword.equals(confirmNewPassword)) {
@@ -177,6 +179,7 @@ public class UserService  {
         }
 
         user.setPassword(passwordEncoder.encode(newPassword));
+        revokeTokens(user);
 
         // Invalida o token após o uso
         user.setPasswordResetToken(null);
@@ -185,6 +188,13 @@ public class UserService  {
         userRepository.save(user);
     }
 
+    // Os JWTs carregam a versão do token; ao incrementá-la, os tokens antigos deixam de ser aceitos
+    private void revokeTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        refreshTokenService.revokeAll(user.getId());
+        tokenVersionCache.invalidateAfterCommit(user.getId());
+    }
+
     public User.Role findRoleByEmail(String email) {
         return userRepository.findRoleByEmail(email);
     }
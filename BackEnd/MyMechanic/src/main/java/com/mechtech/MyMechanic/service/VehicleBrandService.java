@@ -2,6 +2,7 @@ package com.mechtech.MyMechanic.service;
 
 import com.mechtech.MyMechanic.entity.VehicleBrand;
 import com.mechtech.MyMechanic.entity.VehicleModel;
+import com.mechtech.MyMechanic.exception.UniqueConstraintMessages;
 import com.mechtech.MyMechanic.exception.UniqueConstraintViolationException;
 import com.mechtech.MyMechanic.repository.VehicleBrandRepository;
 import com.mechtech.MyMechanic.repository.projection.VehicleBrandProjection;
@@ -12,34 +13,33 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Objects;
-import java.util.Optional;
 
-import static com.mechtech.MyMechanic.multiTenants.TenantContext.getTenantId;
+import static com.mechtech.MyMechanic.multiTenants.TenantContext.requireTenantId;
 
 @Service
 public class VehicleBrandService extends AbstractTenantAwareService<VehicleBrand, Long, VehicleBrandRepository> {
 
-    ProjectionFactory projectionFactory;
+    public static final String CACHE_REGION = "vehicleBrand";
 
-
-    public VehicleBrandService(VehicleBrandRepository repository, ProjectionFactory projectionFactory) {
-        super(repository);
-        this.projectionFactory = projectionFactory;
+    public VehicleBrandService(VehicleBrandRepository repository, CatalogCache catalogCache) {
+        super(repository, catalogCache, CACHE_REGION);
     }
 
     @Transactional
     public VehicleBrand createVehicleBrand(VehicleBrand vehicleBrand) {
-            vehicleBrand.setTenantId(getTenantId());
+            vehicleBrand.setTenantId(requireTenantId());
         try {
             validateVehicleBrand(vehicleBrand);
-            return repository.save(vehicleBrand);
+            VehicleBrand saved = repository.save(vehicleBrand);
+            // As outras instâncias descartam a busca por nome em cache, que ainda não conhece o novo registro
+            evictCached(saved.getId(), saved.getTenantId());
+            return saved;
         } catch (DataIntegrityViolationException ex) {
-            throw new UniqueConstraintViolationException(Objects.requireNonNull(ex.getRootCause()).getMessage());
+            throw UniqueConstraintMessages.toException(ex, Objects.requireNonNull(ex.getRootCause()).getMessage());
         }
     }
 
@@ -51,6 +51,7 @@ public class VehicleBrandService extends AbstractTenantAwareService<VehicleBrand
 
         validateVehicleBrand(existingVehicleBrand);
 
+        evictCached(id, existingVehicleBrand.getTenantId());
         return repository.save(existingVehicleBrand);
     }
 
@@ -58,24 +59,22 @@ public class VehicleBrandService extends AbstractTenantAwareService<VehicleBrand
     public void deleteVehicleBrand(Long id) {
         VehicleBrand vehicleBrandToDelete = findById(id); // Validação de tenant já inclusa
         repository.delete(vehicleBrandToDelete);
+        evictCached(id, vehicleBrandToDelete.getTenantId());
     }
 
     private void validateVehicleBrand(VehicleBrand vehicleBrand) {
-        Optional<VehicleBrand> existingVehicleBrand = repository.findByName(vehicleBrand.getName());
-        if (existingVehicleBrand.isPresent() && !existingVehicleBrand.get().getId().equals(vehicleBrand.getId())) {
+        if (repository.findTakenFields(vehicleBrand, "name").contains("name")) {
             throw new UniqueConstraintViolationException("Marca de veículo já cadastrada com este nome.");
         }
     }
 
     public Page<VehicleBrandProjection> findAll(Pageable pageable) {
-        Page<VehicleBrand> vehicleBrandsPage = repository.findAll(pageable);
-        return vehicleBrandsPage.map(vehicleBrand -> projectionFactory.createProjection(VehicleBrandProjection.class, vehicleBrand));
+        return repository.findProjected(null, VehicleBrandProjection.SELECTION, pageable);
     }
 
     public Page<VehicleBrandProjection> search(String query, Pageable pageable) {
         Specification<VehicleBrand> spec = VehicleBrandSpecification.search(query);
-        Page<VehicleBrand> page = repository.findAll(spec, pageable);
-        return page.map(vehicleBrand -> projectionFactory.createProjection(VehicleBrandProjection.class, vehicleBrand));
+        return repository.findProjected(spec, VehicleBrandProjection.SELECTION, pageable);
     }
 }
 
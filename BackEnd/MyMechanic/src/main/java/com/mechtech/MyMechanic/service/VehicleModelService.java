@@ -3,6 +3,7 @@ package com.mechtech.MyMechanic.service;
 
 import com.mechtech.MyMechanic.entity.Part;
 import com.mechtech.MyMechanic.entity.VehicleModel;
+import com.mechtech.MyMechanic.exception.UniqueConstraintMessages;
 import com.mechtech.MyMechanic.exception.UniqueConstraintViolationException;
 import com.mechtech.MyMechanic.repository.VehicleModelRepository;
 import com.mechtech.MyMechanic.repository.projection.PartProjection;
@@ -14,34 +15,33 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Objects;
-import java.util.Optional;
 
-import static com.mechtech.MyMechanic.multiTenants.TenantContext.getTenantId;
+import static com.mechtech.MyMechanic.multiTenants.TenantContext.requireTenantId;
 
 @Service
 public class VehicleModelService extends AbstractTenantAwareService<VehicleModel, Long, VehicleModelRepository> {
 
-    private final ProjectionFactory projectionFactory;
+    public static final String CACHE_REGION = "vehicleModel";
 
-
-    public VehicleModelService(VehicleModelRepository repository, ProjectionFactory projectionFactory) {
-        super(repository);
-        this.projectionFactory = projectionFactory;
+    public VehicleModelService(VehicleModelRepository repository, CatalogCache catalogCache) {
+        super(repository, catalogCache, CACHE_REGION);
     }
 
     @Transactional
     public VehicleModel createVehicleModel(VehicleModel vehicleModel) {
-        vehicleModel.setTenantId(getTenantId());
+        vehicleModel.setTenantId(requireTenantId());
         try {
             validateVehicleModel(vehicleModel);
-            return repository.save(vehicleModel);
+            VehicleModel saved = repository.save(vehicleModel);
+            // As outras instâncias descartam a busca por nome em cache, que ainda não conhece o novo registro
+            evictCached(saved.getId(), saved.getTenantId());
+            return saved;
         } catch (DataIntegrityViolationException ex) {
-            throw new UniqueConstraintViolationException(Objects.requireNonNull(ex.getRootCause()).getMessage());
+            throw UniqueConstraintMessages.toException(ex, Objects.requireNonNull(ex.getRootCause()).getMessage());
         }
     }
 
@@ -54,6 +54,7 @@ public class VehicleModelService extends AbstractTenantAwareService<VehicleModel
 
         validateVehicleModel(existingVehicleModel);
 
+        evictCached(id, existingVehicleModel.getTenantId());
         return repository.save(existingVehicleModel);
     }
 
@@ -61,25 +62,23 @@ public class VehicleModelService extends AbstractTenantAwareService<VehicleModel
     public void deleteVehicleModel(Long id) {
         VehicleModel vehicleModelToDelete = findById(id);
         repository.delete(vehicleModelToDelete);
+        evictCached(id, vehicleModelToDelete.getTenantId());
     }
 
     private void validateVehicleModel(VehicleModel vehicleModel) {
-        Optional<VehicleModel> existingVehicleModel = repository.findByName(vehicleModel.getName());
-        if (existingVehicleModel.isPresent() && !existingVehicleModel.get().getId().equals(vehicleModel.getId())) {
+        if (repository.findTakenFields(vehicleModel, "name").contains("name")) {
             throw new UniqueConstraintViolationException("Modelo de veículo já cadastrado com este nome.");
         }
     }
 
     @Transactional(readOnly = true)
     public Page<VehicleModelProjection> findAll(Pageable pageable) {
-        Page<VehicleModel> page = repository.findAll(pageable);
-        return page.map(modal -> projectionFactory.createProjection(VehicleModelProjection.class, modal));
+        return repository.findProjected(null, VehicleModelProjection.SELECTION, pageable);
     }
 
     public Page<VehicleModelProjection> search(String query, Pageable pageable) {
         Specification<VehicleModel> spec = VehicleModelSpecification.search(query);
-        Page<VehicleModel> page = repository.findAll(spec, pageable);
-        return page.map(vehicleModel -> projectionFactory.createProjection(VehicleModelProjection.class, vehicleModel));
+        return repository.findProjected(spec, VehicleModelProjection.SELECTION, pageable);
     }
 
 
@@ -1,10 +1,12 @@
 package com.mechtech.MyMechanic.service;
 
 import com.mechtech.MyMechanic.entity.Vehicle;
+import com.mechtech.MyMechanic.exception.UniqueConstraintMessages;
 import com.mechtech.MyMechanic.exception.UniqueConstraintViolationException;
 import com.mechtech.MyMechanic.repository.VehicleRepository;
 import com.mechtech.MyMechanic.repository.projection.VehicleProjection;
 import com.mechtech.MyMechanic.repository.specification.VehicleSpecification;
+import com.mechtech.MyMechanic.web.dto.suggestion.SuggestionDto;
 import com.mechtech.MyMechanic.web.dto.vehicle.VehicleCreateDto;
 import com.mechtech.MyMechanic.web.dto.vehicle.VehicleUpdateDto;
 import com.mechtech.MyMechanic.web.mapper.VehicleMapper;
@@ -13,40 +15,45 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Objects;
-import java.util.Optional;
 
-import static com.mechtech.MyMechanic.multiTenants.TenantContext.getTenantId;
+import static com.mechtech.MyMechanic.multiTenants.TenantContext.requireTenantId;
 
 @Service
 public class VehicleService extends AbstractTenantAwareService<Vehicle, Long, VehicleRepository> {
 
     private final ClientService clientService;
-    private final ProjectionFactory projectionFactory;
     private final VehicleMapper vehicleMapper;
     private final VehicleModelService vehicleModelService;
+    private final SuggestionService suggestionService;
+    private final DashboardService dashboardService;
 
-    public VehicleService(VehicleRepository repository, @Lazy ClientService clientService, ProjectionFactory projectionFactory, VehicleMapper vehicleMapper, VehicleModelService vehicleModelService) {
+    public VehicleService(VehicleRepository repository, @Lazy ClientService clientService, VehicleMapper vehicleMapper, VehicleModelService vehicleModelService,
+                          SuggestionService suggestionService, DashboardService dashboardService) {
         super(repository);
         this.clientService = clientService;
-        this.projectionFactory = projectionFactory;
         this.vehicleMapper = vehicleMapper;
         this.vehicleModelService = vehicleModelService;
+        this.suggestionService = suggestionService;
+        this.dashboardService = dashboardService;
     }
 
     @Transactional
     public Vehicle createVehicle(VehicleCreateDto dto) {
-        Vehicle newVehicle = vehicleMapper.toVehicle(dto, clientService.findById(dto.getClientId()), vehicleModelService.findById(dto.getModelId()) );
-        newVehicle.setTenantId(getTenantId());
+        Vehicle newVehicle = vehicleMapper.toVehicle(dto, clientService.findById(dto.getClientId()), vehicleModelService.findCachedById(dto.getModelId()) );
+        newVehicle.setTenantId(requireTenantId());
         try {
             validateVehicle(newVehicle);
-            return repository.save(newVehicle);
+            // Com ids de sequência o INSERT só iria no commit, fora deste catch: o flush o antecipa
+            Vehicle savedVehicle = repository.saveAndFlush(newVehicle);
+            suggestionService.indexVehicle(savedVehicle);
+            dashboardService.vehiclesChanged(savedVehicle.getTenantId(), 1);
+            return savedVehicle;
         } catch (DataIntegrityViolationException ex) {
-            throw new UniqueConstraintViolationException(Objects.requireNonNull(ex.getRootCause()).getMessage());
+            throw UniqueConstraintMessages.toException(ex, Objects.requireNonNull(ex.getRootCause()).getMessage());
         }
     }
 
@@ -56,24 +63,27 @@ public class VehicleService extends AbstractTenantAwareService<Vehicle, Long, Ve
         vehicleMapper.updateVehicleFromDto(dto, vehicleToUpdate);
 
         vehicleToUpdate.setClient(clientService.findById(dto.getClientId()));
-        vehicleToUpdate.setModel(vehicleModelService.findById(dto.getModelId()));
+        vehicleToUpdate.setModel(vehicleModelService.findCachedById(dto.getModelId()));
 
         validateVehicle(vehicleToUpdate);
 
-        return repository.save(vehicleToUpdate);
+        Vehicle savedVehicle = repository.save(vehicleToUpdate);
+        suggestionService.indexVehicle(savedVehicle);
+        return savedVehicle;
     }
 
     @Transactional
     public void deleteVehicle(Long id) {
         Vehicle vehicleToDelete = findById(id);
         repository.delete(vehicleToDelete);
+        suggestionService.remove(SuggestionDto.Type.VEHICLE, id, vehicleToDelete.getTenantId());
+        dashboardService.vehiclesChanged(vehicleToDelete.getTenantId(), -1);
     }
 
 
     @Transactional(readOnly = true)
     public Page<VehicleProjection> findAll(Pageable pageable) {
-        Page<Vehicle> vehiclesPage = repository.findAll(pageable);
-        return vehiclesPage.map(vehicle -> projectionFactory.createProjection(VehicleProjection.class, vehicle));
+        return repository.findProjected(null, VehicleProjection.SELECTION, pageable);
     }
 
     @Transactional(readOnly = true)
@@ -81,20 +91,17 @@ public class VehicleService extends AbstractTenantAwareService<Vehicle, Long, Ve
         clientService.findById(clientId);
 
         Specification<Vehicle> spec = (root, query, cb) -> cb.equal(root.get("client").get("id"), clientId);
-        Page<Vehicle> vehiclesPage = repository.findAll(spec, pageable);
-        return vehiclesPage.map(vehicle -> projectionFactory.createProjection(VehicleProjection.class, vehicle));
+        return repository.findProjected(spec, VehicleProjection.SELECTION, pageable);
     }
 
     @Transactional(readOnly = true)
     public Page<VehicleProjection> search(String searchTerm, Pageable pageable) {
         Specification<Vehicle> spec = VehicleSpecification.search(searchTerm);
-        Page<Vehicle> vehiclesPage = repository.findAll(spec, pageable);
-        return vehiclesPage.map(vehicle -> projectionFactory.createProjection(VehicleProjection.class, vehicle));
+        return repository.findProjected(spec, VehicleProjection.SELECTION, pageable);
     }
 
     void validateVehicle(Vehicle vehicle){
-        Optional<Vehicle> existingVehicle = repository.findByLicensePlate(vehicle.getLicensePlate());
-        if (existingVehicle.isPresent() && !existingVehicle.get().getId().equals(vehicle.getId())){
+        if (repository.findTakenFields(vehicle, "licensePlate").contains("licensePlate")){
             throw new UniqueConstraintViolationException("Placa já cadastrada");
         }
     }
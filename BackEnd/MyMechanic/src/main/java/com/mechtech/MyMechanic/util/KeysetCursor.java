@@ -0,0 +1,91 @@
+package com.mechtech.MyMechanic.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mechtech.MyMechanic.exception.BusinessRuleException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Cursor opaco para paginação por keyset: os valores das colunas de ordenação do último
+// registro da página, serializados em JSON e codificados em Base64 URL-safe.
+public final class KeysetCursor {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<LinkedHashMap<String, String>> KEYS_TYPE = new TypeReference<>() {
+    };
+
+    // Construtor privado para evitar que a classe seja instanciada
+    private KeysetCursor() {}
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    // Cursor vazio = primeira página
+    public static KeysetScrollPosition decode(String cursor, Map<String, Class<?>> keyTypes) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            Map<String, String> raw = MAPPER.readValue(json, KEYS_TYPE);
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (Map.Entry<String, Class<?>> keyType : keyTypes.entrySet()) {
+                String value = raw.get(keyType.getKey());
+                if (value == null) {
+                    throw new BusinessRuleException("Cursor de paginação inválido.");
+                }
+                keys.put(keyType.getKey(), convert(value, keyType.getValue()));
+            }
+            return ScrollPosition.forward(keys);
+        } catch (BusinessRuleException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BusinessRuleException("Cursor de paginação inválido.");
+        }
+    }
+
+    // Cursor da próxima página, ou null quando não há mais registros
+    public static String next(Window<?> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        Map<String, String> raw = new LinkedHashMap<>();
+        position.getKeys().forEach((key, value) -> raw.put(key, String.valueOf(value)));
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MAPPER.writeValueAsString(raw).getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha ao gerar cursor de paginação", e);
+        }
+    }
+
+    private static Object convert(String value, Class<?> type) {
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.parse(value);
+        }
+        if (type == Long.class) {
+            return Long.valueOf(value);
+        }
+        if (type == Integer.class) {
+            return Integer.valueOf(value);
+        }
+        return value;
+    }
+}
@@ -1,18 +1,15 @@
 package com.mechtech.MyMechanic.web.controller;
 
 
-import com.mechtech.MyMechanic.entity.User;
 import com.mechtech.MyMechanic.jwt.JwtToken;
-import com.mechtech.MyMechanic.jwt.JwtUserDetailsService;
-import com.mechtech.MyMechanic.service.UserService;
+import com.mechtech.MyMechanic.service.LoginService;
+import com.mechtech.MyMechanic.web.dto.user.RefreshTokenDto;
 import com.mechtech.MyMechanic.web.dto.user.UserLoginDto;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -23,23 +20,27 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 @RequestMapping("/api/v1")
 public class AuthenticationController {
-    private final UserService userService;
 
-    private final JwtUserDetailsService jwtUserDetailsService;
-    private final AuthenticationManager authenticationManager;
+    private final LoginService loginService;
 
 
     @PostMapping("/auth")
     public ResponseEntity<?> authenticate(@RequestBody @Valid UserLoginDto userLoginDto, HttpServletRequest request){
         log.info("Authenticating user: {}", userLoginDto.getEmail());
-        User userAux = userService.findByEmailForAuthentication(userLoginDto.getEmail());
-
-        UsernamePasswordAuthenticationToken authenticationToken =
-                new UsernamePasswordAuthenticationToken(userLoginDto.getEmail(), userLoginDto.getPassword());
-        authenticationManager.authenticate(authenticationToken); // Se falhar, lança AuthenticationException
-        JwtToken jwtToken = jwtUserDetailsService.getTokenAuthenticated(userLoginDto.getEmail(), userAux.getTenantId());
+        JwtToken jwtToken = loginService.login(userLoginDto); // Se falhar, lança BadCredentialsException
         return ResponseEntity.ok(jwtToken);
       }
 
+    @PostMapping("/auth/refresh")
+    public ResponseEntity<JwtToken> refresh(@RequestBody @Valid RefreshTokenDto refreshTokenDto) {
+        return ResponseEntity.ok(loginService.refresh(refreshTokenDto.getRefreshToken()));
+    }
+
+    @PostMapping("/auth/logout")
+    public ResponseEntity<Void> logout(@RequestBody @Valid RefreshTokenDto refreshTokenDto) {
+        loginService.logout(refreshTokenDto.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
 
 }
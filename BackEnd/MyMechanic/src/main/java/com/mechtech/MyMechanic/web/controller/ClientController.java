@@ -9,6 +9,7 @@ import com.mechtech.MyMechanic.service.ClientService;
 import com.mechtech.MyMechanic.web.dto.client.ClientCreateDto;
 import com.mechtech.MyMechanic.web.dto.client.ClientResponseDto;
 import com.mechtech.MyMechanic.web.dto.client.ClientUpdateDto;
+import com.mechtech.MyMechanic.web.dto.pageable.CursorPageDto;
 import com.mechtech.MyMechanic.web.dto.pageable.PageableDto;
 import com.mechtech.MyMechanic.web.mapper.ClientMapper;
 import com.mechtech.MyMechanic.web.mapper.PageableMapper;
@@ -16,6 +17,8 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -78,4 +81,20 @@ public class ClientController {
         return ResponseEntity.ok(pageableMapper.toDto(clientPage));
     }
 
+    // Paginação por cursor (keyset), sem total: ?after=<cursor>&size=50; "after" vazio = primeira página
+    @GetMapping(value = {"", "/search"}, params = "after")
+    public ResponseEntity<CursorPageDto> scroll(@RequestParam(name = "q", required = false) String query,
+                                                @RequestParam(name = "after") String after,
+                                                @RequestParam(name = "size", defaultValue = "20") int size) {
+        Window<ClientProjection> window = clientService.scroll(query, after, size);
+        return ResponseEntity.ok(pageableMapper.toDto(window));
+    }
+
+    // Paginação sem COUNT(*): ?count=false devolve a página com total aproximado (approximate = true)
+    @GetMapping(value = {"", "/search"}, params = {"count=false", "!after"})
+    public ResponseEntity<PageableDto> slice(@RequestParam(name = "q", required = false) String query, Pageable pageable) {
+        Slice<ClientProjection> slice = clientService.slice(query, pageable);
+        return ResponseEntity.ok(pageableMapper.toDto(slice, clientService.approximateTotal(query)));
+    }
+
 }
@@ -6,6 +6,7 @@ import com.mechtech.MyMechanic.repository.projection.InvoiceProjection;
 import com.mechtech.MyMechanic.service.InvoiceService;
 import com.mechtech.MyMechanic.web.dto.invoice.InvoiceResponseDto;
 import com.mechtech.MyMechanic.web.dto.invoice.InvoiceUpdatePaymentDto;
+import com.mechtech.MyMechanic.web.dto.pageable.CursorPageDto;
 import com.mechtech.MyMechanic.web.dto.pageable.PageableDto;
 import com.mechtech.MyMechanic.web.mapper.InvoiceMapper;
 import com.mechtech.MyMechanic.web.mapper.PageableMapper;
@@ -13,11 +14,15 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.Callable;
+
 @RestController
 @RequestMapping("/api/v1/invoices")
 @RequiredArgsConstructor
@@ -46,6 +51,22 @@ public class InvoiceController {
         return ResponseEntity.ok(pageableMapper.toDto(invoicePage));
     }
 
+    // Paginação por cursor (keyset), sem total: ?after=<cursor>&size=50; "after" vazio = primeira página
+    @GetMapping(value = {"", "/search"}, params = "after")
+    public ResponseEntity<CursorPageDto> scroll(@RequestParam(name = "q", required = false) String query,
+                                                @RequestParam(name = "after") String after,
+                                                @RequestParam(name = "size", defaultValue = "20") int size) {
+        Window<InvoiceProjection> window = invoiceService.scroll(query, after, size);
+        return ResponseEntity.ok(pageableMapper.toDto(window));
+    }
+
+    // Paginação sem COUNT(*): ?count=false devolve a página com total aproximado (approximate = true)
+    @GetMapping(value = {"", "/search"}, params = {"count=false", "!after"})
+    public ResponseEntity<PageableDto> slice(@RequestParam(name = "q", required = false) String query, Pageable pageable) {
+        Slice<InvoiceProjection> slice = invoiceService.slice(query, pageable);
+        return ResponseEntity.ok(pageableMapper.toDto(slice, invoiceService.approximateTotal(query)));
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<InvoiceResponseDto> updatePaymentStatus(@PathVariable Long id, @Valid @RequestBody InvoiceUpdatePaymentDto dto) {
         Invoice updatedInvoice = invoiceService.updatePaymentStatus(id, dto.getPaymentStatus());
@@ -53,14 +74,16 @@ public class InvoiceController {
     }
 
     @GetMapping("/{id}/pdf")
-    public ResponseEntity<byte[]> getInvoicePdf(@PathVariable Long id) {
-        byte[] pdfContents = invoiceService.getInvoiceAsPdf(id);
+    public Callable<ResponseEntity<byte[]>> getInvoicePdf(@PathVariable Long id) {
+        return () -> {
+            byte[] pdfContents = invoiceService.getInvoiceAsPdf(id);
 
-        String filename = "fatura-" + id + ".pdf";
+            String filename = "fatura-" + id + ".pdf";
 
-        return ResponseEntity.ok()
-                .header("Content-Type", "application/pdf")
-                .header("Content-Disposition", "inline; filename=\"" + filename + "\"")
-                .body(pdfContents);
+            return ResponseEntity.ok()
+                    .header("Content-Type", "application/pdf")
+                    .header("Content-Disposition", "inline; filename=\"" + filename + "\"")
+                    .body(pdfContents);
+        };
     }
 }
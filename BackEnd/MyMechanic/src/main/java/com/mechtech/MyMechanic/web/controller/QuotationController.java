@@ -4,6 +4,7 @@ import com.mechtech.MyMechanic.config.security.IsAdminOrClient;
 import com.mechtech.MyMechanic.entity.Quotation;
 import com.mechtech.MyMechanic.repository.projection.QuotationProjection;
 import com.mechtech.MyMechanic.service.QuotationService;
+import com.mechtech.MyMechanic.web.dto.pageable.CursorPageDto;
 import com.mechtech.MyMechanic.web.dto.pageable.PageableDto;
 import com.mechtech.MyMechanic.web.dto.quotation.QuotationCreateDto;
 import com.mechtech.MyMechanic.web.dto.quotation.QuotationUpdateDto;
@@ -14,11 +15,14 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 @RequiredArgsConstructor
 @RestController
@@ -79,15 +83,33 @@ public class QuotationController {
         return ResponseEntity.ok(pageableMapper.toDto(quotationPage));
     }
 
+    // Paginação por cursor (keyset), sem total: ?after=<cursor>&size=50; "after" vazio = primeira página
+    @GetMapping(value = {"", "/search"}, params = "after")
+    public ResponseEntity<CursorPageDto> scroll(@RequestParam(name = "q", required = false) String query,
+                                                @RequestParam(name = "after") String after,
+                                                @RequestParam(name = "size", defaultValue = "20") int size) {
+        Window<QuotationProjection> window = quotationService.scroll(query, after, size);
+        return ResponseEntity.ok(pageableMapper.toDto(window));
+    }
+
+    // Paginação sem COUNT(*): ?count=false devolve a página com total aproximado (approximate = true)
+    @GetMapping(value = {"", "/search"}, params = {"count=false", "!after"})
+    public ResponseEntity<PageableDto> slice(@RequestParam(name = "q", required = false) String query, Pageable pageable) {
+        Slice<QuotationProjection> slice = quotationService.slice(query, pageable);
+        return ResponseEntity.ok(pageableMapper.toDto(slice, quotationService.approximateTotal(query)));
+    }
+
     @GetMapping("/{id}/pdf")
-    public ResponseEntity<byte[]> getQuotationPdf(@PathVariable Long id) {
-        byte[] pdfContents = quotationService.getQuotationAsPdf(id);
+    public Callable<ResponseEntity<byte[]>> getQuotationPdf(@PathVariable Long id) {
+        return () -> {
+            byte[] pdfContents = quotationService.getQuotationAsPdf(id);
 
-        String filename = "Orçamento-" + id + ".pdf";
+            String filename = "Orçamento-" + id + ".pdf";
 
-        return ResponseEntity.ok()
-                .header("Content-Type", "application/pdf")
-                .header("Content-Disposition", "inline; filename=\"" + filename + "\"")
-                .body(pdfContents);
+            return ResponseEntity.ok()
+                    .header("Content-Type", "application/pdf")
+                    .header("Content-Disposition", "inline; filename=\"" + filename + "\"")
+                    .body(pdfContents);
+        };
     }
 }
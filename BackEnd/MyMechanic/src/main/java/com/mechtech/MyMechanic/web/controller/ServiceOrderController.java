@@ -4,6 +4,7 @@ import com.mechtech.MyMechanic.config.security.IsAdminOrClient;
 import com.mechtech.MyMechanic.entity.ServiceOrder;
 import com.mechtech.MyMechanic.repository.projection.ServiceOrderProjection;
 import com.mechtech.MyMechanic.service.ServiceOrderService;
+import com.mechtech.MyMechanic.web.dto.pageable.CursorPageDto;
 import com.mechtech.MyMechanic.web.dto.pageable.PageableDto;
 import com.mechtech.MyMechanic.web.dto.serviceorder.ServiceOrderCreateDto;
 import com.mechtech.MyMechanic.web.dto.serviceorder.ServiceOrderResponseDto;
@@ -14,11 +15,15 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.Callable;
+
 @RestController
 @RequestMapping("/api/v1/service-orders")
 @RequiredArgsConstructor
@@ -67,21 +72,40 @@ public class ServiceOrderController {
         return ResponseEntity.ok(pageableMapper.toDto(serviceOrderPage));
     }
 
+    // Paginação por cursor (keyset), sem total: ?after=<cursor>&size=50; "after" vazio = primeira página
+    @GetMapping(value = {"", "/search"}, params = "after")
+    public ResponseEntity<CursorPageDto> scroll(@RequestParam(name = "q", required = false) String query,
+                                                @RequestParam(name = "after") String after,
+                                                @RequestParam(name = "size", defaultValue = "20") int size) {
+        Window<ServiceOrderProjection> window = serviceOrderService.scroll(query, after, size);
+        return ResponseEntity.ok(pageableMapper.toDto(window));
+    }
+
+    // Paginação sem COUNT(*): ?count=false devolve a página com total aproximado (approximate = true)
+    @GetMapping(value = {"", "/search"}, params = {"count=false", "!after"})
+    public ResponseEntity<PageableDto> slice(@RequestParam(name = "q", required = false) String query, Pageable pageable) {
+        Slice<ServiceOrderProjection> slice = serviceOrderService.slice(query, pageable);
+        return ResponseEntity.ok(pageableMapper.toDto(slice, serviceOrderService.approximateTotal(query)));
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<ServiceOrderResponseDto> updateServiceOrder(@PathVariable Long id, @Valid @RequestBody ServiceOrderUpdateDto dto) { // Mudar para @PathVariable e @RequestBody
         ServiceOrder updatedServiceOrder = serviceOrderService.update(id, dto);
         return ResponseEntity.ok(serviceOrderMapper.toDto(updatedServiceOrder));
     }
 
+    // Renderizado no executor de tarefas, fora da thread da requisição (o tenant segue pelo TenantTaskDecorator)
     @GetMapping("/{id}/pdf")
-    public ResponseEntity<byte[]> getServiceOrderPdf(@PathVariable Long id) {
-        byte[] pdfContents = serviceOrderService.getServiceOrderAsPdf(id);
+    public Callable<ResponseEntity<byte[]>> getServiceOrderPdf(@PathVariable Long id) {
+        return () -> {
+            byte[] pdfContents = serviceOrderService.getServiceOrderAsPdf(id);
 
-        String filename = "ordem-servico-" + id + ".pdf";
+            String filename = "ordem-servico-" + id + ".pdf";
 
-        return ResponseEntity.ok()
-                .header("Content-Type", "application/pdf")
-                .header("Content-Disposition", "inline; filename=\"" + filename + "\"")
-                .body(pdfContents);
+            return ResponseEntity.ok()
+                    .header("Content-Type", "application/pdf")
+                    .header("Content-Disposition", "inline; filename=\"" + filename + "\"")
+                    .body(pdfContents);
+        };
     }
 }
\ No newline at end of file
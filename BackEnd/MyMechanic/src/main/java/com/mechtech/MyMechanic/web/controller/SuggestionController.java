@@ -0,0 +1,32 @@
+package com.mechtech.MyMechanic.web.controller;
+
+import com.mechtech.MyMechanic.service.SuggestionService;
+import com.mechtech.MyMechanic.web.dto.suggestion.SuggestionDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Sugestões", description = "Autocompletar de placas, clientes e peças")
+@RestController
+@RequestMapping("/api/v1/suggest")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN') or @securityService.isTenantMember(#id)")
+public class SuggestionController {
+
+    private final SuggestionService suggestionService;
+
+    @Operation(summary = "Sugestões por prefixo de placa, nome/CPF de cliente e código/nome de peça")
+    @GetMapping
+    public ResponseEntity<List<SuggestionDto>> suggest(@RequestParam(name = "q") String query,
+                                                       @RequestParam(name = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(suggestionService.suggest(query, limit));
+    }
+}
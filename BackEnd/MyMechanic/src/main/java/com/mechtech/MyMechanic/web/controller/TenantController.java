@@ -14,6 +14,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -85,4 +86,12 @@ public class TenantController {
         Page<Tenant> tenants = tenantService.findAll(pageable);
         return ResponseEntity.ok(pageableMapper.toDto(tenants.map(tenantMapper::toDto)));
     }
+
+    @Operation(summary = "Listar empresas sem contagem exata (total aproximado)")
+    @GetMapping(params = "count=false")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PageableDto> getAllSlice(@PageableDefault(size = 10, sort = "name") Pageable pageable) {
+        Slice<Tenant> tenants = tenantService.slice(pageable);
+        return ResponseEntity.ok(pageableMapper.toDto(tenants.map(tenantMapper::toDto), tenantService.approximateTotal()));
+    }
 }
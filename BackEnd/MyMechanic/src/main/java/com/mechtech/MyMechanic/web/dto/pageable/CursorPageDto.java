@@ -0,0 +1,19 @@
+package com.mechtech.MyMechanic.web.dto.pageable;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Página por cursor (keyset): sem total de registros, apenas o cursor da próxima página
+@Getter
+@Setter
+public class CursorPageDto {
+
+    private List content = new ArrayList<>();
+
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -22,6 +22,9 @@ public class PageableDto {
     private int size;
     @JsonProperty("pageElements")
     private int numberOfElements;
-    private int totalPages;
-    private int totalElements;
+    // Nulos no modo sem contagem enquanto ainda não há estimativa
+    private Integer totalPages;
+    private Long totalElements;
+    // true quando os totais vêm da contagem aproximada (modo ?count=false)
+    private boolean approximate;
 }
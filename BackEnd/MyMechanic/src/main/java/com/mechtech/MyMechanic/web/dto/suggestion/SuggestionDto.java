@@ -0,0 +1,11 @@
+package com.mechtech.MyMechanic.web.dto.suggestion;
+
+// Sugestão do autocompletar: placa (VEHICLE), cliente por nome/CPF (CLIENT) ou peça por código/nome (PART)
+public record SuggestionDto(Type type, Long id, String label, String detail) {
+
+    public enum Type {
+        VEHICLE,
+        CLIENT,
+        PART
+    }
+}
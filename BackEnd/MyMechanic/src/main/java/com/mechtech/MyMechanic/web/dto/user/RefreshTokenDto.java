@@ -0,0 +1,13 @@
+package com.mechtech.MyMechanic.web.dto.user;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RefreshTokenDto {
+
+    @NotBlank(message = "Refresh token não pode estar em branco")
+    private String refreshToken;
+}
@@ -88,12 +88,12 @@ public class ClientMapper {
             return null;
         }
         ClientProjectionDto dto = new ClientProjectionDto();
-        dto.setId(projection.getId());
-        dto.setName(projection.getName());
-        dto.setEmail(projection.getEmail());
-        dto.setPhone(projection.getPhone());
-        dto.setCpf(projection.getCpf());
-        dto.setAddress(addressMapper.toDto(projection.getAddress()));
+        dto.setId(projection.id());
+        dto.setName(projection.name());
+        dto.setEmail(projection.email());
+        dto.setPhone(projection.phone());
+        dto.setCpf(projection.cpf());
+        dto.setAddress(addressMapper.toDto(projection.address()));
         return dto;
 
     };
@@ -31,7 +31,7 @@ public class EmployeeMapper {
         employee.setCpf(dto.getCpf());
 
         if (dto.getRoleId() != null) {
-            Role role = roleService.findById(dto.getRoleId());
+            Role role = roleService.findCachedById(dto.getRoleId());
             employee.setRole(role);
         }
 
@@ -77,7 +77,7 @@ public class EmployeeMapper {
         if (dto.getName() != null) employee.setName(dto.getName());
 
         if (dto.getRoleId() != null) {
-            Role role = roleService.findById(dto.getRoleId());
+            Role role = roleService.findCachedById(dto.getRoleId());
             employee.setRole(role);
         }
 
@@ -102,11 +102,11 @@ public class EmployeeMapper {
     public EmployeeProjectionDto toProjectionDto(EmployeeProjection employee) {
         if (employee == null) return null;
         EmployeeProjectionDto dto = new EmployeeProjectionDto();
-        dto.setId(employee.getId());
-        dto.setName(employee.getName());
-        dto.setRole(employee.getRole().getName());
-        dto.setEmail(employee.getEmail());
-        dto.setPhone(employee.getPhone());
+        dto.setId(employee.id());
+        dto.setName(employee.name());
+        dto.setRole(employee.role().getName());
+        dto.setEmail(employee.email());
+        dto.setPhone(employee.phone());
         return dto;
     }
 }
\ No newline at end of file
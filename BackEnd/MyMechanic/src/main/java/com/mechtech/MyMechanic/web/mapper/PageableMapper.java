@@ -1,7 +1,11 @@
 package com.mechtech.MyMechanic.web.mapper;
 
+import com.mechtech.MyMechanic.util.KeysetCursor;
+import com.mechtech.MyMechanic.web.dto.pageable.CursorPageDto;
 import com.mechtech.MyMechanic.web.dto.pageable.PageableDto;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -19,7 +23,42 @@ public class PageableMapper {
         dto.setSize(page.getSize());
         dto.setNumberOfElements(page.getNumberOfElements());
         dto.setTotalPages(page.getTotalPages());
-        dto.setTotalElements((int) page.getTotalElements());
+        dto.setTotalElements(page.getTotalElements());
+        return dto;
+    }
+
+    // Slice não tem total: usa a estimativa informada, quando houver
+    public PageableDto toDto(Slice slice, Long approximateTotal) {
+        if (slice == null) {
+            return null;
+        }
+        PageableDto dto = new PageableDto();
+        dto.setContent(slice.getContent());
+        dto.setFirst(slice.isFirst());
+        dto.setLast(slice.isLast());
+        dto.setNumber(slice.getNumber());
+        dto.setSize(slice.getSize());
+        dto.setNumberOfElements(slice.getNumberOfElements());
+        dto.setApproximate(true);
+        if (approximateTotal != null) {
+            // A estimativa nunca fica abaixo do que já foi percorrido
+            long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+            long total = Math.max(approximateTotal, seen);
+            dto.setTotalElements(total);
+            dto.setTotalPages(slice.getSize() == 0 ? 1 : (int) Math.ceil((double) total / slice.getSize()));
+        }
+        return dto;
+    }
+
+    public CursorPageDto toDto(Window window) {
+        if (window == null) {
+            return null;
+        }
+        CursorPageDto dto = new CursorPageDto();
+        dto.setContent(window.getContent());
+        dto.setSize(window.size());
+        dto.setHasNext(window.hasNext());
+        dto.setNextCursor(KeysetCursor.next(window));
         return dto;
     }
 }
\ No newline at end of file
@@ -28,7 +28,7 @@ public class VehicleModelMapper {
         if (dto == null) {
             return null;
         }
-        VehicleBrand brand = vehicleBrandService.findById(dto.getBrandId());
+        VehicleBrand brand = vehicleBrandService.findCachedById(dto.getBrandId());
 
         VehicleModel vehicleModel = new VehicleModel();
         vehicleModel.setName(dto.getName());
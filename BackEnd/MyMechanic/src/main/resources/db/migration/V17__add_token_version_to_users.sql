@@ -0,0 +1,4 @@
+-- Versão do token do usuário. É incrementada quando a senha muda ou o usuário é removido,
+-- invalidando os JWTs emitidos anteriormente.
+ALTER TABLE users
+    ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,27 @@
+-- Row-level security por tenant (usado quando app.tenancy.isolation=rls).
+-- A aplicação define app.tenant_id a cada conexão obtida do pool. A política é fechada: sem
+-- tenant definido nenhuma linha é visível. Acesso a todos os tenants só com app.bypass_rls = 'on',
+-- definido explicitamente pelas migrações (spring.flyway.init-sqls), pelo modo padrão (filtro do
+-- Hibernate, na abertura de cada conexão) e, no modo rls, pelos métodos marcados com @CrossTenant.
+-- Atenção: superusuários e roles com BYPASSRLS ignoram estas políticas.
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY[
+        'clients', 'employee', 'part', 'repair_service', 'vehicles', 'users',
+        'quotations', 'service_order', 'invoice', 'roles', 'vehicle_brands', 'vehicle_models'
+    ]
+    LOOP
+        EXECUTE format('ALTER TABLE %I ENABLE ROW LEVEL SECURITY', t);
+        -- FORCE: o dono da tabela (normalmente o usuário da aplicação) também fica sujeito à política
+        EXECUTE format('ALTER TABLE %I FORCE ROW LEVEL SECURITY', t);
+        EXECUTE format(
+            'CREATE POLICY tenant_isolation ON %I
+                USING (current_setting(''app.bypass_rls'', true) = ''on''
+                       OR tenant_id = NULLIF(current_setting(''app.tenant_id'', true), ''''))
+                WITH CHECK (current_setting(''app.bypass_rls'', true) = ''on''
+                       OR tenant_id = NULLIF(current_setting(''app.tenant_id'', true), ''''))',
+            t);
+    END LOOP;
+END $$;
@@ -0,0 +1,26 @@
+-- tenant_id passa de VARCHAR(255) para BIGINT com chave estrangeira para tenants.
+-- As políticas de RLS (V19) referenciam a coluna e precisam ser recriadas em torno da troca de tipo.
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY[
+        'clients', 'employee', 'part', 'repair_service', 'vehicles', 'users',
+        'quotations', 'service_order', 'invoice', 'roles', 'vehicle_brands', 'vehicle_models'
+    ]
+    LOOP
+        EXECUTE format('DROP POLICY IF EXISTS tenant_isolation ON %I', t);
+
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN tenant_id TYPE BIGINT USING NULLIF(tenant_id, '''')::BIGINT', t);
+        EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I FOREIGN KEY (tenant_id) REFERENCES tenants (id)',
+                       t, 'fk_' || t || '_tenant');
+
+        EXECUTE format(
+            'CREATE POLICY tenant_isolation ON %I
+                USING (current_setting(''app.bypass_rls'', true) = ''on''
+                       OR tenant_id = NULLIF(current_setting(''app.tenant_id'', true), '''')::BIGINT)
+                WITH CHECK (current_setting(''app.bypass_rls'', true) = ''on''
+                       OR tenant_id = NULLIF(current_setting(''app.tenant_id'', true), '''')::BIGINT)',
+            t);
+    END LOOP;
+END $$;
@@ -0,0 +1,37 @@
+-- Índices compostos iniciados por tenant_id, parciais em deleted = false, pois toda consulta
+-- recebe "tenant_id = ? AND deleted = false" dos filtros tenantFilter/deletedFilter.
+
+-- Ordens de serviço: listagem, dashboard (status) e faturamento/comissões (status + exit_date)
+CREATE INDEX idx_service_order_tenant_status_exit ON service_order (tenant_id, status, exit_date) WHERE deleted = false;
+CREATE INDEX idx_service_order_tenant_entry ON service_order (tenant_id, entry_date) WHERE deleted = false;
+
+-- Orçamentos
+CREATE INDEX idx_quotations_tenant_created ON quotations (tenant_id, created_at) WHERE deleted = false;
+CREATE INDEX idx_quotations_tenant_status ON quotations (tenant_id, status) WHERE deleted = false;
+
+-- Faturas
+CREATE INDEX idx_invoice_tenant_status ON invoice (tenant_id, payment_status) WHERE deleted = false;
+CREATE INDEX idx_invoice_tenant_issue ON invoice (tenant_id, issue_date) WHERE deleted = false;
+
+-- Cadastros ordenados/buscados por nome
+CREATE INDEX idx_clients_tenant_name ON clients (tenant_id, name) WHERE deleted = false;
+CREATE INDEX idx_employee_tenant_name ON employee (tenant_id, name) WHERE deleted = false;
+CREATE INDEX idx_part_tenant_name ON part (tenant_id, name) WHERE deleted = false;
+CREATE INDEX idx_repair_service_tenant_name ON repair_service (tenant_id, name) WHERE deleted = false;
+CREATE INDEX idx_roles_tenant_name ON roles (tenant_id, name) WHERE deleted = false;
+CREATE INDEX idx_vehicle_brands_tenant_name ON vehicle_brands (tenant_id, name) WHERE deleted = false;
+CREATE INDEX idx_vehicle_models_tenant_name ON vehicle_models (tenant_id, name) WHERE deleted = false;
+CREATE INDEX idx_vehicle_models_tenant_brand ON vehicle_models (tenant_id, brand_id) WHERE deleted = false;
+CREATE INDEX idx_users_tenant_full_name ON users (tenant_id, full_name) WHERE deleted = false;
+
+-- Veículos por cliente e busca por placa dentro do tenant
+CREATE INDEX idx_vehicles_tenant_client ON vehicles (tenant_id, client_id) WHERE deleted = false;
+CREATE INDEX idx_vehicles_tenant_plate ON vehicles (tenant_id, license_plate) WHERE deleted = false;
+
+-- Chaves estrangeiras usadas nos JOIN FETCH de itens (o PostgreSQL não indexa FKs automaticamente)
+CREATE INDEX idx_quotations_vehicle ON quotations (vehicle_id);
+CREATE INDEX idx_quotation_part_items_quotation ON quotation_part_items (quotation_id);
+CREATE INDEX idx_quotation_service_items_quotation ON quotation_service_items (quotation_id);
+CREATE INDEX idx_service_order_part_items_order ON service_order_part_items (service_order_id);
+CREATE INDEX idx_service_order_service_items_order ON service_order_service_items (service_order_id);
+CREATE INDEX idx_service_order_employees_order ON service_order_employees (service_order_id);
@@ -0,0 +1,11 @@
+-- Apoio à paginação por cursor: ordenação (coluna de data, id) dentro do tenant
+CREATE INDEX idx_quotations_tenant_entry_id ON quotations (tenant_id, entry_date DESC, id DESC) WHERE deleted = false;
+
+DROP INDEX IF EXISTS idx_service_order_tenant_entry;
+CREATE INDEX idx_service_order_tenant_entry_id ON service_order (tenant_id, entry_date DESC, id DESC) WHERE deleted = false;
+
+DROP INDEX IF EXISTS idx_invoice_tenant_issue;
+CREATE INDEX idx_invoice_tenant_issue_id ON invoice (tenant_id, issue_date DESC, id DESC) WHERE deleted = false;
+
+DROP INDEX IF EXISTS idx_clients_tenant_name;
+CREATE INDEX idx_clients_tenant_name_id ON clients (tenant_id, name, id) WHERE deleted = false;
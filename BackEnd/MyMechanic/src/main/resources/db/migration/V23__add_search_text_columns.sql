@@ -0,0 +1,142 @@
+-- Documento de busca por entidade (search_text), em minúsculas, mantido por triggers e indexado com
+-- pg_trgm: a busca das telas vira um único LIKE '%termo%' atendido pelo índice GIN, em vez de um OR
+-- de LIKEs em várias colunas e JOINs (varredura sequencial a cada tecla).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE clients ADD COLUMN search_text TEXT;
+ALTER TABLE quotations ADD COLUMN search_text TEXT;
+ALTER TABLE service_order ADD COLUMN search_text TEXT;
+ALTER TABLE invoice ADD COLUMN search_text TEXT;
+
+-- Partes reaproveitadas: cliente (nome, e-mail) e veículo (placa, modelo, marca)
+CREATE FUNCTION client_search_text(p_client_id BIGINT) RETURNS TEXT
+    LANGUAGE sql STABLE AS $$
+    SELECT concat_ws(' ', c.name, c.email)
+    FROM clients c
+    WHERE c.id = p_client_id
+$$;
+
+CREATE FUNCTION vehicle_search_text(p_vehicle_id BIGINT) RETURNS TEXT
+    LANGUAGE sql STABLE AS $$
+    SELECT concat_ws(' ', v.license_plate, m.name, b.name)
+    FROM vehicles v
+    LEFT JOIN vehicle_models m ON m.id = v.model_id
+    LEFT JOIN vehicle_brands b ON b.id = m.brand_id
+    WHERE v.id = p_vehicle_id
+$$;
+
+-- Cálculo do documento na própria linha (BEFORE INSERT/UPDATE)
+CREATE FUNCTION clients_search_text() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.search_text := lower(concat_ws(' ', NEW.name, NEW.email, NEW.cpf));
+    RETURN NEW;
+END $$;
+
+CREATE FUNCTION service_order_search_text() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.search_text := lower(concat_ws(' ', NEW.description, NEW.status,
+            client_search_text(NEW.client_id), vehicle_search_text(NEW.vehicle_id)));
+    RETURN NEW;
+END $$;
+
+CREATE FUNCTION quotations_search_text() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.search_text := lower(concat_ws(' ', NEW.description, NEW.status,
+            client_search_text(NEW.client_id), vehicle_search_text(NEW.vehicle_id)));
+    RETURN NEW;
+END $$;
+
+CREATE FUNCTION invoice_search_text() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.search_text := lower(concat_ws(' ', NEW.invoice_number,
+            (SELECT concat_ws(' ', client_search_text(so.client_id), vehicle_search_text(so.vehicle_id))
+             FROM service_order so
+             WHERE so.id = NEW.serviceorder_id)));
+    RETURN NEW;
+END $$;
+
+CREATE TRIGGER trg_clients_search_text BEFORE INSERT OR UPDATE ON clients
+    FOR EACH ROW EXECUTE FUNCTION clients_search_text();
+CREATE TRIGGER trg_service_order_search_text BEFORE INSERT OR UPDATE ON service_order
+    FOR EACH ROW EXECUTE FUNCTION service_order_search_text();
+CREATE TRIGGER trg_quotations_search_text BEFORE INSERT OR UPDATE ON quotations
+    FOR EACH ROW EXECUTE FUNCTION quotations_search_text();
+CREATE TRIGGER trg_invoice_search_text BEFORE INSERT OR UPDATE ON invoice
+    FOR EACH ROW EXECUTE FUNCTION invoice_search_text();
+
+-- Propagação: quando um dado usado no documento muda em outra tabela, as linhas dependentes são
+-- "tocadas" (search_text = NULL) e o trigger BEFORE UPDATE delas recalcula o documento.
+CREATE FUNCTION clients_search_text_propagate() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE service_order SET search_text = NULL WHERE client_id = NEW.id;
+    UPDATE quotations SET search_text = NULL WHERE client_id = NEW.id;
+    RETURN NULL;
+END $$;
+
+CREATE FUNCTION vehicles_search_text_propagate() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE service_order SET search_text = NULL WHERE vehicle_id = NEW.id;
+    UPDATE quotations SET search_text = NULL WHERE vehicle_id = NEW.id;
+    RETURN NULL;
+END $$;
+
+CREATE FUNCTION vehicle_models_search_text_propagate() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE service_order SET search_text = NULL
+    WHERE vehicle_id IN (SELECT v.id FROM vehicles v WHERE v.model_id = NEW.id);
+    UPDATE quotations SET search_text = NULL
+    WHERE vehicle_id IN (SELECT v.id FROM vehicles v WHERE v.model_id = NEW.id);
+    RETURN NULL;
+END $$;
+
+CREATE FUNCTION vehicle_brands_search_text_propagate() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE service_order SET search_text = NULL
+    WHERE vehicle_id IN (SELECT v.id FROM vehicles v JOIN vehicle_models m ON m.id = v.model_id WHERE m.brand_id = NEW.id);
+    UPDATE quotations SET search_text = NULL
+    WHERE vehicle_id IN (SELECT v.id FROM vehicles v JOIN vehicle_models m ON m.id = v.model_id WHERE m.brand_id = NEW.id);
+    RETURN NULL;
+END $$;
+
+-- A fatura usa cliente e veículo da OS: acompanha qualquer mudança no documento da OS
+CREATE FUNCTION service_order_search_text_propagate() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE invoice SET search_text = NULL WHERE serviceorder_id = NEW.id;
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER trg_clients_search_text_propagate AFTER UPDATE ON clients
+    FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name OR OLD.email IS DISTINCT FROM NEW.email)
+    EXECUTE FUNCTION clients_search_text_propagate();
+CREATE TRIGGER trg_vehicles_search_text_propagate AFTER UPDATE ON vehicles
+    FOR EACH ROW WHEN (OLD.license_plate IS DISTINCT FROM NEW.license_plate OR OLD.model_id IS DISTINCT FROM NEW.model_id)
+    EXECUTE FUNCTION vehicles_search_text_propagate();
+CREATE TRIGGER trg_vehicle_models_search_text_propagate AFTER UPDATE ON vehicle_models
+    FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name OR OLD.brand_id IS DISTINCT FROM NEW.brand_id)
+    EXECUTE FUNCTION vehicle_models_search_text_propagate();
+CREATE TRIGGER trg_vehicle_brands_search_text_propagate AFTER UPDATE ON vehicle_brands
+    FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name)
+    EXECUTE FUNCTION vehicle_brands_search_text_propagate();
+CREATE TRIGGER trg_service_order_search_text_propagate AFTER UPDATE ON service_order
+    FOR EACH ROW WHEN (OLD.search_text IS DISTINCT FROM NEW.search_text)
+    EXECUTE FUNCTION service_order_search_text_propagate();
+
+-- Preenche os registros existentes (os triggers BEFORE UPDATE calculam o documento)
+UPDATE clients SET search_text = NULL;
+UPDATE quotations SET search_text = NULL;
+UPDATE service_order SET search_text = NULL;
+UPDATE invoice SET search_text = NULL;
+
+CREATE INDEX idx_clients_search_trgm ON clients USING gin (search_text gin_trgm_ops) WHERE deleted = false;
+CREATE INDEX idx_quotations_search_trgm ON quotations USING gin (search_text gin_trgm_ops) WHERE deleted = false;
+CREATE INDEX idx_service_order_search_trgm ON service_order USING gin (search_text gin_trgm_ops) WHERE deleted = false;
+CREATE INDEX idx_invoice_search_trgm ON invoice USING gin (search_text gin_trgm_ops) WHERE deleted = false;
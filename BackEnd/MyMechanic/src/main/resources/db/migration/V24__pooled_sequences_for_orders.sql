@@ -0,0 +1,41 @@
+-- Ordens, orçamentos, seus itens, veículos e clientes passam de IDENTITY para sequências com
+-- incremento 50 (otimizador pooled do Hibernate): os ids são reservados em blocos na memória e
+-- os INSERTs dos itens podem ser enviados em lote (hibernate.jdbc.batch_size).
+-- Os nomes são os implícitos do Hibernate para @GeneratedValue: <tabela>_seq (como employee_seq no V1).
+-- Próximo valor = MAX(id) + 50: o pooled usa o bloco (valor - 49 .. valor], acima dos ids existentes.
+
+ALTER TABLE clients ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE clients_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('clients_seq', COALESCE(MAX(id), 0) + 50, false) FROM clients;
+
+ALTER TABLE vehicles ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE vehicles_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('vehicles_seq', COALESCE(MAX(id), 0) + 50, false) FROM vehicles;
+
+ALTER TABLE quotations ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE quotations_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('quotations_seq', COALESCE(MAX(id), 0) + 50, false) FROM quotations;
+
+ALTER TABLE service_order ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE service_order_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('service_order_seq', COALESCE(MAX(id), 0) + 50, false) FROM service_order;
+
+ALTER TABLE quotation_part_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE quotation_part_items_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('quotation_part_items_seq', COALESCE(MAX(id), 0) + 50, false) FROM quotation_part_items;
+
+ALTER TABLE quotation_service_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE quotation_service_items_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('quotation_service_items_seq', COALESCE(MAX(id), 0) + 50, false) FROM quotation_service_items;
+
+ALTER TABLE service_order_part_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE service_order_part_items_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('service_order_part_items_seq', COALESCE(MAX(id), 0) + 50, false) FROM service_order_part_items;
+
+ALTER TABLE service_order_service_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE service_order_service_items_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('service_order_service_items_seq', COALESCE(MAX(id), 0) + 50, false) FROM service_order_service_items;
+
+ALTER TABLE service_order_employees ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE service_order_employees_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('service_order_employees_seq', COALESCE(MAX(id), 0) + 50, false) FROM service_order_employees;
@@ -0,0 +1,19 @@
+-- Identidade atribuída pela aplicação (AbstractEntity.uuid), usada em equals/hashCode das entidades.
+-- As linhas existentes recebem um valor aleatório; o DEFAULT só cobre INSERTs feitos fora da aplicação.
+-- Não há índice: a coluna não é usada em consultas.
+CREATE EXTENSION IF NOT EXISTS pgcrypto;
+
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY[
+        'addresses', 'clients', 'employee', 'invoice', 'part', 'quotations', 'quotation_part_items',
+        'quotation_service_items', 'repair_service', 'roles', 'service_order', 'service_order_employees',
+        'service_order_part_items', 'service_order_service_items', 'tenants', 'users', 'vehicles',
+        'vehicle_brands', 'vehicle_models'
+    ]
+    LOOP
+        EXECUTE format('ALTER TABLE %I ADD COLUMN uuid UUID NOT NULL DEFAULT gen_random_uuid()', t);
+    END LOOP;
+END $$;
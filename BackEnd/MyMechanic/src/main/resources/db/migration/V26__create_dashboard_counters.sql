@@ -0,0 +1,22 @@
+-- Contadores do painel por tenant: mantidos pelos fluxos de escrita (deltas no commit) e
+-- reconciliados periodicamente. /api/v1/dashboard/stats passa a ler uma linha pela chave primária.
+-- A linha é criada na primeira leitura do painel do tenant.
+CREATE TABLE dashboard_counters (
+    tenant_id BIGINT PRIMARY KEY REFERENCES tenants (id) ON DELETE CASCADE,
+    clients_count BIGINT NOT NULL DEFAULT 0,
+    vehicles_count BIGINT NOT NULL DEFAULT 0,
+    active_orders_count BIGINT NOT NULL DEFAULT 0,
+    pending_invoices_count BIGINT NOT NULL DEFAULT 0,
+    revenue_month INTEGER NOT NULL, -- aaaamm
+    monthly_revenue NUMERIC(38, 2) NOT NULL DEFAULT 0,
+    reconciled_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+-- Mesma política das demais tabelas com tenant_id (V19/V20)
+ALTER TABLE dashboard_counters ENABLE ROW LEVEL SECURITY;
+ALTER TABLE dashboard_counters FORCE ROW LEVEL SECURITY;
+CREATE POLICY tenant_isolation ON dashboard_counters
+    USING (current_setting('app.bypass_rls', true) = 'on'
+           OR tenant_id = NULLIF(current_setting('app.tenant_id', true), '')::BIGINT)
+    WITH CHECK (current_setting('app.bypass_rls', true) = 'on'
+           OR tenant_id = NULLIF(current_setting('app.tenant_id', true), '')::BIGINT);
@@ -0,0 +1,57 @@
+package com.mechtech.MyMechanic.config;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// O schema dos testes vem do ddl-auto, sem os índices das migrações: countByStatus filtra
+// service_order por (tenant_id, status) e só deixa de ser apontado depois que o índice é criado.
+@SpringBootTest(properties = "app.index-advisor.enabled=false")
+@ActiveProfiles("test")
+class IndexAdvisorTest {
+
+    private static final String MISSING = "tabela service_order sem índice para (tenant_id, status)";
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        @Primary
+        public JavaMailSender testJavaMailSender() {
+            return Mockito.mock(JavaMailSender.class);
+        }
+    }
+
+    @Autowired
+    private IndexAdvisor indexAdvisor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reportsMissingIndex() throws Exception {
+        assertThat(indexAdvisor.findMissingIndexes()).contains(MISSING);
+    }
+
+    @Test
+    void staysQuietWhenIndexExists() throws Exception {
+        jdbcTemplate.execute("CREATE INDEX idx_service_order_advisor_test ON service_order (status, tenant_id)");
+        try {
+            List<String> missing = indexAdvisor.findMissingIndexes();
+
+            assertThat(missing).doesNotContain(MISSING);
+        } finally {
+            jdbcTemplate.execute("DROP INDEX idx_service_order_advisor_test");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.mechtech.MyMechanic.config.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "ipCapacity", 100L);
+        ReflectionTestUtils.setField(filter, "ipRefillPerMinute", 1L);
+        ReflectionTestUtils.setField(filter, "emailCapacity", 2L);
+        ReflectionTestUtils.setField(filter, "emailRefillPerMinute", 1L);
+        ReflectionTestUtils.setField(filter, "maxKeys", 1000);
+        filter.init();
+    }
+
+    @Test
+    void emailIsThrottledForChunkedBodies() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            assertThat(send(chunked("/api/v1/auth", "{\"email\":\"a@teste.com\"}")).getStatus()).isEqualTo(200);
+        }
+        assertThat(send(chunked("/api/v1/auth", "{\"email\":\"A@teste.com \"}")).getStatus())
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    void forwardedBodyIsStillReadable() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(chunked("/api/v1/auth", "{\"email\":\"b@teste.com\"}"), new MockHttpServletResponse(), chain);
+
+        byte[] forwarded = chain.getRequest().getInputStream().readAllBytes();
+        assertThat(new String(forwarded, StandardCharsets.UTF_8)).isEqualTo("{\"email\":\"b@teste.com\"}");
+    }
+
+    @Test
+    void oversizedBodiesAreRejected() throws Exception {
+        String padded = "{\"email\":\"c@teste.com\",\"x\":\"" + "a".repeat(20 * 1024) + "\"}";
+
+        assertThat(send(chunked("/api/v1/auth", padded)).getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        assertThat(send(request("/api/v1/auth", padded)).getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE.value());
+    }
+
+    @Test
+    void refreshIsLimitedByIp() throws Exception {
+        ReflectionTestUtils.setField(filter, "ipCapacity", 1L);
+        filter.init();
+
+        assertThat(send(request("/api/v1/auth/refresh", "{}")).getStatus()).isEqualTo(200);
+        assertThat(send(request("/api/v1/auth/refresh", "{}")).getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String uri, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    // Transfer-Encoding: chunked, sem Content-Length
+    private static MockHttpServletRequest chunked(String uri, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri) {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
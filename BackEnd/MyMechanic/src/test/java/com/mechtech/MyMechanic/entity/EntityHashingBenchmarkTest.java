@@ -0,0 +1,90 @@
+package com.mechtech.MyMechanic.entity;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Monta e consulta o Set de itens de uma OS: hashCode constante (esquema anterior dos itens) x uuid.
+// Rode com: ./mvnw test -Dtest=EntityHashingBenchmarkTest -Dbenchmark=true
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EntityHashingBenchmarkTest {
+
+    private static final int[] ITEM_COUNTS = {10, 50, 200, 1000};
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1000;
+
+    // Reproduz o equals/hashCode removido: todos os elementos no mesmo bucket
+    private static final class ConstantHashItem {
+        private Long id;
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return id != null && Objects.equals(id, ((ConstantHashItem) o).id);
+        }
+
+        @Override
+        public int hashCode() {
+            return getClass().hashCode();
+        }
+    }
+
+    @Test
+    void itemSetOperations() {
+        log.info(String.format("%6s %18s %18s", "itens", "constante µs", "uuid µs"));
+        for (int items : ITEM_COUNTS) {
+            double constant = measure(items, ConstantHashItem::new);
+            double uuid = measure(items, ServiceOrderPartItem::new);
+            log.info(String.format("%6d %18.1f %18.1f", items, constant, uuid));
+        }
+    }
+
+    @Test
+    void identityIsStableAcrossPersist() {
+        ServiceOrderPartItem item = new ServiceOrderPartItem();
+        Set<ServiceOrderPartItem> items = new HashSet<>(List.of(item, new ServiceOrderPartItem()));
+
+        // Simula o id atribuído no persist
+        item.setId(1L);
+
+        assertThat(items).hasSize(2).contains(item);
+    }
+
+    // Adiciona os itens a um HashSet e procura cada um (como o merge/flush das coleções faz)
+    private <T> double measure(int items, Supplier<T> factory) {
+        List<T> elements = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            elements.add(factory.get());
+        }
+
+        for (int i = 0; i < WARMUP; i++) {
+            run(elements);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            run(elements);
+        }
+        return (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+    }
+
+    private <T> void run(List<T> elements) {
+        Set<T> set = new HashSet<>();
+        set.addAll(elements);
+        for (T element : elements) {
+            if (!set.contains(element)) {
+                throw new IllegalStateException("Elemento perdido no Set");
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.mechtech.MyMechanic.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Verificação do JWT por requisição: esquema anterior (chave e parser montados a cada chamada, token
+// verificado quatro vezes pelos dois filtros) x atual (parser único, claims reaproveitadas na requisição).
+// O projeto não depende do JMH; aquecimento e rodadas de medição seguem o mesmo roteiro e o resultado
+// é a mediana das rodadas, com a linha de base (anterior) medida no mesmo processo.
+// Rode com: ./mvnw test -Dtest=JwtParseBenchmarkTest -Dbenchmark=true
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtParseBenchmarkTest {
+
+    private static final String SECRET = "TESTE_SEGREDO_SUPER_SECRETO_PARA_TESTES_NAO_USAR_EM_PRODUCAO_1234567890";
+    private static final int WARMUP = 5_000;
+    private static final int ROUNDS = 5;
+    private static final int ITERATIONS = 20_000;
+
+    private JwtUtils jwtUtils;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "expireMinutes", 15L);
+        jwtUtils.init();
+        bearer = JwtUtils.JWT_BEARER + jwtUtils.createToken("bench@teste.com", 1L, "ROLE_ADMIN", 1L, 0).getToken();
+    }
+
+    @Test
+    void tokenVerificationPerRequest() {
+        double previous = measure(this::previousRequest);
+        double current = measure(this::currentRequest);
+        log.info(String.format("%18s %18s %10s", "anterior µs/req", "atual µs/req", "ganho"));
+        log.info(String.format("%18.2f %18.2f %9.1fx", previous, current, previous / current));
+    }
+
+    @Test
+    void claimsAreVerifiedOncePerRequest() {
+        MockHttpServletRequest request = request();
+        Claims first = jwtUtils.resolveClaims(request);
+
+        assertThat(first).isNotNull();
+        assertThat(jwtUtils.resolveClaims(request)).isSameAs(first);
+    }
+
+    // TenantFilter e JwtAuthorizationFilter antes da mudança: isTokenValid + leitura da claim, cada um
+    // com a chave e o parser recriados
+    private Object previousRequest() {
+        Object last = null;
+        for (int i = 0; i < 4; i++) {
+            last = Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .build()
+                    .parseClaimsJws(bearer.substring(JwtUtils.JWT_BEARER.length()))
+                    .getBody();
+        }
+        return last;
+    }
+
+    // Os dois filtros chamam resolveClaims; só a primeira chamada verifica o token
+    private Object currentRequest() {
+        MockHttpServletRequest request = request();
+        jwtUtils.resolveClaims(request);
+        return jwtUtils.resolveClaims(request);
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JwtUtils.JWT_AUTHORIZATION, bearer);
+        return request;
+    }
+
+    // Mediana das rodadas em µs por requisição
+    private double measure(Supplier<Object> work) {
+        for (int i = 0; i < WARMUP; i++) {
+            check(work.get());
+        }
+        double[] rounds = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                check(work.get());
+            }
+            rounds[round] = (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+        }
+        Arrays.sort(rounds);
+        return rounds[ROUNDS / 2];
+    }
+
+    private static void check(Object claims) {
+        if (claims == null) {
+            throw new IllegalStateException("Token não verificado");
+        }
+    }
+}
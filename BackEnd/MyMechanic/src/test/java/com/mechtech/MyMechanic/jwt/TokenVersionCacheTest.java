@@ -0,0 +1,52 @@
+package com.mechtech.MyMechanic.jwt;
+
+import com.mechtech.MyMechanic.repository.UserRepository;
+import com.mechtech.MyMechanic.service.InvalidationBus;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenVersionCacheTest {
+
+    private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+    private final TokenVersionCache cache = new TokenVersionCache(userRepository, Mockito.mock(InvalidationBus.class), 100);
+
+    @Test
+    void versionIsCachedUntilInvalidated() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(3), Optional.of(4));
+
+        assertThat(cache.currentVersion(1L)).isEqualTo(3);
+        assertThat(cache.currentVersion(1L)).isEqualTo(3);
+
+        cache.invalidate(1L);
+        assertThat(cache.currentVersion(1L)).isEqualTo(4);
+        verify(userRepository, times(2)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void invalidationDuringLoadWins() {
+        // A revogação acontece enquanto a versão antiga está sendo lida do banco
+        when(userRepository.findTokenVersionById(1L))
+                .thenAnswer(invocation -> {
+                    cache.invalidate(1L);
+                    return Optional.of(3);
+                })
+                .thenReturn(Optional.of(4));
+
+        assertThat(cache.currentVersion(1L)).isEqualTo(3);
+        assertThat(cache.currentVersion(1L)).isEqualTo(4);
+    }
+
+    @Test
+    void missingUserIsRevoked() {
+        when(userRepository.findTokenVersionById(2L)).thenReturn(Optional.empty());
+
+        assertThat(cache.currentVersion(2L)).isEqualTo(TokenVersionCache.REVOKED);
+    }
+}
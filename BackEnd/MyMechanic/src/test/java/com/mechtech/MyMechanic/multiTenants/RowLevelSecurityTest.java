@@ -0,0 +1,156 @@
+package com.mechtech.MyMechanic.multiTenants;
+
+import com.mechtech.MyMechanic.support.PostgresTestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Modo rls contra o PostgreSQL: as políticas (V19/V20) são fechadas e só o TenantAwareDataSource as abre.
+// Superusuários ignoram RLS, então as consultas rodam com um role comum, como a aplicação em produção.
+@Testcontainers(disabledWithoutDocker = true)
+class RowLevelSecurityTest {
+
+    private static final String APP_ROLE = "rls_app";
+
+    private static DataSource dataSource;
+    private static PostgreSQLContainer<?> postgres;
+    private static long tenantA;
+    private static long tenantB;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        postgres = PostgresTestDatabase.start();
+        try (Connection admin = PostgresTestDatabase.connect(); Statement statement = admin.createStatement()) {
+            statement.execute("DO $$ BEGIN IF NOT EXISTS (SELECT 1 FROM pg_roles WHERE rolname = '" + APP_ROLE + "') THEN "
+                    + "CREATE ROLE " + APP_ROLE + " LOGIN PASSWORD '" + APP_ROLE + "'; END IF; END $$");
+            statement.execute("GRANT SELECT, INSERT, UPDATE, DELETE ON ALL TABLES IN SCHEMA public TO " + APP_ROLE);
+            statement.execute("GRANT USAGE, SELECT ON ALL SEQUENCES IN SCHEMA public TO " + APP_ROLE);
+
+            tenantA = insertTenant(admin);
+            tenantB = insertTenant(admin);
+            insertClient(admin, tenantA, "Cliente A");
+            insertClient(admin, tenantB, "Cliente B");
+        }
+        dataSource = new TenantAwareDataSource(
+                new DriverManagerDataSource(postgres.getJdbcUrl(), APP_ROLE, APP_ROLE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        TenantContext.setCrossTenant(false);
+    }
+
+    @Test
+    void sessionWithoutTenantSeesNoRows() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(clientNames(connection)).isEmpty();
+        }
+    }
+
+    @Test
+    void connectionWithoutSettingsSeesNoRows() throws SQLException {
+        // Conexão que não passou pelo TenantAwareDataSource (ex.: reaproveitada após um reset)
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), APP_ROLE, APP_ROLE)) {
+            assertThat(clientNames(connection)).isEmpty();
+        }
+    }
+
+    @Test
+    void tenantSeesOnlyItsOwnRows() throws SQLException {
+        TenantContext.setTenantId(tenantA);
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(clientNames(connection)).containsExactly("Cliente A");
+        }
+    }
+
+    @Test
+    void writesForAnotherTenantAreRejected() throws SQLException {
+        TenantContext.setTenantId(tenantA);
+        try (Connection connection = dataSource.getConnection()) {
+            assertThatThrownBy(() -> insertClient(connection, tenantB, "Intruso"))
+                    .isInstanceOf(SQLException.class)
+                    .hasMessageContaining("row-level security");
+        }
+    }
+
+    @Test
+    void crossTenantMethodsSeeAllTenants() throws SQLException {
+        TenantContext.setCrossTenant(true);
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(clientNames(connection)).containsExactlyInAnyOrder("Cliente A", "Cliente B");
+        }
+    }
+
+    @Test
+    void bypassIsResetWhenConnectionIsReused() throws SQLException {
+        TenantContext.setCrossTenant(true);
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(clientNames(connection)).hasSize(2);
+        }
+        TenantContext.setCrossTenant(false);
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(clientNames(connection)).isEmpty();
+        }
+    }
+
+    private static List<String> clientNames(Connection connection) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT name FROM clients WHERE tenant_id IN (?, ?)")) {
+            statement.setLong(1, tenantA);
+            statement.setLong(2, tenantB);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    names.add(rs.getString(1));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static long insertTenant(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO tenants (name, document) VALUES ('Oficina', ?) RETURNING id")) {
+            statement.setString(1, unique(14));
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static void insertClient(Connection connection, long tenantId, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO clients (id, deleted, tenant_id, name, email, phone, cpf) "
+                        + "VALUES (nextval('clients_seq'), false, ?, ?, ?, ?, ?)")) {
+            statement.setLong(1, tenantId);
+            statement.setString(2, name);
+            statement.setString(3, unique(10) + "@teste.com");
+            statement.setString(4, unique(11));
+            statement.setString(5, unique(11));
+            statement.executeUpdate();
+        }
+    }
+
+    private static String unique(int length) {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, length);
+    }
+}
@@ -0,0 +1,31 @@
+package com.mechtech.MyMechanic.multiTenants;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TenantContextTest {
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void requireTenantIdReturnsTheBoundTenant() {
+        TenantContext.setTenantId(7L);
+
+        assertThat(TenantContext.requireTenantId()).isEqualTo(7L);
+    }
+
+    @Test
+    void requireTenantIdFailsWithoutTenant() {
+        // Antes gravava 0 (NO_TENANT) e a falha só aparecia na chave estrangeira para tenants
+        assertThatThrownBy(TenantContext::requireTenantId)
+                .isInstanceOf(AccessDeniedException.class)
+                .hasMessageContaining("Nenhuma empresa vinculada");
+    }
+}
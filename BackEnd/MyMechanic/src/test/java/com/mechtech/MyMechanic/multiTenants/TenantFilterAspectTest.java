@@ -0,0 +1,95 @@
+package com.mechtech.MyMechanic.multiTenants;
+
+import com.mechtech.MyMechanic.repository.ClientRepository;
+import com.mechtech.MyMechanic.support.TestFixtures;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// O tenantFilter é ativado uma vez por sessão e só é refeito quando o tenant do contexto muda
+@SpringBootTest
+@ActiveProfiles("test")
+class TenantFilterAspectTest {
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        @Primary
+        public JavaMailSender testJavaMailSender() {
+            return Mockito.mock(JavaMailSender.class);
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TenantFilterAspect tenantFilterAspect;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void filterIsReboundOnlyWhenTheTenantChanges() {
+        long first = TestFixtures.tenantId();
+        long second = TestFixtures.tenantId();
+        transactionTemplate.executeWithoutResult(status -> {
+            TestFixtures.client(entityManager, first);
+            TestFixtures.client(entityManager, second);
+            TestFixtures.client(entityManager, second);
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            TenantContext.setTenantId(first);
+            tenantFilterAspect.activateTenantFilter();
+            double activations = activations();
+            assertThat(clientRepository.count()).isEqualTo(1);
+
+            // Chamada aninhada com o mesmo tenant: o filtro já está ligado com o valor certo
+            tenantFilterAspect.activateTenantFilter();
+            assertThat(activations()).isEqualTo(activations);
+
+            TenantContext.setTenantId(second);
+            tenantFilterAspect.activateTenantFilter();
+            assertThat(activations()).isEqualTo(activations + 1);
+            assertThat(clientRepository.count()).isEqualTo(2);
+        });
+
+        // Outra sessão começa sem filtro, mesmo com o tenant já visto
+        double activations = activations();
+        transactionTemplate.executeWithoutResult(status -> {
+            TenantContext.setTenantId(second);
+            tenantFilterAspect.activateTenantFilter();
+            assertThat(clientRepository.count()).isEqualTo(2);
+        });
+        assertThat(activations()).isEqualTo(activations + 1);
+    }
+
+    private double activations() {
+        return meterRegistry.get("tenant.filter.activations").tag("filter", "tenantFilter").counter().count();
+    }
+}
@@ -0,0 +1,80 @@
+package com.mechtech.MyMechanic.multiTenants;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// O executor de tarefas do Boot (o mesmo das requisições assíncronas do MVC) leva o tenant para a thread
+// de trabalho e recusa chamadas de serviço quando a tarefa foi submetida sem tenant.
+@SpringBootTest
+@ActiveProfiles("test")
+class TenantPropagationTest {
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        @Primary
+        public JavaMailSender testJavaMailSender() {
+            return Mockito.mock(JavaMailSender.class);
+        }
+    }
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor taskExecutor;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Autowired
+    private TenantFilterAspect tenantFilterAspect;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void mvcAsyncRequestsUseTheDecoratedExecutor() {
+        assertThat(ReflectionTestUtils.getField(handlerAdapter, "taskExecutor")).isSameAs(taskExecutor);
+    }
+
+    @Test
+    void tenantReachesWorkerThread() throws Exception {
+        TenantContext.setTenantId(5L);
+        Future<long[]> seen = taskExecutor.submit(() -> new long[]{
+                TenantContext.getTenantId(), TenantContext.isTenantRequired() ? 1 : 0});
+        TenantContext.clear();
+
+        assertThat(seen.get(5, TimeUnit.SECONDS)).containsExactly(5L, 1L);
+    }
+
+    @Test
+    void missingTenantFailsOnWorkerThread() {
+        Future<?> task = taskExecutor.submit(() -> tenantFilterAspect.activateTenantFilter());
+
+        assertThatThrownBy(() -> task.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Nenhum tenant definido");
+    }
+}
@@ -0,0 +1,144 @@
+package com.mechtech.MyMechanic.repository;
+
+import com.mechtech.MyMechanic.entity.VehicleBrand;
+import com.mechtech.MyMechanic.multiTenants.TenantContext;
+import com.mechtech.MyMechanic.multiTenants.TenantFilterAspect;
+import com.mechtech.MyMechanic.service.VehicleBrandService;
+import com.mechtech.MyMechanic.support.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Cache de segundo nível e de consultas com vários tenants: cada passo roda na sua própria transação
+// (como as requisições), para que as entradas sejam de fato lidas do cache compartilhado. A consulta em
+// cache é a verificação de unicidade do nome da marca (findTakenFields).
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource("classpath:second-level-cache.properties")
+@WithMockUser
+class ReferenceDataCacheIsolationTest {
+
+    private static final long TENANT_A = 1L;
+    private static final long TENANT_B = 2L;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        @Primary
+        public JavaMailSender testJavaMailSender() {
+            return Mockito.mock(JavaMailSender.class);
+        }
+    }
+
+    @Autowired
+    private VehicleBrandRepository vehicleBrandRepository;
+
+    @Autowired
+    private VehicleBrandService vehicleBrandService;
+
+    @Autowired
+    private TenantFilterAspect tenantFilterAspect;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void cachedQueryResultsAreNotSharedBetweenTenants() {
+        String name = uniqueName();
+        createBrand(TENANT_A, name);
+
+        assertThat(nameTaken(TENANT_A, name)).isTrue();
+        long hits = statistics.getQueryCacheHitCount();
+        assertThat(nameTaken(TENANT_A, name)).isTrue();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hits + 1);
+
+        // Mesmo nome, outro tenant: nem o resultado em cache nem a validação de unicidade enxergam a marca de A
+        assertThat(nameTaken(TENANT_B, name)).isFalse();
+        createBrand(TENANT_B, name);
+        assertThat(nameTaken(TENANT_B, name)).isTrue();
+    }
+
+    @Test
+    void softDeleteInvalidatesCachedQuery() {
+        String name = uniqueName();
+        VehicleBrand brand = createBrand(TENANT_A, name);
+        assertThat(nameTaken(TENANT_A, name)).isTrue();
+
+        inTenant(TENANT_A, () -> {
+            vehicleBrandService.deleteVehicleBrand(brand.getId());
+            return null;
+        });
+
+        assertThat(nameTaken(TENANT_A, name)).isFalse();
+    }
+
+    @Test
+    void cachedEntityStillGoesThroughTenantValidation() {
+        VehicleBrand brand = createBrand(TENANT_A, uniqueName());
+        inTenant(TENANT_A, () -> vehicleBrandService.findById(brand.getId()));
+
+        long hits = statistics.getSecondLevelCacheHitCount();
+        assertThatThrownBy(() -> inTenant(TENANT_B, () -> vehicleBrandService.findById(brand.getId())))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(hits);
+    }
+
+    private VehicleBrand createBrand(long tenantId, String name) {
+        VehicleBrand brand = new VehicleBrand();
+        brand.setName(name);
+        return inTenant(tenantId, () -> vehicleBrandService.createVehicleBrand(brand));
+    }
+
+    // Nova marca (sem id) com o nome informado, como na criação pelo serviço
+    private boolean nameTaken(long tenantId, String name) {
+        VehicleBrand candidate = new VehicleBrand();
+        candidate.setTenantId(tenantId);
+        candidate.setName(name);
+        return inTenant(tenantId, () -> vehicleBrandRepository.findTakenFields(candidate, "name").contains("name"));
+    }
+
+    private <T> T inTenant(long tenantId, Supplier<T> work) {
+        return TestFixtures.inTenant(transactionTemplate, tenantFilterAspect, tenantId, work);
+    }
+
+    private static String uniqueName() {
+        return "Marca " + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,159 @@
+package com.mechtech.MyMechanic.repository;
+
+import com.mechtech.MyMechanic.support.PostgresTestDatabase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Triggers do V23 contra o PostgreSQL: o documento search_text é calculado na própria linha e
+// acompanha as mudanças de cliente, veículo, modelo e marca nas ordens, orçamentos e faturas.
+@Testcontainers(disabledWithoutDocker = true)
+class SearchTextTriggersTest {
+
+    private static Connection connection;
+    private static long tenantId;
+    private static long brandId;
+    private static long modelId;
+    private static long clientId;
+    private static long vehicleId;
+    private static long orderId;
+    private static long quotationId;
+    private static long invoiceId;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        connection = PostgresTestDatabase.connect();
+        tenantId = insert("INSERT INTO tenants (name, document) VALUES ('Oficina', ?) RETURNING id", unique(14));
+        brandId = insert("INSERT INTO vehicle_brands (tenant_id, name, deleted) VALUES (?, 'Volkswagen', false) RETURNING id",
+                tenantId);
+        modelId = insert("INSERT INTO vehicle_models (tenant_id, name, brand_id, deleted) VALUES (?, 'Gol', ?, false) RETURNING id",
+                tenantId, brandId);
+        clientId = insert("INSERT INTO clients (id, deleted, tenant_id, name, email, phone, cpf) "
+                        + "VALUES (nextval('clients_seq'), false, ?, 'Maria Souza', ?, ?, ?) RETURNING id",
+                tenantId, "maria" + unique(6) + "@teste.com", unique(11), unique(11));
+        vehicleId = insert("INSERT INTO vehicles (id, deleted, tenant_id, year, license_plate, color, client_id, model_id) "
+                        + "VALUES (nextval('vehicles_seq'), false, ?, 2020, ?, 'Prata', ?, ?) RETURNING id",
+                tenantId, unique(7), clientId, modelId);
+        orderId = insert("INSERT INTO service_order (id, deleted, tenant_id, entry_date, status, description, vehicle_id, client_id) "
+                        + "VALUES (nextval('service_order_seq'), false, ?, now(), 'PENDENTE', 'Troca de óleo', ?, ?) RETURNING id",
+                tenantId, vehicleId, clientId);
+        quotationId = insert("INSERT INTO quotations (id, deleted, tenant_id, description, status, total_cost, entry_date, vehicle_id, client_id) "
+                        + "VALUES (nextval('quotations_seq'), false, ?, 'Revisão', 'PENDENTE', 0, now(), ?, ?) RETURNING id",
+                tenantId, vehicleId, clientId);
+        invoiceId = insert("INSERT INTO invoice (id, deleted, tenant_id, invoice_number, issue_date, total_amount, payment_status, serviceorder_id) "
+                        + "VALUES (nextval('invoice_seq'), false, ?, ?, now(), 0, 'PENDENTE', ?) RETURNING id",
+                tenantId, "NF-" + unique(8), orderId);
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Test
+    void insertsComputeTheDocument() throws SQLException {
+        assertThat(searchText("clients", clientId)).startsWith("maria souza maria");
+        assertThat(searchText("service_order", orderId))
+                .contains("troca de óleo", "pendente", "maria souza", "gol", "volkswagen");
+        assertThat(searchText("quotations", quotationId)).contains("revisão", "maria souza", "gol volkswagen");
+        assertThat(searchText("invoice", invoiceId)).startsWith("nf-").contains("maria souza", "volkswagen");
+    }
+
+    @Test
+    void clientRenameReachesOrdersQuotationsAndInvoices() throws SQLException {
+        update("UPDATE clients SET name = 'Joana Lima' WHERE id = ?", clientId);
+
+        for (String table : new String[]{"clients", "service_order", "quotations", "invoice"}) {
+            assertThat(searchText(table, idOf(table))).as(table).contains("joana lima").doesNotContain("maria souza");
+        }
+        update("UPDATE clients SET name = 'Maria Souza' WHERE id = ?", clientId);
+    }
+
+    @Test
+    void vehicleChangesReachOrdersQuotationsAndInvoices() throws SQLException {
+        update("UPDATE vehicles SET license_plate = 'XYZ9K88' WHERE id = ?", vehicleId);
+        update("UPDATE vehicle_models SET name = 'Polo' WHERE id = ?", modelId);
+        update("UPDATE vehicle_brands SET name = 'Fiat' WHERE id = ?", brandId);
+
+        for (String table : new String[]{"service_order", "quotations", "invoice"}) {
+            assertThat(searchText(table, idOf(table))).as(table)
+                    .contains("xyz9k88", "polo", "fiat").doesNotContain("gol", "volkswagen");
+        }
+        update("UPDATE vehicle_brands SET name = 'Volkswagen' WHERE id = ?", brandId);
+        update("UPDATE vehicle_models SET name = 'Gol' WHERE id = ?", modelId);
+    }
+
+    @Test
+    void typoStillMatchesAWordOfTheDocument() throws SQLException {
+        // SearchTextSpecification: termo <% search_text, ordenado por word_similarity(termo, search_text)
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT ? <% search_text, word_similarity(?, search_text) > similarity(?, search_text) "
+                        + "FROM service_order WHERE id = ?")) {
+            statement.setString(1, "souzza");
+            statement.setString(2, "souzza");
+            statement.setString(3, "souzza");
+            statement.setLong(4, orderId);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                assertThat(rs.getBoolean(1)).isTrue();
+                assertThat(rs.getBoolean(2)).isTrue();
+            }
+        }
+    }
+
+    private static long idOf(String table) {
+        return switch (table) {
+            case "clients" -> clientId;
+            case "service_order" -> orderId;
+            case "quotations" -> quotationId;
+            default -> invoiceId;
+        };
+    }
+
+    private static String searchText(String table, long id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT search_text FROM " + table + " WHERE id = ?")) {
+            statement.setLong(1, id);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }
+    }
+
+    private static void update(String sql, Object... params) throws SQLException {
+        try (PreparedStatement statement = prepare(sql, params)) {
+            statement.executeUpdate();
+        }
+    }
+
+    private static long insert(String sql, Object... params) throws SQLException {
+        try (PreparedStatement statement = prepare(sql, params); ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static PreparedStatement prepare(String sql, Object... params) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        for (int i = 0; i < params.length; i++) {
+            statement.setObject(i + 1, params[i]);
+        }
+        return statement;
+    }
+
+    private static String unique(int length) {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, length);
+    }
+}
@@ -0,0 +1,192 @@
+package com.mechtech.MyMechanic.repository;
+
+import com.mechtech.MyMechanic.entity.*;
+import com.mechtech.MyMechanic.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Carrega uma OS com N peças, N serviços e 3 funcionários: fetch join das três coleções (antes)
+// x uma consulta por coleção (depois). Rode com: ./mvnw test -Dtest=ServiceOrderItemsBenchmarkTest -Dbenchmark=true
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ServiceOrderItemsBenchmarkTest {
+
+    private static final int[] ITEM_COUNTS = {5, 10, 20, 40};
+    private static final int EMPLOYEES = 3;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 100;
+    private static final long TENANT_ID = 1L;
+
+    // Consulta usada antes da mudança
+    private static final String LEGACY_QUERY = "SELECT so FROM ServiceOrder so " +
+            "LEFT JOIN FETCH so.partItems pi " +
+            "LEFT JOIN FETCH pi.part " +
+            "LEFT JOIN FETCH so.serviceItems si " +
+            "LEFT JOIN FETCH si.repairService " +
+            "LEFT JOIN FETCH so.employees ei " +
+            "LEFT JOIN FETCH ei.employee " +
+            "WHERE so.id = :id";
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        @Primary
+        public JavaMailSender testJavaMailSender() {
+            return Mockito.mock(JavaMailSender.class);
+        }
+    }
+
+    private record Result(double micros, double statements) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ServiceOrderRepository serviceOrderRepository;
+
+    private int sequence;
+
+    @Test
+    void itemLoadingScalesLinearly() {
+        List<Long> afterStatements = new ArrayList<>();
+
+        log.info(String.format("%6s %12s %14s %12s %14s", "itens", "linhas antes", "µs antes", "linhas depois", "µs depois"));
+        for (int items : ITEM_COUNTS) {
+            Long id = createOrder(items);
+
+            Result before = measure(() -> entityManager.createQuery(LEGACY_QUERY, ServiceOrder.class)
+                    .setParameter("id", id)
+                    .getSingleResult());
+            Result after = measure(() -> serviceOrderRepository.findByIdWithItems(id).orElseThrow());
+
+            long rowsBefore = (long) items * items * EMPLOYEES;
+            long rowsAfter = 1 + items + items + EMPLOYEES;
+            log.info(String.format("%6d %12d %14.1f %12d %14.1f", items, rowsBefore, before.micros(), rowsAfter, after.micros()));
+
+            afterStatements.add(Math.round(after.statements()));
+        }
+
+        // O número de consultas não depende da quantidade de itens
+        assertThat(afterStatements).containsOnly(afterStatements.get(0));
+    }
+
+    private Result measure(Supplier<ServiceOrder> load) {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        for (int i = 0; i < WARMUP; i++) {
+            load.get();
+            entityManager.clear();
+        }
+
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            ServiceOrder order = load.get();
+            assertThat(order.getPartItems()).hasSize(order.getServiceItems().size());
+            assertThat(order.getEmployees()).hasSize(EMPLOYEES);
+            entityManager.clear();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new Result(elapsed / 1_000.0 / ITERATIONS,
+                (double) statistics.getPrepareStatementCount() / ITERATIONS);
+    }
+
+    private Long createOrder(int items) {
+        int n = sequence++;
+
+        Vehicle vehicle = TestFixtures.vehicle(entityManager, TENANT_ID);
+        Client client = vehicle.getClient();
+
+        ServiceOrder order = new ServiceOrder();
+        order.setTenantId(TENANT_ID);
+        order.setEntryDate(LocalDateTime.now());
+        order.setTotalCost(BigDecimal.ZERO);
+        order.setVehicle(vehicle);
+        order.setClient(client);
+
+        for (int i = 0; i < items; i++) {
+            Part part = new Part();
+            part.setTenantId(TENANT_ID);
+            part.setName("Peça " + n + "." + i);
+            part.setPrice(BigDecimal.TEN);
+            entityManager.persist(part);
+
+            ServiceOrderPartItem partItem = new ServiceOrderPartItem();
+            partItem.setServiceOrder(order);
+            partItem.setPart(part);
+            partItem.setQuantity(1);
+            partItem.setUnitPrice(BigDecimal.TEN);
+            order.getPartItems().add(partItem);
+
+            RepairService repairService = new RepairService();
+            repairService.setTenantId(TENANT_ID);
+            repairService.setName("Serviço " + n + "." + i);
+            repairService.setCost(BigDecimal.TEN);
+            entityManager.persist(repairService);
+
+            ServiceOrderServiceItem serviceItem = new ServiceOrderServiceItem();
+            serviceItem.setServiceOrder(order);
+            serviceItem.setRepairService(repairService);
+            serviceItem.setServiceCost(BigDecimal.TEN);
+            serviceItem.setQuantity(1);
+            order.getServiceItems().add(serviceItem);
+        }
+
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Role role = new Role();
+            role.setTenantId(TENANT_ID);
+            role.setName("Cargo " + n + "." + i);
+            entityManager.persist(role);
+
+            Employee employee = new Employee();
+            employee.setTenantId(TENANT_ID);
+            employee.setName("Funcionário " + n + "." + i);
+            employee.setEmail("funcionario" + n + "." + i + "@teste.com");
+            employee.setPhone(String.format("118%05d%03d", n, i));
+            employee.setCpf(String.format("9%07d%03d", n, i));
+            employee.setRole(role);
+            entityManager.persist(employee);
+
+            ServiceOrderEmployee orderEmployee = new ServiceOrderEmployee();
+            orderEmployee.setServiceOrder(order);
+            orderEmployee.setEmployee(employee);
+            orderEmployee.setCommissionPercentage(BigDecimal.TEN);
+            order.getEmployees().add(orderEmployee);
+        }
+
+        entityManager.persist(order);
+        entityManager.flush();
+        entityManager.clear();
+        return order.getId();
+    }
+}
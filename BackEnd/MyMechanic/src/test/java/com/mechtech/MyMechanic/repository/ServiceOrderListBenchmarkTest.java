@@ -0,0 +1,154 @@
+package com.mechtech.MyMechanic.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mechtech.MyMechanic.entity.ServiceOrder;
+import com.mechtech.MyMechanic.entity.Vehicle;
+import com.mechtech.MyMechanic.repository.projection.ServiceOrderProjection;
+import com.mechtech.MyMechanic.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compara uma página de 50 ordens de serviço: entidades + proxy SpEL (antes) x record montado no SQL (depois).
+// Rode com: ./mvnw test -Dtest=ServiceOrderListBenchmarkTest -Dbenchmark=true
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ServiceOrderListBenchmarkTest {
+
+    private static final int ROWS = 50;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+    private static final long TENANT_ID = 1L;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        @Primary
+        public JavaMailSender testJavaMailSender() {
+            return Mockito.mock(JavaMailSender.class);
+        }
+    }
+
+    // Cópia da projeção por interface usada antes da mudança
+    public interface LegacyServiceOrderProjection {
+        Long getId();
+
+        String getStatus();
+
+        LocalDateTime getEntryDate();
+
+        LocalDateTime getExitDate();
+
+        BigDecimal getTotalCost();
+
+        @Value("#{target.vehicle.licensePlate}")
+        String getVehicleLicensePlate();
+
+        @Value("#{target.vehicle.model.name}")
+        String getVehicleModelName();
+
+        @Value("#{target.client.name}")
+        String getClientName();
+    }
+
+    private record Result(double micros, double statements) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ServiceOrderRepository serviceOrderRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+    private final Pageable page = PageRequest.of(0, ROWS, Sort.by(Sort.Direction.DESC, "entryDate"));
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            // Um modelo por veículo, como em uma base real com vários modelos
+            Vehicle vehicle = TestFixtures.vehicle(entityManager, TENANT_ID);
+
+            ServiceOrder order = new ServiceOrder();
+            order.setTenantId(TENANT_ID);
+            order.setEntryDate(LocalDateTime.now().minusDays(i));
+            order.setTotalCost(BigDecimal.valueOf(100 + i));
+            order.setVehicle(vehicle);
+            order.setClient(vehicle.getClient());
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listPageBeforeAndAfter() throws Exception {
+        Result before = measure(() -> objectMapper.writeValueAsString(serviceOrderRepository.findAll(page)
+                .map(order -> projectionFactory.createProjection(LegacyServiceOrderProjection.class, order))
+                .getContent()));
+        Result after = measure(() -> objectMapper.writeValueAsString(serviceOrderRepository
+                .findProjected(null, ServiceOrderProjection.SELECTION, page)
+                .getContent()));
+
+        log.info("Página de {} ordens de serviço", ROWS);
+        log.info(String.format("  antes (entidade + SpEL): %8.1f µs/página, %5.1f statements/página", before.micros(), before.statements()));
+        log.info(String.format("  depois (record no SQL):  %8.1f µs/página, %5.1f statements/página", after.micros(), after.statements()));
+
+        assertThat(after.statements()).isLessThan(before.statements());
+    }
+
+    private Result measure(Callable<String> listPage) throws Exception {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        for (int i = 0; i < WARMUP; i++) {
+            listPage.call();
+            entityManager.clear();
+        }
+
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertThat(listPage.call()).isNotEmpty();
+            // Sem cache de primeiro nível entre as iterações: cada página vai ao banco
+            entityManager.clear();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new Result(elapsed / 1_000.0 / ITERATIONS,
+                (double) statistics.getPrepareStatementCount() / ITERATIONS);
+    }
+}
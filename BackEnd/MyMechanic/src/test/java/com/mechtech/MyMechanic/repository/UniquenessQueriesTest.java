@@ -0,0 +1,142 @@
+package com.mechtech.MyMechanic.repository;
+
+import com.mechtech.MyMechanic.entity.Client;
+import com.mechtech.MyMechanic.entity.Tenant;
+import com.mechtech.MyMechanic.entity.User;
+import com.mechtech.MyMechanic.multiTenants.TenantFilterAspect;
+import com.mechtech.MyMechanic.support.TestFixtures;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static com.mechtech.MyMechanic.support.QueryCountAssertions.assertStatementsAtMost;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Verificações de unicidade feitas antes do INSERT: findTakenFields (uma consulta com OR, dentro do
+// tenant e sem os excluídos) e os conflitos do cadastro de empresa (uma consulta com UNION ALL).
+@SpringBootTest
+@ActiveProfiles("test")
+class UniquenessQueriesTest {
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        @Primary
+        public JavaMailSender testJavaMailSender() {
+            return Mockito.mock(JavaMailSender.class);
+        }
+    }
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TenantFilterAspect tenantFilterAspect;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void takenFieldsAreFoundInOneStatement() {
+        Client first = inTenant(51L, () -> TestFixtures.client(entityManager, 51L));
+        Client second = inTenant(51L, () -> TestFixtures.client(entityManager, 51L));
+
+        Client candidate = candidate(first.getCpf(), first.getEmail(), second.getPhone());
+        inTenant(51L, () -> {
+            try {
+                assertStatementsAtMost(entityManager, 1, () -> {
+                    assertThat(clientRepository.findTakenFields(candidate, "cpf", "email", "phone"))
+                            .containsExactlyInAnyOrder("cpf", "email", "phone");
+                    return null;
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        });
+
+        // Na alteração, o próprio registro não conta
+        Set<String> ownValues = inTenant(51L,
+                () -> clientRepository.findTakenFields(first, "cpf", "email", "phone"));
+        assertThat(ownValues).isEmpty();
+    }
+
+    @Test
+    void otherTenantsAndDeletedRowsAreIgnored() {
+        Client otherTenant = inTenant(52L, () -> TestFixtures.client(entityManager, 52L));
+        Client deleted = inTenant(53L, () -> TestFixtures.client(entityManager, 53L));
+        inTenant(53L, () -> {
+            clientRepository.delete(clientRepository.findById(deleted.getId()).orElseThrow());
+            return null;
+        });
+
+        Client candidate = candidate(deleted.getCpf(), otherTenant.getEmail(), deleted.getPhone());
+        Set<String> taken = inTenant(53L, () -> clientRepository.findTakenFields(candidate, "cpf", "email", "phone"));
+
+        assertThat(taken).isEmpty();
+    }
+
+    @Test
+    void registrationConflictsCheckAdminEmailDocumentAndCompanyEmail() {
+        String document = unique(14);
+        String companyEmail = "empresa" + unique(8) + "@teste.com";
+        String adminEmail = "admin" + unique(8) + "@teste.com";
+        transactionTemplate.executeWithoutResult(status -> {
+            Tenant tenant = new Tenant();
+            tenant.setName("Oficina");
+            tenant.setDocument(document);
+            tenant.setEmail(companyEmail);
+            entityManager.persist(tenant);
+
+            User admin = new User();
+            admin.setTenantId(tenant.getId());
+            admin.setFullName("Administrador " + unique(8));
+            admin.setPassword("senha");
+            admin.setEmail(adminEmail);
+            entityManager.persist(admin);
+        });
+
+        assertThat(tenantRepository.findRegistrationConflicts(adminEmail, document))
+                .containsExactlyInAnyOrder("adminEmail", "document");
+        // O e-mail da empresa é comparado com o e-mail informado, não com o documento
+        assertThat(tenantRepository.findRegistrationConflicts(companyEmail, unique(14)))
+                .containsExactly("email");
+        assertThat(tenantRepository.findRegistrationConflicts("novo" + unique(8) + "@teste.com", companyEmail))
+                .isEmpty();
+    }
+
+    private <T> T inTenant(long tenantId, Supplier<T> work) {
+        return TestFixtures.inTenant(transactionTemplate, tenantFilterAspect, tenantId, work);
+    }
+
+    private static Client candidate(String cpf, String email, String phone) {
+        Client client = new Client();
+        client.setCpf(cpf);
+        client.setEmail(email);
+        client.setPhone(phone);
+        return client;
+    }
+
+    private static String unique(int length) {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, length);
+    }
+}
@@ -0,0 +1,89 @@
+package com.mechtech.MyMechanic.service;
+
+import com.mechtech.MyMechanic.entity.Role;
+import com.mechtech.MyMechanic.multiTenants.TenantContext;
+import com.mechtech.MyMechanic.repository.RoleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CatalogCache cache = new CatalogCache(meterRegistry, Mockito.mock(InvalidationBus.class), true, 100, 60);
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void entriesAreIsolatedByTenant() {
+        TenantContext.setTenantId(1L);
+        cache.put(RoleService.CACHE_REGION, 10L);
+
+        TenantContext.setTenantId(2L);
+        assertThat(cache.contains(RoleService.CACHE_REGION, 10L)).isFalse();
+
+        TenantContext.setTenantId(1L);
+        assertThat(cache.contains(RoleService.CACHE_REGION, 10L)).isTrue();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "catalog.role").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void evictionWaitsForCommit() {
+        TenantContext.setTenantId(1L);
+        cache.put(RoleService.CACHE_REGION, 10L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evictAfterCommit(RoleService.CACHE_REGION, 1L, 10L);
+        assertThat(cache.contains(RoleService.CACHE_REGION, 10L)).isTrue();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(cache.contains(RoleService.CACHE_REGION, 10L)).isFalse();
+    }
+
+    @Test
+    void knownIdsBecomeReferencesOfTheCurrentSession() {
+        RoleRepository repository = Mockito.mock(RoleRepository.class);
+        RoleService service = new RoleService(repository, cache);
+        Role loaded = role(10L, 1L);
+        Role reference = role(10L, 1L);
+        when(repository.findById(10L)).thenReturn(Optional.of(loaded));
+        when(repository.getReferenceById(10L)).thenReturn(reference);
+
+        TenantContext.setTenantId(1L);
+        assertThat(service.findCachedById(10L)).isSameAs(loaded);
+        // A instância carregada não é guardada: cada chamada recebe uma referência da própria sessão
+        assertThat(service.findCachedById(10L)).isSameAs(reference);
+        verify(repository, times(1)).findById(10L);
+
+        // O id conferido para o tenant 1 não vale para o tenant 2
+        TenantContext.setTenantId(2L);
+        assertThatThrownBy(() -> service.findCachedById(10L)).isInstanceOf(AccessDeniedException.class);
+        verify(repository, times(2)).findById(10L);
+    }
+
+    private static Role role(Long id, Long tenantId) {
+        Role role = new Role();
+        role.setId(id);
+        role.setTenantId(tenantId);
+        return role;
+    }
+}
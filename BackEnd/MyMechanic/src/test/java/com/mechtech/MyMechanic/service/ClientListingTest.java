@@ -0,0 +1,162 @@
+package com.mechtech.MyMechanic.service;
+
+import com.mechtech.MyMechanic.entity.Client;
+import com.mechtech.MyMechanic.exception.BusinessRuleException;
+import com.mechtech.MyMechanic.multiTenants.TenantContext;
+import com.mechtech.MyMechanic.multiTenants.TenantFilterAspect;
+import com.mechtech.MyMechanic.repository.projection.ClientProjection;
+import com.mechtech.MyMechanic.support.TestFixtures;
+import com.mechtech.MyMechanic.util.KeysetCursor;
+import com.mechtech.MyMechanic.web.dto.pageable.PageableDto;
+import com.mechtech.MyMechanic.web.mapper.PageableMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+// Listagens por cursor (keyset) e por slice com total aproximado. Sem @Transactional: a contagem
+// aproximada roda em outra thread e só enxerga dados confirmados.
+@SpringBootTest
+@ActiveProfiles("test")
+@WithMockUser
+class ClientListingTest {
+
+    // Um tenant por teste, para que as contagens não dependam da ordem de execução
+    private static final long CURSOR_TENANT = 31L;
+    private static final long SLICE_TENANT = 32L;
+    private static final long COUNT_TENANT = 33L;
+    private static final long OTHER_TENANT = 34L;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        @Primary
+        public JavaMailSender testJavaMailSender() {
+            return Mockito.mock(JavaMailSender.class);
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private PageableMapper pageableMapper;
+
+    @Autowired
+    private TenantFilterAspect tenantFilterAspect;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void cursorVisitsEveryRowOnceWhenNamesTie() {
+        List<Long> expected = new ArrayList<>();
+        // Nomes repetidos: o id desempata e nenhum registro é pulado ou repetido entre páginas
+        for (String name : List.of("Beatriz", "Ana", "Ana", "Ana", "Carlos", "Ana")) {
+            expected.add(inTenant(CURSOR_TENANT, () -> createClient(CURSOR_TENANT, name)).getId());
+        }
+        inTenant(OTHER_TENANT, () -> createClient(OTHER_TENANT, "Ana"));
+        List<Long> sorted = inTenant(CURSOR_TENANT, () -> clientService.scroll(null, null, 100))
+                .getContent().stream().map(ClientProjection::id).toList();
+
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            String after = cursor;
+            Window<ClientProjection> page = inTenant(CURSOR_TENANT, () -> clientService.scroll(null, after, 2));
+            assertThat(page.size()).isLessThanOrEqualTo(2);
+            page.forEach(client -> visited.add(client.id()));
+            cursor = KeysetCursor.next(page);
+        } while (cursor != null);
+
+        assertThat(visited).containsExactlyElementsOf(sorted).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void tamperedCursorIsRejected() {
+        assertThatThrownBy(() -> inTenant(CURSOR_TENANT, () -> clientService.scroll(null, "eyJuYW1lIjoiQW5hIn0", 2)))
+                .isInstanceOf(BusinessRuleException.class);
+    }
+
+    @Test
+    void sliceKnowsWhetherThereIsANextPage() {
+        for (int i = 0; i < 3; i++) {
+            inTenant(SLICE_TENANT, () -> createClient(SLICE_TENANT, "Cliente slice"));
+        }
+
+        Slice<ClientProjection> first = inTenant(SLICE_TENANT,
+                () -> clientService.slice(null, PageRequest.of(0, 2, Sort.by("id"))));
+        Slice<ClientProjection> last = inTenant(SLICE_TENANT,
+                () -> clientService.slice(null, PageRequest.of(1, 2, Sort.by("id"))));
+        Slice<ClientProjection> exact = inTenant(SLICE_TENANT,
+                () -> clientService.slice(null, PageRequest.of(0, 3, Sort.by("id"))));
+
+        assertThat(first.getNumberOfElements()).isEqualTo(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getNumberOfElements()).isEqualTo(1);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(exact.hasNext()).isFalse();
+
+        // Estimativa defasada: o total informado nunca fica abaixo do que já foi percorrido
+        PageableDto dto = pageableMapper.toDto(first, 1L);
+        assertThat(dto.isApproximate()).isTrue();
+        assertThat(dto.getTotalElements()).isEqualTo(3L);
+    }
+
+    @Test
+    void approximateTotalIsCachedUntilTheTtl() {
+        for (int i = 0; i < 3; i++) {
+            inTenant(COUNT_TENANT, () -> createClient(COUNT_TENANT, "Cliente contagem"));
+        }
+        inTenant(OTHER_TENANT, () -> createClient(OTHER_TENANT, "Cliente contagem"));
+
+        // A primeira chamada não tem estimativa: a contagem roda em segundo plano
+        assertThat(inTenant(COUNT_TENANT, () -> clientService.approximateTotal("contagem"))).isNull();
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> inTenant(COUNT_TENANT, () -> clientService.approximateTotal("contagem")) != null);
+        assertThat(inTenant(COUNT_TENANT, () -> clientService.approximateTotal("contagem"))).isEqualTo(3L);
+
+        // Dentro do TTL o valor em cache é reaproveitado, sem nova contagem
+        inTenant(COUNT_TENANT, () -> createClient(COUNT_TENANT, "Cliente contagem"));
+        assertThat(inTenant(COUNT_TENANT, () -> clientService.approximateTotal("contagem"))).isEqualTo(3L);
+    }
+
+    private <T> T inTenant(long tenantId, Supplier<T> work) {
+        return TestFixtures.inTenant(transactionTemplate, tenantFilterAspect, tenantId, work);
+    }
+
+    private Client createClient(long tenantId, String name) {
+        return TestFixtures.client(entityManager, tenantId, name);
+    }
+}
@@ -0,0 +1,270 @@
+package com.mechtech.MyMechanic.service;
+
+import com.mechtech.MyMechanic.entity.Invoice;
+import com.mechtech.MyMechanic.entity.RepairService;
+import com.mechtech.MyMechanic.entity.ServiceOrder;
+import com.mechtech.MyMechanic.entity.Vehicle;
+import com.mechtech.MyMechanic.multiTenants.TenantContext;
+import com.mechtech.MyMechanic.multiTenants.TenantFilterAspect;
+import com.mechtech.MyMechanic.repository.ClientRepository;
+import com.mechtech.MyMechanic.repository.DashboardCountersRepository;
+import com.mechtech.MyMechanic.repository.InvoiceRepository;
+import com.mechtech.MyMechanic.repository.ServiceOrderRepository;
+import com.mechtech.MyMechanic.repository.VehicleRepository;
+import com.mechtech.MyMechanic.support.TestFixtures;
+import com.mechtech.MyMechanic.web.dto.dashboard.DashboardStatsDto;
+import com.mechtech.MyMechanic.web.dto.serviceorder.ServiceOrderCreateDto;
+import com.mechtech.MyMechanic.web.dto.serviceorder.ServiceOrderServiceDto;
+import com.mechtech.MyMechanic.web.dto.serviceorder.ServiceOrderUpdateDto;
+import com.mechtech.MyMechanic.web.dto.vehicle.VehicleCreateDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Contadores do painel contra as contagens reais. Sem @Transactional: os deltas são aplicados no commit.
+@SpringBootTest
+@ActiveProfiles("test")
+@WithMockUser
+class DashboardCountersTest {
+
+    // Um tenant por teste: o cliente e o modelo de apoio são gravados direto, sem passar pelos contadores
+    private static final long WRITES_TENANT = 7L;
+    private static final long DRIFT_TENANT = 8L;
+    private static final long ORDERS_TENANT = 9L;
+    private static final long INVOICES_TENANT = 10L;
+    private static final long ROLLBACK_TENANT = 12L;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        @Primary
+        public JavaMailSender testJavaMailSender() {
+            return Mockito.mock(JavaMailSender.class);
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private ServiceOrderService serviceOrderService;
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private ServiceOrderRepository serviceOrderRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private DashboardCountersRepository countersRepository;
+
+    @Autowired
+    private TenantFilterAspect tenantFilterAspect;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void writePathsKeepCountersInStep() {
+        long tenant = WRITES_TENANT;
+        Long[] ids = inTenant(tenant, () -> createModelAndClient(tenant));
+        long vehicles = inTenant(tenant, () -> dashboardService.getStats()).getVehiclesCount();
+
+        Long first = inTenant(tenant, () -> vehicleService.createVehicle(vehicleDto(ids))).getId();
+        inTenant(tenant, () -> vehicleService.createVehicle(vehicleDto(ids)));
+        inTenant(tenant, () -> {
+            vehicleService.deleteVehicle(first);
+            return null;
+        });
+
+        DashboardStatsDto stats = inTenant(tenant, () -> dashboardService.getStats());
+        assertThat(stats.getVehiclesCount()).isEqualTo(vehicles + 1).isEqualTo(inTenant(tenant, vehicleRepository::count));
+        assertThat(stats.getClientsCount()).isEqualTo(inTenant(tenant, clientRepository::count));
+    }
+
+    @Test
+    void orderStatusChangesAndDeleteMoveActiveOrdersAndRevenue() {
+        long tenant = ORDERS_TENANT;
+        DashboardStatsDto before = inTenant(tenant, () -> dashboardService.getStats());
+
+        Long orderId = inTenant(tenant, () -> serviceOrderService.createDirect(orderDto(tenant))).getId();
+        inTenant(tenant, () -> serviceOrderService.update(orderId, statusDto(ServiceOrder.ServiceOrderStatus.EM_PROGRESSO)));
+        DashboardStatsDto inProgress = inTenant(tenant, () -> dashboardService.getStats());
+        assertThat(inProgress.getActiveOrdersCount()).isEqualTo(before.getActiveOrdersCount() + 1);
+        assertThat(inProgress.getMonthlyRevenue()).isEqualByComparingTo(before.getMonthlyRevenue());
+
+        BigDecimal total = inTenant(tenant,
+                () -> serviceOrderService.update(orderId, statusDto(ServiceOrder.ServiceOrderStatus.COMPLETO))).getTotalCost();
+        DashboardStatsDto completed = inTenant(tenant, () -> dashboardService.getStats());
+        assertThat(completed.getActiveOrdersCount()).isEqualTo(before.getActiveOrdersCount());
+        assertThat(completed.getMonthlyRevenue()).isEqualByComparingTo(before.getMonthlyRevenue().add(total));
+        assertCountersMatch(tenant);
+
+        inTenant(tenant, () -> {
+            serviceOrderService.delete(orderId);
+            return null;
+        });
+        assertThat(inTenant(tenant, () -> dashboardService.getStats()).getMonthlyRevenue())
+                .isEqualByComparingTo(before.getMonthlyRevenue());
+        assertCountersMatch(tenant);
+    }
+
+    @Test
+    void paymentStatusAndCascadedInvoiceDeleteMovePendingInvoices() {
+        long tenant = INVOICES_TENANT;
+        long pending = inTenant(tenant, () -> dashboardService.getStats()).getPendingInvoicesCount();
+
+        Long orderId = completedOrder(tenant);
+        Long invoiceId = inTenant(tenant, () -> invoiceService.createFromServiceOrder(orderId)).getId();
+        assertThat(inTenant(tenant, () -> dashboardService.getStats()).getPendingInvoicesCount()).isEqualTo(pending + 1);
+
+        inTenant(tenant, () -> invoiceService.updatePaymentStatus(invoiceId, Invoice.PaymentStatus.PAID.name()));
+        assertThat(inTenant(tenant, () -> dashboardService.getStats()).getPendingInvoicesCount()).isEqualTo(pending);
+
+        inTenant(tenant, () -> invoiceService.updatePaymentStatus(invoiceId, Invoice.PaymentStatus.PENDING.name()));
+        assertThat(inTenant(tenant, () -> dashboardService.getStats()).getPendingInvoicesCount()).isEqualTo(pending + 1);
+        assertCountersMatch(tenant);
+
+        // A fatura sai junto com a OS
+        inTenant(tenant, () -> {
+            serviceOrderService.delete(orderId);
+            return null;
+        });
+        assertThat(inTenant(tenant, () -> dashboardService.getStats()).getPendingInvoicesCount()).isEqualTo(pending);
+        assertCountersMatch(tenant);
+    }
+
+    @Test
+    void rolledBackWritesLeaveCountersUnchanged() {
+        long tenant = ROLLBACK_TENANT;
+        Long[] ids = inTenant(tenant, () -> createModelAndClient(tenant));
+        Long orderId = inTenant(tenant, () -> serviceOrderService.createDirect(orderDto(tenant))).getId();
+        DashboardStatsDto before = inTenant(tenant, () -> dashboardService.getStats());
+
+        assertThatThrownBy(() -> inTenant(tenant, () -> {
+            vehicleService.createVehicle(vehicleDto(ids));
+            serviceOrderService.update(orderId, statusDto(ServiceOrder.ServiceOrderStatus.EM_PROGRESSO));
+            throw new IllegalStateException("rollback");
+        })).hasMessage("rollback");
+
+        DashboardStatsDto after = inTenant(tenant, () -> dashboardService.getStats());
+        assertThat(after.getVehiclesCount()).isEqualTo(before.getVehiclesCount());
+        assertThat(after.getActiveOrdersCount()).isEqualTo(before.getActiveOrdersCount());
+        assertCountersMatch(tenant);
+    }
+
+    @Test
+    void reconciliationCorrectsDrift() {
+        long tenant = DRIFT_TENANT;
+        inTenant(tenant, () -> createModelAndClient(tenant));
+        inTenant(tenant, () -> dashboardService.getStats());
+        inTenant(tenant, () -> countersRepository.addCounts(tenant, 5, 5, 5, 5));
+        assertThat(inTenant(tenant, () -> dashboardService.getStats()).getClientsCount())
+                .isEqualTo(inTenant(tenant, clientRepository::count) + 5);
+
+        dashboardService.reconcileAll();
+
+        DashboardStatsDto stats = inTenant(tenant, () -> dashboardService.getStats());
+        assertThat(stats.getClientsCount()).isEqualTo(inTenant(tenant, clientRepository::count));
+        assertThat(stats.getVehiclesCount()).isEqualTo(inTenant(tenant, vehicleRepository::count));
+    }
+
+    // OS e faturas iguais às contagens refeitas no banco (os veículos de apoio não passam pelos contadores)
+    private void assertCountersMatch(long tenant) {
+        DashboardStatsDto stats = inTenant(tenant, () -> dashboardService.getStats());
+        assertThat(stats.getActiveOrdersCount()).isEqualTo(inTenant(tenant,
+                () -> serviceOrderRepository.countByStatus(ServiceOrder.ServiceOrderStatus.EM_PROGRESSO)));
+        assertThat(stats.getPendingInvoicesCount()).isEqualTo(inTenant(tenant,
+                () -> invoiceRepository.countByPaymentStatus(Invoice.PaymentStatus.PENDING)));
+    }
+
+    private Long completedOrder(long tenant) {
+        Long orderId = inTenant(tenant, () -> serviceOrderService.createDirect(orderDto(tenant))).getId();
+        inTenant(tenant, () -> serviceOrderService.update(orderId, statusDto(ServiceOrder.ServiceOrderStatus.EM_PROGRESSO)));
+        inTenant(tenant, () -> serviceOrderService.update(orderId, statusDto(ServiceOrder.ServiceOrderStatus.COMPLETO)));
+        return orderId;
+    }
+
+    // OS pendente com um serviço, para um veículo gravado direto
+    private ServiceOrderCreateDto orderDto(long tenantId) {
+        Vehicle vehicle = TestFixtures.vehicle(entityManager, tenantId);
+        RepairService repairService = new RepairService();
+        repairService.setTenantId(tenantId);
+        repairService.setName("Alinhamento");
+        repairService.setCost(new BigDecimal("120.00"));
+        entityManager.persist(repairService);
+
+        ServiceOrderServiceDto item = new ServiceOrderServiceDto();
+        item.setId(repairService.getId());
+        item.setQuantity(2);
+
+        ServiceOrderCreateDto dto = new ServiceOrderCreateDto();
+        dto.setVehicleId(vehicle.getId());
+        dto.setServiceItems(List.of(item));
+        return dto;
+    }
+
+    private static ServiceOrderUpdateDto statusDto(ServiceOrder.ServiceOrderStatus status) {
+        ServiceOrderUpdateDto dto = new ServiceOrderUpdateDto();
+        dto.setStatus(status.name());
+        dto.setInitialMileage(1000);
+        return dto;
+    }
+
+    private <T> T inTenant(long tenantId, Supplier<T> work) {
+        return TestFixtures.inTenant(transactionTemplate, tenantFilterAspect, tenantId, work);
+    }
+
+    private VehicleCreateDto vehicleDto(Long[] ids) {
+        VehicleCreateDto dto = new VehicleCreateDto();
+        dto.setYear(2020);
+        dto.setLicensePlate(TestFixtures.licensePlate());
+        dto.setColor("Prata");
+        dto.setModelId(ids[0]);
+        dto.setClientId(ids[1]);
+        return dto;
+    }
+
+    private Long[] createModelAndClient(long tenantId) {
+        return new Long[]{TestFixtures.model(entityManager, tenantId).getId(),
+                TestFixtures.client(entityManager, tenantId).getId()};
+    }
+}
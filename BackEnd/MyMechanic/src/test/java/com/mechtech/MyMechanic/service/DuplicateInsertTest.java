@@ -0,0 +1,102 @@
+package com.mechtech.MyMechanic.service;
+
+import com.mechtech.MyMechanic.entity.Client;
+import com.mechtech.MyMechanic.entity.Vehicle;
+import com.mechtech.MyMechanic.exception.UniqueConstraintViolationException;
+import com.mechtech.MyMechanic.multiTenants.TenantContext;
+import com.mechtech.MyMechanic.multiTenants.TenantFilterAspect;
+import com.mechtech.MyMechanic.support.TestFixtures;
+import com.mechtech.MyMechanic.web.dto.vehicle.VehicleCreateDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Valores únicos já usados em outro tenant passam pela verificação do serviço (filtrada por tenant) e
+// esbarram na restrição UNIQUE do banco. Com ids de sequência o INSERT precisa ir ao banco dentro do
+// método de criação para que a violação vire a mensagem amigável, e não um erro no commit.
+@SpringBootTest
+@ActiveProfiles("test")
+@WithMockUser
+class DuplicateInsertTest {
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        @Primary
+        public JavaMailSender testJavaMailSender() {
+            return Mockito.mock(JavaMailSender.class);
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TenantFilterAspect tenantFilterAspect;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void clientWithAnotherTenantsEmailIsRejected() {
+        long owner = TestFixtures.tenantId();
+        long other = TestFixtures.tenantId();
+        Client existing = TestFixtures.inTenant(transactionTemplate, tenantFilterAspect, owner,
+                () -> TestFixtures.client(entityManager, owner));
+
+        Client duplicate = new Client();
+        duplicate.setName("Cliente duplicado");
+        duplicate.setEmail(existing.getEmail());
+        duplicate.setPhone("11912345678");
+        duplicate.setCpf(TestFixtures.cpf());
+
+        TenantContext.setTenantId(other);
+        assertThatThrownBy(() -> clientService.createClient(duplicate))
+                .isInstanceOf(UniqueConstraintViolationException.class);
+    }
+
+    @Test
+    void vehicleWithAnotherTenantsPlateIsRejected() {
+        long owner = TestFixtures.tenantId();
+        long other = TestFixtures.tenantId();
+        Vehicle existing = TestFixtures.inTenant(transactionTemplate, tenantFilterAspect, owner,
+                () -> TestFixtures.vehicle(entityManager, owner));
+        Long[] ids = transactionTemplate.execute(status -> new Long[]{
+                TestFixtures.model(entityManager, other).getId(), TestFixtures.client(entityManager, other).getId()});
+
+        VehicleCreateDto dto = new VehicleCreateDto();
+        dto.setYear(2020);
+        dto.setLicensePlate(existing.getLicensePlate());
+        dto.setColor("Prata");
+        dto.setModelId(ids[0]);
+        dto.setClientId(ids[1]);
+
+        TenantContext.setTenantId(other);
+        assertThatThrownBy(() -> vehicleService.createVehicle(dto))
+                .isInstanceOf(UniqueConstraintViolationException.class);
+    }
+}
@@ -0,0 +1,146 @@
+package com.mechtech.MyMechanic.service;
+
+import com.mechtech.MyMechanic.multiTenants.TenantContext;
+import com.mechtech.MyMechanic.service.InvalidationBus.Invalidation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+// Duas instâncias do barramento sem banco: os payloads enviados pelo pg_notify de uma são entregues
+// à outra como se tivessem chegado pelo LISTEN.
+class InvalidationBusTest {
+
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final InvalidationBus sender = newBus(jdbcTemplate, true);
+    private final InvalidationBus receiver = newBus(Mockito.mock(JdbcTemplate.class), true);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(sender);
+    }
+
+    @Test
+    void invalidationsReachOtherInstancesOnly() {
+        List<Invalidation> ownReceived = subscribe(sender, "brand");
+        List<Invalidation> received = subscribe(receiver, "brand");
+
+        sender.publishAfterCommit("brand", 1L, 5L);
+        sender.publishAfterCommit("brand", 2L, null);
+        List<String> payloads = sentPayloads();
+
+        receiver.receive(payloads);
+        assertThat(received).containsExactly(
+                new Invalidation("brand", 1L, "5"), new Invalidation("brand", 2L, null));
+
+        // A própria instância já atualizou os caches ao publicar
+        sender.receive(payloads);
+        assertThat(ownReceived).isEmpty();
+    }
+
+    @Test
+    void transactionBatchIsCoalescedAndSentBeforeCommit() {
+        List<Invalidation> brands = subscribe(receiver, "brand");
+        List<Invalidation> models = subscribe(receiver, "model");
+
+        TransactionSynchronizationManager.initSynchronization();
+        sender.publishAfterCommit("brand", 1L, 5L);
+        sender.publishAfterCommit("brand", 1L, 5L);
+        sender.publishAfterCommit("brand", 1L, null);
+        sender.publishAfterCommit("brand", 2L, 8L);
+        sender.publishAfterCommit("model", 1L, 7L);
+        verifyNoInteractions(jdbcTemplate);
+
+        commit();
+        List<String> payloads = sentPayloads();
+        assertThat(payloads).hasSize(1);
+
+        receiver.receive(payloads);
+        // O id 5 do tenant 1 já está coberto pela invalidação de todo o tenant
+        assertThat(brands).containsExactly(
+                new Invalidation("brand", 1L, null), new Invalidation("brand", 2L, "8"));
+        assertThat(models).containsExactly(new Invalidation("model", 1L, "7"));
+    }
+
+    @Test
+    void largeBatchesAreSplitBelowTheNotifyLimit() {
+        List<Invalidation> received = subscribe(receiver, "brand");
+
+        TransactionSynchronizationManager.initSynchronization();
+        for (long id = 1; id <= 2000; id++) {
+            sender.publishAfterCommit("brand", 1L, 1_000_000_000L + id);
+        }
+        commit();
+
+        List<String> payloads = sentPayloads();
+        assertThat(payloads).hasSizeGreaterThan(1);
+        assertThat(payloads).allSatisfy(payload ->
+                assertThat(payload.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(InvalidationBus.MAX_PAYLOAD));
+
+        receiver.receive(payloads);
+        assertThat(received).hasSize(2000);
+        assertThat(received.get(1999)).isEqualTo(new Invalidation("brand", 1L, "1000002000"));
+    }
+
+    @Test
+    void reconnectFlushesEveryTenantOfEverySubscribedEntity() {
+        List<Invalidation> brands = subscribe(receiver, "brand");
+        List<Invalidation> models = subscribe(receiver, "model");
+
+        receiver.reconnected();
+
+        assertThat(brands).containsExactly(new Invalidation("brand", TenantContext.NO_TENANT, null));
+        assertThat(models).containsExactly(new Invalidation("model", TenantContext.NO_TENANT, null));
+    }
+
+    @Test
+    void disabledBusPublishesNothing() {
+        JdbcTemplate unused = Mockito.mock(JdbcTemplate.class);
+        InvalidationBus disabled = newBus(unused, false);
+
+        disabled.publishAfterCommit("brand", 1L, 5L);
+
+        verifyNoInteractions(unused);
+    }
+
+    private List<String> sentPayloads() {
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeastOnce())
+                .queryForObject(eq("SELECT pg_notify(?, ?)"), eq(Object.class), eq("app_cache_invalidation"), payload.capture());
+        return payload.getAllValues();
+    }
+
+    private static List<Invalidation> subscribe(InvalidationBus bus, String entity) {
+        List<Invalidation> received = new ArrayList<>();
+        bus.subscribe(entity, received::add);
+        return received;
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(sync -> sync.beforeCommit(false));
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private static InvalidationBus newBus(JdbcTemplate jdbcTemplate, boolean enabled) {
+        return new InvalidationBus(jdbcTemplate, new SimpleMeterRegistry(), enabled, "", "", "");
+    }
+}
@@ -0,0 +1,197 @@
+package com.mechtech.MyMechanic.service;
+
+import com.mechtech.MyMechanic.entity.*;
+import com.mechtech.MyMechanic.support.TestFixtures;
+import com.mechtech.MyMechanic.web.dto.quotation.QuotationPartItemDto;
+import com.mechtech.MyMechanic.web.dto.quotation.QuotationServiceItemDto;
+import com.mechtech.MyMechanic.web.dto.serviceorder.ServiceOrderCreateDto;
+import com.mechtech.MyMechanic.web.dto.serviceorder.ServiceOrderPartDto;
+import com.mechtech.MyMechanic.web.dto.serviceorder.ServiceOrderServiceDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Cria OS com N peças + N serviços, direto (createDirect) e a partir de um orçamento (createFromQuotation).
+// Com ids por sequência pooled e hibernate.jdbc.batch_size os INSERTs dos itens saem em lotes: o número
+// de statements fica bem abaixo do número de itens. Rode com: ./mvnw test -Dtest=ServiceOrderCreateBenchmarkTest -Dbenchmark=true
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ServiceOrderCreateBenchmarkTest {
+
+    private static final int[] ITEM_COUNTS = {25, 50, 100, 200};
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+    private static final long TENANT_ID = 1L;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        @Primary
+        public JavaMailSender testJavaMailSender() {
+            return Mockito.mock(JavaMailSender.class);
+        }
+    }
+
+    private record Result(double micros, double statements) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ServiceOrderService serviceOrderService;
+
+    @Autowired
+    private QuotationService quotationService;
+
+    private int sequence;
+
+    @Test
+    void itemInsertsAreBatched() {
+        log.info(String.format("%6s %16s %16s %16s %16s", "itens", "direta µs", "direta stmts", "orçamento µs", "orçamento stmts"));
+        for (int items : ITEM_COUNTS) {
+            Long vehicleId = createVehicle();
+            List<Long> partIds = createParts(items);
+            List<Long> serviceIds = createRepairServices(items);
+
+            Result direct = measure(() -> () -> serviceOrderService.createDirect(createDirectDto(vehicleId, partIds, serviceIds)));
+            Result fromQuotation = measure(() -> {
+                Long quotationId = createQuotation(vehicleId, partIds, serviceIds);
+                entityManager.flush();
+                entityManager.clear();
+                return () -> serviceOrderService.createFromQuotation(quotationId);
+            });
+            log.info(String.format("%6d %16.1f %16.1f %16.1f %16.1f", items * 2,
+                    direct.micros(), direct.statements(), fromQuotation.micros(), fromQuotation.statements()));
+
+            // Sem lotes seria ao menos um INSERT por item
+            assertThat(direct.statements()).isLessThan(items);
+            assertThat(fromQuotation.statements()).isLessThan(items);
+        }
+    }
+
+    // prepare: monta os dados da iteração fora da medição e devolve a ação medida (incluindo o flush)
+    private Result measure(Supplier<Runnable> prepare) {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        for (int i = 0; i < WARMUP; i++) {
+            run(prepare.get());
+        }
+
+        long elapsed = 0;
+        long statements = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            Runnable action = prepare.get();
+            statistics.clear();
+            long start = System.nanoTime();
+            run(action);
+            elapsed += System.nanoTime() - start;
+            statements += statistics.getPrepareStatementCount();
+        }
+        return new Result(elapsed / 1_000.0 / ITERATIONS, (double) statements / ITERATIONS);
+    }
+
+    private void run(Runnable action) {
+        action.run();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private ServiceOrderCreateDto createDirectDto(Long vehicleId, List<Long> partIds, List<Long> serviceIds) {
+        ServiceOrderCreateDto dto = new ServiceOrderCreateDto();
+        dto.setVehicleId(vehicleId);
+        dto.setPartItems(partIds.stream().map(id -> {
+            ServiceOrderPartDto item = new ServiceOrderPartDto();
+            item.setId(id);
+            item.setQuantity(1);
+            return item;
+        }).toList());
+        dto.setServiceItems(serviceIds.stream().map(id -> {
+            ServiceOrderServiceDto item = new ServiceOrderServiceDto();
+            item.setId(id);
+            item.setQuantity(1);
+            return item;
+        }).toList());
+        return dto;
+    }
+
+    private Long createQuotation(Long vehicleId, List<Long> partIds, List<Long> serviceIds) {
+        Set<QuotationPartItemDto> partItems = new HashSet<>();
+        for (Long id : partIds) {
+            QuotationPartItemDto item = new QuotationPartItemDto();
+            item.setId(id);
+            item.setQuantity(1);
+            partItems.add(item);
+        }
+        Set<QuotationServiceItemDto> serviceItems = new HashSet<>();
+        for (Long id : serviceIds) {
+            QuotationServiceItemDto item = new QuotationServiceItemDto();
+            item.setId(id);
+            item.setQuantity(1);
+            serviceItems.add(item);
+        }
+        Quotation quotation = new Quotation();
+        quotation.setEntryTime(LocalDateTime.now());
+        return quotationService.createQuotation(quotation, vehicleId, partItems, serviceItems).getId();
+    }
+
+    private Long createVehicle() {
+        sequence++;
+        return TestFixtures.vehicle(entityManager, TENANT_ID).getId();
+    }
+
+    private List<Long> createParts(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Part part = new Part();
+            part.setTenantId(TENANT_ID);
+            part.setName("Peça " + sequence + "." + i);
+            part.setPrice(BigDecimal.TEN);
+            entityManager.persist(part);
+            ids.add(part.getId());
+        }
+        return ids;
+    }
+
+    private List<Long> createRepairServices(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            RepairService repairService = new RepairService();
+            repairService.setTenantId(TENANT_ID);
+            repairService.setName("Serviço " + sequence + "." + i);
+            repairService.setCost(BigDecimal.TEN);
+            entityManager.persist(repairService);
+            ids.add(repairService.getId());
+        }
+        return ids;
+    }
+}
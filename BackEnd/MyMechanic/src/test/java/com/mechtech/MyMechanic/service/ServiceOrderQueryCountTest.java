@@ -0,0 +1,202 @@
+package com.mechtech.MyMechanic.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mechtech.MyMechanic.entity.*;
+import com.mechtech.MyMechanic.multiTenants.TenantContext;
+import com.mechtech.MyMechanic.support.TestFixtures;
+import com.mechtech.MyMechanic.web.dto.serviceorder.ServiceOrderCreateDto;
+import com.mechtech.MyMechanic.web.dto.serviceorder.ServiceOrderEmployeeDto;
+import com.mechtech.MyMechanic.web.dto.serviceorder.ServiceOrderServiceDto;
+import com.mechtech.MyMechanic.web.mapper.ServiceOrderMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static com.mechtech.MyMechanic.support.QueryCountAssertions.assertSameStatementCount;
+import static com.mechtech.MyMechanic.support.QueryCountAssertions.assertStatementsAtMost;
+
+// Falha quando o detalhe da OS, o relatório de comissões ou a criação da OS voltam a fazer uma consulta por item/linha,
+// ou quando as listagens deixam de sair em um único SELECT. Com tenant definido, como nas requisições
+// (filtro do Hibernate ativo).
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser
+class ServiceOrderQueryCountTest {
+
+    private static final long TENANT_ID = 11L;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        @Primary
+        public JavaMailSender testJavaMailSender() {
+            return Mockito.mock(JavaMailSender.class);
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ServiceOrderService serviceOrderService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ServiceOrderMapper serviceOrderMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(TENANT_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void detailDoesNotGrowWithItems() throws Exception {
+        Long oneItem = createOrder(1, LocalDateTime.now()).getId();
+        Long fiveItems = createOrder(5, LocalDateTime.now()).getId();
+
+        assertSameStatementCount(entityManager,
+                () -> objectMapper.writeValueAsString(serviceOrderMapper.toDto(serviceOrderService.findById(oneItem))),
+                () -> objectMapper.writeValueAsString(serviceOrderMapper.toDto(serviceOrderService.findById(fiveItems))));
+    }
+
+    @Test
+    void commissionReportDoesNotGrowWithOrders() throws Exception {
+        LocalDate firstDay = LocalDate.now().minusDays(30);
+        LocalDate secondDay = LocalDate.now().minusDays(10);
+        createOrder(2, firstDay.atTime(10, 0));
+        for (int i = 0; i < 5; i++) {
+            createOrder(2, secondDay.atTime(10, 0));
+        }
+
+        assertSameStatementCount(entityManager,
+                () -> reportService.getCommissionReport(firstDay, firstDay),
+                () -> reportService.getCommissionReport(secondDay, secondDay));
+    }
+
+    @Test
+    void createDirectResolvesItemsInBulk() throws Exception {
+        ServiceOrderCreateDto oneItem = createDirectDto(createOrder(1, LocalDateTime.now()));
+        ServiceOrderCreateDto fiveItems = createDirectDto(createOrder(5, LocalDateTime.now()));
+
+        // Com ids por sequência os INSERTs só saem no flush: contamos apenas as consultas da montagem
+        assertSameStatementCount(entityManager,
+                () -> serviceOrderService.createDirect(oneItem),
+                () -> serviceOrderService.createDirect(fiveItems));
+    }
+
+    @Test
+    void listsIssueASingleStatement() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            createOrder(2, LocalDateTime.now());
+        }
+
+        // Veículo, modelo e cliente entram por join na projeção; página incompleta dispensa o COUNT
+        assertStatementsAtMost(entityManager, 1, () -> serviceOrderService.search(null, PageRequest.of(0, 20)));
+        assertStatementsAtMost(entityManager, 1, () -> serviceOrderService.scroll(null, null, 20));
+        assertStatementsAtMost(entityManager, 1, () -> serviceOrderService.slice(null, PageRequest.of(0, 2)));
+    }
+
+    private ServiceOrderCreateDto createDirectDto(ServiceOrder order) {
+        ServiceOrderCreateDto dto = new ServiceOrderCreateDto();
+        dto.setVehicleId(order.getVehicle().getId());
+        dto.setServiceItems(order.getServiceItems().stream().map(item -> {
+            ServiceOrderServiceDto serviceDto = new ServiceOrderServiceDto();
+            serviceDto.setId(item.getRepairService().getId());
+            serviceDto.setQuantity(1);
+            return serviceDto;
+        }).toList());
+        dto.setEmployees(order.getEmployees().stream().map(item -> {
+            ServiceOrderEmployeeDto employeeDto = new ServiceOrderEmployeeDto();
+            employeeDto.setId(item.getEmployee().getId());
+            employeeDto.setCommissionPercentage(BigDecimal.TEN);
+            return employeeDto;
+        }).toList());
+        return dto;
+    }
+
+    // Cada OS tem veículo, modelo, cliente, funcionário e serviços próprios, como em uma base real
+    private ServiceOrder createOrder(int items, LocalDateTime exitDate) {
+        int n = sequence++;
+
+        Vehicle vehicle = TestFixtures.vehicle(entityManager, TENANT_ID);
+        Client client = vehicle.getClient();
+
+        Role role = new Role();
+        role.setTenantId(TENANT_ID);
+        role.setName("Mecânico " + n);
+        role.setReceivesCommission(true);
+        entityManager.persist(role);
+
+        Employee employee = new Employee();
+        employee.setTenantId(TENANT_ID);
+        employee.setName("Funcionário " + n);
+        employee.setEmail("funcionario" + n + "@teste.com");
+        employee.setPhone(String.format("118%08d", n));
+        employee.setCpf(String.format("9%010d", n));
+        employee.setRole(role);
+        entityManager.persist(employee);
+
+        ServiceOrder order = new ServiceOrder();
+        order.setTenantId(TENANT_ID);
+        order.setEntryDate(exitDate.minusDays(1));
+        order.setExitDate(exitDate);
+        order.setStatus(ServiceOrder.ServiceOrderStatus.COMPLETO);
+        order.setTotalCost(BigDecimal.valueOf(100L * items));
+        order.setVehicle(vehicle);
+        order.setClient(client);
+
+        for (int i = 0; i < items; i++) {
+            RepairService repairService = new RepairService();
+            repairService.setTenantId(TENANT_ID);
+            repairService.setName("Serviço " + n + "." + i);
+            repairService.setCost(BigDecimal.valueOf(100));
+            entityManager.persist(repairService);
+
+            ServiceOrderServiceItem item = new ServiceOrderServiceItem();
+            item.setServiceOrder(order);
+            item.setRepairService(repairService);
+            item.setServiceCost(BigDecimal.valueOf(100));
+            item.setQuantity(1);
+            order.getServiceItems().add(item);
+        }
+
+        ServiceOrderEmployee orderEmployee = new ServiceOrderEmployee();
+        orderEmployee.setServiceOrder(order);
+        orderEmployee.setEmployee(employee);
+        orderEmployee.setCommissionPercentage(BigDecimal.TEN);
+        order.getEmployees().add(orderEmployee);
+
+        entityManager.persist(order);
+        return order;
+    }
+}
@@ -0,0 +1,200 @@
+package com.mechtech.MyMechanic.service;
+
+import com.mechtech.MyMechanic.entity.Client;
+import com.mechtech.MyMechanic.multiTenants.TenantContext;
+import com.mechtech.MyMechanic.multiTenants.TenantFilterAspect;
+import com.mechtech.MyMechanic.repository.ClientRepository;
+import com.mechtech.MyMechanic.repository.PartRepository;
+import com.mechtech.MyMechanic.repository.VehicleRepository;
+import com.mechtech.MyMechanic.repository.projection.SuggestionRow;
+import com.mechtech.MyMechanic.web.dto.suggestion.SuggestionDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Índice em memória com repositórios simulados: as linhas de clientes vêm por tenant, como o filtro
+// do Hibernate faria, e as transações são simuladas pela sincronização do Spring.
+class SuggestionServiceTest {
+
+    private final VehicleRepository vehicleRepository = Mockito.mock(VehicleRepository.class);
+    private final ClientRepository clientRepository = Mockito.mock(ClientRepository.class);
+    private final PartRepository partRepository = Mockito.mock(PartRepository.class);
+    private final Map<Long, List<SuggestionRow>> clientRows = new HashMap<>();
+    private SuggestionService service;
+
+    @BeforeEach
+    void setUp() {
+        when(clientRepository.findSuggestionRows())
+                .thenAnswer(invocation -> clientRows.getOrDefault(TenantContext.getTenantId(), List.of()));
+        service = newService(1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void matchesPrefixesOfAnyWordAndCompactCpf() {
+        clientRows.put(1L, List.of(
+                new SuggestionRow(1L, "João da Silva", "12345678901"),
+                new SuggestionRow(2L, "Maria Souza", "98765432100")));
+        TenantContext.setTenantId(1L);
+
+        assertThat(ids(service.suggest("joa", null))).containsExactly(1L);
+        assertThat(ids(service.suggest("SIL", null))).containsExactly(1L);
+        assertThat(ids(service.suggest("987.654", null))).containsExactly(2L);
+        assertThat(service.suggest("pedro", null)).isEmpty();
+        assertThat(service.suggest(" ", null)).isEmpty();
+    }
+
+    @Test
+    void resultsAreLimited() {
+        List<SuggestionRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 60; id++) {
+            rows.add(new SuggestionRow(id, "Carlos " + id, String.format("%011d", id)));
+        }
+        clientRows.put(1L, rows);
+        TenantContext.setTenantId(1L);
+
+        assertThat(service.suggest("carlos", null)).hasSize(10);
+        assertThat(service.suggest("carlos", 3)).hasSize(3);
+        assertThat(service.suggest("carlos", 0)).hasSize(1);
+        assertThat(service.suggest("carlos", 500)).hasSize(50);
+    }
+
+    @Test
+    void writesBecomeVisibleAfterCommit() {
+        TenantContext.setTenantId(1L);
+        service.suggest("x", null);
+
+        Client client = client(7L, 1L, "Ana Pereira");
+        inTransaction(() -> {
+            service.indexClient(client);
+            assertThat(service.suggest("ana", null)).isEmpty();
+        });
+        assertThat(ids(service.suggest("ana", null))).containsExactly(7L);
+
+        client.setName("Beatriz Pereira");
+        inTransaction(() -> service.indexClient(client));
+        assertThat(service.suggest("ana", null)).isEmpty();
+        assertThat(ids(service.suggest("bea", null))).containsExactly(7L);
+
+        inTransaction(() -> service.remove(SuggestionDto.Type.CLIENT, 7L, 1L));
+        assertThat(service.suggest("bea", null)).isEmpty();
+        assertThat(service.suggest("pereira", null)).isEmpty();
+    }
+
+    @Test
+    void rolledBackWritesAreIgnored() {
+        TenantContext.setTenantId(1L);
+        service.suggest("x", null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.indexClient(client(7L, 1L, "Ana Pereira"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(service.suggest("ana", null)).isEmpty();
+    }
+
+    @Test
+    void writeCommittedDuringLoadIsNotOverwritten() {
+        // A carga leu "Ana" do banco; antes de aplicar as linhas, outra transação renomeou o cliente
+        when(clientRepository.findSuggestionRows()).thenAnswer(invocation -> {
+            service.indexClient(client(7L, 1L, "Beatriz Pereira"));
+            return List.of(new SuggestionRow(7L, "Ana Pereira", "12345678901"));
+        });
+        TenantContext.setTenantId(1L);
+
+        assertThat(ids(service.suggest("bea", null))).containsExactly(7L);
+        assertThat(service.suggest("ana", null)).isEmpty();
+    }
+
+    @Test
+    void tenantsDoNotSeeEachOther() {
+        clientRows.put(1L, List.of(new SuggestionRow(1L, "Ana Pereira", "12345678901")));
+        clientRows.put(2L, List.of(new SuggestionRow(2L, "Ana Lima", "98765432100")));
+
+        TenantContext.setTenantId(2L);
+        assertThat(ids(service.suggest("ana", null))).containsExactly(2L);
+
+        TenantContext.setTenantId(1L);
+        assertThat(ids(service.suggest("ana", null))).containsExactly(1L);
+        // A escrita vai para o índice do tenant da entidade, não para o do tenant atual
+        service.indexClient(client(3L, 2L, "Ana Costa"));
+        assertThat(ids(service.suggest("ana", null))).containsExactly(1L);
+
+        TenantContext.setTenantId(2L);
+        assertThat(ids(service.suggest("ana", null))).containsExactlyInAnyOrder(2L, 3L);
+
+        TenantContext.clear();
+        assertThat(service.suggest("ana", null)).isEmpty();
+    }
+
+    @Test
+    void leastRecentlyUsedTenantIsEvicted() {
+        service = newService(2);
+        for (long tenantId : new long[]{1L, 2L, 1L, 3L}) {
+            TenantContext.setTenantId(tenantId);
+            service.suggest("a", null);
+        }
+        verify(clientRepository, times(3)).findSuggestionRows();
+
+        // O tenant 1 foi usado depois do 2: só o 2 saiu da memória
+        TenantContext.setTenantId(1L);
+        service.suggest("a", null);
+        verify(clientRepository, times(3)).findSuggestionRows();
+
+        TenantContext.setTenantId(2L);
+        service.suggest("a", null);
+        verify(clientRepository, times(4)).findSuggestionRows();
+    }
+
+    private SuggestionService newService(int maxTenants) {
+        return new SuggestionService(vehicleRepository, clientRepository, partRepository,
+                Mockito.mock(TenantFilterAspect.class), Mockito.mock(PlatformTransactionManager.class),
+                Mockito.mock(InvalidationBus.class), maxTenants);
+    }
+
+    private static void inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Client client(Long id, Long tenantId, String name) {
+        Client client = new Client();
+        client.setId(id);
+        client.setTenantId(tenantId);
+        client.setName(name);
+        client.setCpf(String.format("%011d", id));
+        return client;
+    }
+
+    private static List<Long> ids(List<SuggestionDto> suggestions) {
+        return suggestions.stream().map(SuggestionDto::id).toList();
+    }
+}
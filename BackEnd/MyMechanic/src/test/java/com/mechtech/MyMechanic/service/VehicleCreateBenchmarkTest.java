@@ -0,0 +1,107 @@
+package com.mechtech.MyMechanic.service;
+
+import com.mechtech.MyMechanic.multiTenants.TenantContext;
+import com.mechtech.MyMechanic.support.TestFixtures;
+import com.mechtech.MyMechanic.web.dto.vehicle.VehicleCreateDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Veículos criados por segundo com marca/modelo vindos do cache de segundo nível (quente) e com as regiões
+// esvaziadas antes de cada criação (frio). O cache de catálogo fica desligado para medir só o do Hibernate.
+// Rode com: ./mvnw test -Dtest=VehicleCreateBenchmarkTest -Dbenchmark=true
+@Slf4j
+@SpringBootTest(properties = "app.catalog-cache.enabled=false")
+@ActiveProfiles("test")
+@TestPropertySource("classpath:second-level-cache.properties")
+@WithMockUser
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VehicleCreateBenchmarkTest {
+
+    private static final long TENANT_ID = 1L;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1000;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        @Primary
+        public JavaMailSender testJavaMailSender() {
+            return Mockito.mock(JavaMailSender.class);
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void vehicleCreationThroughput() {
+        Long[] ids = transactionTemplate.execute(status -> new Long[]{
+                TestFixtures.model(entityManager, TENANT_ID).getId(), TestFixtures.client(entityManager, TENANT_ID).getId()});
+        TenantContext.setTenantId(TENANT_ID);
+
+        double cold = measure(ids[0], ids[1], true);
+        double warm = measure(ids[0], ids[1], false);
+        log.info(String.format("%18s %18s", "frio veículos/s", "quente veículos/s"));
+        log.info(String.format("%18.0f %18.0f", cold, warm));
+    }
+
+    private double measure(Long modelId, Long clientId, boolean evict) {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (int i = 0; i < WARMUP; i++) {
+            create(modelId, clientId, cache, evict);
+        }
+        long elapsed = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            elapsed += create(modelId, clientId, cache, evict);
+        }
+        return ITERATIONS / (elapsed / 1_000_000_000.0);
+    }
+
+    // Devolve o tempo da criação (a limpeza das regiões fica fora da medição)
+    private long create(Long modelId, Long clientId, org.hibernate.Cache cache, boolean evict) {
+        if (evict) {
+            cache.evictAllRegions();
+        }
+        VehicleCreateDto dto = new VehicleCreateDto();
+        dto.setYear(2020);
+        dto.setLicensePlate(TestFixtures.licensePlate());
+        dto.setColor("Prata");
+        dto.setModelId(modelId);
+        dto.setClientId(clientId);
+
+        long start = System.nanoTime();
+        vehicleService.createVehicle(dto);
+        return System.nanoTime() - start;
+    }
+}
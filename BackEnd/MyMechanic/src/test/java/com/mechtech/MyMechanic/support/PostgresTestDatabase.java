@@ -0,0 +1,38 @@
+package com.mechtech.MyMechanic.support;
+
+import org.flywaydb.core.Flyway;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+// PostgreSQL real (Testcontainers) com as migrações do Flyway aplicadas, para o que o H2 não reproduz:
+// políticas de RLS, triggers e pg_trgm. Um único container por execução da suíte; as classes que o usam
+// levam @Testcontainers(disabledWithoutDocker = true) e são ignoradas onde não há Docker.
+public final class PostgresTestDatabase {
+
+    private static PostgreSQLContainer<?> container;
+
+    private PostgresTestDatabase() {}
+
+    public static synchronized PostgreSQLContainer<?> start() {
+        if (container == null) {
+            PostgreSQLContainer<?> started = new PostgreSQLContainer<>("postgres:16-alpine");
+            started.start();
+            Flyway.configure()
+                    .dataSource(started.getJdbcUrl(), started.getUsername(), started.getPassword())
+                    .initSql("SELECT set_config('app.bypass_rls', 'on', false)")
+                    .load()
+                    .migrate();
+            container = started;
+        }
+        return container;
+    }
+
+    // Conexão com o usuário do container (superusuário: ignora as políticas de RLS)
+    public static Connection connect() throws SQLException {
+        PostgreSQLContainer<?> db = start();
+        return DriverManager.getConnection(db.getJdbcUrl(), db.getUsername(), db.getPassword());
+    }
+}
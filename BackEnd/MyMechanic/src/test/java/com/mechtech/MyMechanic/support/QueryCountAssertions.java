@@ -0,0 +1,45 @@
+package com.mechtech.MyMechanic.support;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Conta os statements JDBC preparados pelo Hibernate durante uma ação. O contexto de persistência
+// é limpo antes e depois, para que cada medição vá ao banco como uma requisição nova.
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {}
+
+    public static long countStatements(EntityManager entityManager, Callable<?> action) throws Exception {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        action.call();
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return statements;
+    }
+
+    public static void assertStatementsAtMost(EntityManager entityManager, long max, Callable<?> action) throws Exception {
+        long statements = countStatements(entityManager, action);
+        assertThat(statements)
+                .as("statements executados (limite %d)", max)
+                .isLessThanOrEqualTo(max);
+    }
+
+    // Detecta N+1: a quantidade de statements não pode crescer com o número de linhas/itens
+    public static void assertSameStatementCount(EntityManager entityManager, Callable<?> small, Callable<?> large) throws Exception {
+        long smallCount = countStatements(entityManager, small);
+        long largeCount = countStatements(entityManager, large);
+        assertThat(largeCount)
+                .as("statements com mais linhas (%d) x com menos linhas (%d)", largeCount, smallCount)
+                .isEqualTo(smallCount);
+    }
+}
@@ -0,0 +1,121 @@
+package com.mechtech.MyMechanic.support;
+
+import com.mechtech.MyMechanic.entity.Client;
+import com.mechtech.MyMechanic.entity.Vehicle;
+import com.mechtech.MyMechanic.entity.VehicleBrand;
+import com.mechtech.MyMechanic.entity.VehicleModel;
+import com.mechtech.MyMechanic.multiTenants.TenantContext;
+import com.mechtech.MyMechanic.multiTenants.TenantFilterAspect;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Dados de apoio gravados direto pelo EntityManager, sem passar pelos serviços (nem pelos contadores
+// do painel): marca → modelo, cliente e veículo. O H2 é compartilhado pelas classes de teste, então
+// e-mail, telefone, CPF e placa vêm de um contador único na execução da suíte.
+public final class TestFixtures {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    // Acima dos ids fixos usados pelas classes de teste
+    private static final AtomicLong TENANTS = new AtomicLong(1_000_000);
+
+    private TestFixtures() {}
+
+    // Tenant que nenhum outro teste usa, para dados que não podem se misturar com os de outras classes
+    public static long tenantId() {
+        return TENANTS.incrementAndGet();
+    }
+
+    public static VehicleModel model(EntityManager entityManager, long tenantId) {
+        int n = SEQUENCE.incrementAndGet();
+
+        VehicleBrand brand = new VehicleBrand();
+        brand.setTenantId(tenantId);
+        brand.setName("Marca " + n);
+        entityManager.persist(brand);
+
+        VehicleModel model = new VehicleModel();
+        model.setTenantId(tenantId);
+        model.setName("Modelo " + n);
+        model.setBrand(brand);
+        entityManager.persist(model);
+        return model;
+    }
+
+    public static Client client(EntityManager entityManager, long tenantId) {
+        return client(entityManager, tenantId, null);
+    }
+
+    // name = null: "Cliente <n>"
+    public static Client client(EntityManager entityManager, long tenantId, String name) {
+        int n = SEQUENCE.incrementAndGet();
+
+        Client client = new Client();
+        client.setTenantId(tenantId);
+        client.setName(name != null ? name : "Cliente " + n);
+        client.setEmail("cliente" + n + "@teste.com");
+        client.setPhone(String.format("119%08d", n));
+        client.setCpf(String.format("%011d", n));
+        entityManager.persist(client);
+        return client;
+    }
+
+    // Veículo com marca, modelo e cliente próprios, como em uma base real
+    public static Vehicle vehicle(EntityManager entityManager, long tenantId) {
+        return vehicle(entityManager, tenantId, model(entityManager, tenantId), client(entityManager, tenantId));
+    }
+
+    public static Vehicle vehicle(EntityManager entityManager, long tenantId, VehicleModel model, Client client) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setTenantId(tenantId);
+        vehicle.setYear(2020);
+        vehicle.setLicensePlate(licensePlate());
+        vehicle.setColor("Prata");
+        vehicle.setModel(model);
+        vehicle.setClient(client);
+        entityManager.persist(vehicle);
+        return vehicle;
+    }
+
+    // Padrão antigo (ABC1234), aceito pelo VehicleCreateDto
+    public static String licensePlate() {
+        int n = SEQUENCE.incrementAndGet();
+        int letters = n / 10_000;
+        return String.format("%c%c%c%04d",
+                'A' + letters / 676 % 26, 'A' + letters / 26 % 26, 'A' + letters % 26, n % 10_000);
+    }
+
+    // CPF com dígitos verificadores válidos, para os fluxos que passam pelo ValidationUtils
+    public static String cpf() {
+        String base = String.format("%09d", 100_000_000 + SEQUENCE.incrementAndGet());
+        int first = checkDigit(base);
+        return base + first + checkDigit(base + first);
+    }
+
+    private static int checkDigit(String digits) {
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (digits.length() + 1 - i);
+        }
+        int digit = 11 - sum % 11;
+        return digit >= 10 ? 0 : digit;
+    }
+
+    // Executa em uma transação própria com o tenant definido, como uma requisição. Fora de uma chamada
+    // de serviço o aspecto não é acionado, então os filtros são ativados aqui.
+    public static <T> T inTenant(TransactionTemplate transactionTemplate, TenantFilterAspect tenantFilterAspect,
+                                 long tenantId, Supplier<T> work) {
+        TenantContext.setTenantId(tenantId);
+        try {
+            return transactionTemplate.execute(status -> {
+                tenantFilterAspect.activateTenantFilter();
+                return work.get();
+            });
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
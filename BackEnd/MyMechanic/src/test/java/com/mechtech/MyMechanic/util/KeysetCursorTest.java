@@ -0,0 +1,86 @@
+package com.mechtech.MyMechanic.util;
+
+import com.mechtech.MyMechanic.exception.BusinessRuleException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    private static final Map<String, Class<?>> KEYS = keyTypes();
+
+    @Test
+    void cursorRoundTripKeepsTypedKeys() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("entryDate", LocalDateTime.of(2024, 5, 10, 14, 30, 15));
+        keys.put("id", 42L);
+
+        String cursor = KeysetCursor.next(window(keys, true));
+        KeysetScrollPosition position = KeysetCursor.decode(cursor, KEYS);
+
+        assertThat(cursor).doesNotContain("=", "+", "/");
+        assertThat(position.isInitial()).isFalse();
+        assertThat(position.getKeys()).containsExactlyEntriesOf(keys);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        assertThat(KeysetCursor.next(window(Map.of("id", 1L), false))).isNull();
+    }
+
+    @Test
+    void blankCursorStartsFromTheFirstPage() {
+        assertThat(KeysetCursor.decode(null, KEYS).isInitial()).isTrue();
+        assertThat(KeysetCursor.decode(" ", KEYS).isInitial()).isTrue();
+    }
+
+    @Test
+    void tamperedCursorsAreRejected() {
+        assertInvalid("não é base64!");
+        assertInvalid(encode("{\"entryDate\":"));
+        // Chave de ordenação ausente
+        assertInvalid(encode("{\"id\":\"42\"}"));
+        // Tipos incompatíveis com as colunas de ordenação
+        assertInvalid(encode("{\"entryDate\":\"ontem\",\"id\":\"42\"}"));
+        assertInvalid(encode("{\"entryDate\":\"2024-05-10T14:30:15\",\"id\":\"42 OR 1=1\"}"));
+    }
+
+    @Test
+    void sizeIsClamped() {
+        assertThat(KeysetCursor.clampSize(0)).isEqualTo(1);
+        assertThat(KeysetCursor.clampSize(50)).isEqualTo(50);
+        assertThat(KeysetCursor.clampSize(10_000)).isEqualTo(KeysetCursor.MAX_SIZE);
+    }
+
+    private static void assertInvalid(String cursor) {
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor, KEYS))
+                .isInstanceOf(BusinessRuleException.class)
+                .hasMessage("Cursor de paginação inválido.");
+    }
+
+    private static Window<String> window(Map<String, Object> lastKeys, boolean hasNext) {
+        return Window.from(List.of("registro"), index -> ScrollPosition.forward(lastKeys), hasNext);
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, Class<?>> keyTypes() {
+        Map<String, Class<?>> keys = new LinkedHashMap<>();
+        keys.put("entryDate", LocalDateTime.class);
+        keys.put("id", Long.class);
+        return keys;
+    }
+}
@@ -3,9 +3,15 @@ package com.mechtech.MyMechanic.web.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mechtech.MyMechanic.entity.Client;
 import com.mechtech.MyMechanic.entity.Vehicle;
+import com.mechtech.MyMechanic.entity.VehicleBrand;
+import com.mechtech.MyMechanic.entity.VehicleModel;
+import com.mechtech.MyMechanic.multiTenants.TenantContext;
 import com.mechtech.MyMechanic.repository.ClientRepository;
+import com.mechtech.MyMechanic.repository.VehicleBrandRepository;
+import com.mechtech.MyMechanic.repository.VehicleModelRepository;
 import com.mechtech.MyMechanic.repository.VehicleRepository;
 import com.mechtech.MyMechanic.web.dto.vehicle.VehicleCreateDto;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -58,8 +64,16 @@ class VehicleControllerTest {
     @Autowired
     private ClientRepository clientRepository;
 
+    @Autowired
+    private VehicleBrandRepository vehicleBrandRepository;
+
+    @Autowired
+    private VehicleModelRepository vehicleModelRepository;
+
     private Client savedClient;
 
+    private VehicleModel fiesta;
+
 
     @BeforeEach
     void setUp() {
@@ -71,16 +85,37 @@ class VehicleControllerTest {
         client.setCpf("12345678901");
         client.setEmail("cliente.teste@example.com");
         client.setPhone("45999999999");
-        client.setTenantId("tenant-test-123");
+        client.setTenantId(1L);
         savedClient = clientRepository.save(client);
+
+        // Sem JWT nas requisições: o tenant do usuário vem direto do contexto
+        TenantContext.setTenantId(1L);
+        fiesta = model("Ford", "Fiesta");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private VehicleModel model(String brandName, String modelName) {
+        VehicleBrand brand = new VehicleBrand();
+        brand.setName(brandName);
+        brand.setTenantId(1L);
+        brand = vehicleBrandRepository.save(brand);
+
+        VehicleModel model = new VehicleModel();
+        model.setName(modelName);
+        model.setBrand(brand);
+        model.setTenantId(1L);
+        return vehicleModelRepository.save(model);
     }
 
     @Test
     @DisplayName("POST /api/v1/vehicles - Deve criar um veículo com sucesso quando dados são válidos")
     void createVehicle_WithValidData_ReturnsCreatedAndSavesToDb() throws Exception {
         VehicleCreateDto vehicleCreateDto = new VehicleCreateDto();
-        vehicleCreateDto.setBrand("Ford");
-        vehicleCreateDto.setModel("Fiesta");
+        vehicleCreateDto.setModelId(fiesta.getId());
         vehicleCreateDto.setYear(2020);
         vehicleCreateDto.setLicensePlate("TST1A23");
         vehicleCreateDto.setColor("Preto");
@@ -91,16 +126,16 @@ class VehicleControllerTest {
                         .content(objectMapper.writeValueAsString(vehicleCreateDto)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").exists())
-                .andExpect(jsonPath("$.brand").value("Ford"))
-                .andExpect(jsonPath("$.model").value("Fiesta"))
+                .andExpect(jsonPath("$.model.brand.name").value("Ford"))
+                .andExpect(jsonPath("$.model.name").value("Fiesta"))
                 .andExpect(jsonPath("$.licensePlate").value("TST1A23"))
                 .andExpect(jsonPath("$.client.id").value(savedClient.getId()));
 
         List<Vehicle> vehiclesInDb = vehicleRepository.findAll();
         assertThat(vehiclesInDb).hasSize(1);
         Vehicle savedVehicle = vehiclesInDb.get(0);
-        assertThat(savedVehicle.getBrand()).isEqualTo("Ford");
-        assertThat(savedVehicle.getModel()).isEqualTo("Fiesta");
+        assertThat(savedVehicle.getModel().getBrand().getName()).isEqualTo("Ford");
+        assertThat(savedVehicle.getModel().getName()).isEqualTo("Fiesta");
         assertThat(savedVehicle.getLicensePlate()).isEqualTo("TST1A23");
         assertThat(savedVehicle.getClient().getId()).isEqualTo(savedClient.getId());
         assertThat(savedVehicle.getTenantId()).isNotNull();
@@ -112,8 +147,7 @@ class VehicleControllerTest {
         long nonExistentClientId = savedClient.getId() + 999L;
 
         VehicleCreateDto vehicleCreateDto = new VehicleCreateDto();
-        vehicleCreateDto.setBrand("VW");
-        vehicleCreateDto.setModel("Gol");
+        vehicleCreateDto.setModelId(model("VW", "Gol").getId());
         vehicleCreateDto.setYear(2010);
         vehicleCreateDto.setLicensePlate("XYZ9F87");
         vehicleCreateDto.setColor("Branco");
@@ -131,8 +165,7 @@ class VehicleControllerTest {
     @DisplayName("POST /api/v1/vehicles - Deve retornar 409 Conflict quando placa já existe")
     void createVehicle_WithDuplicateLicensePlate_ReturnsConflict() throws Exception {
         Vehicle existingVehicle = new Vehicle();
-        existingVehicle.setBrand("Fiat");
-        existingVehicle.setModel("Uno");
+        existingVehicle.setModel(model("Fiat", "Uno"));
         existingVehicle.setYear(2015);
         existingVehicle.setLicensePlate("DUP1L23"); // Placa que será duplicada
         existingVehicle.setColor("Vermelho");
@@ -141,8 +174,7 @@ class VehicleControllerTest {
         vehicleRepository.save(existingVehicle);
 
         VehicleCreateDto duplicateDto = new VehicleCreateDto();
-        duplicateDto.setBrand("Ford");
-        duplicateDto.setModel("Ka");
+        duplicateDto.setModelId(model("Ford", "Ka").getId());
         duplicateDto.setYear(2018);
         duplicateDto.setLicensePlate("DUP1L23"); ; // Placa duplicada
         duplicateDto.setColor("Azul");
@@ -160,7 +192,6 @@ class VehicleControllerTest {
     @DisplayName("POST /api/v1/vehicles - Deve retornar 422 Unprocessable Entity quando dados obrigatórios estão faltando")
     void createVehicle_WithMissingRequiredData_ReturnsBadRequest() throws Exception {
         VehicleCreateDto invalidDto = new VehicleCreateDto();
-        invalidDto.setModel("Fiesta");
         invalidDto.setYear(2020);
         invalidDto.setLicensePlate("INV4L56");
         invalidDto.setColor("Preto");
@@ -178,8 +209,7 @@ class VehicleControllerTest {
     @DisplayName( "GET /api/v1/vehicles/{id} - Deve retornar o veículo pelo ID com sucesso")
     void getVehicleById_WithValidId_ReturnsVehicle() throws Exception {
         Vehicle vehicle = new Vehicle();
-        vehicle.setBrand("Chevrolet");
-        vehicle.setModel("Onix");
+        vehicle.setModel(model("Chevrolet", "Onix"));
         vehicle.setYear(2021);
         vehicle.setLicensePlate("GET1A23");
         vehicle.setColor("Cinza");
@@ -191,8 +221,8 @@ class VehicleControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(savedVehicle.getId()))
-                .andExpect(jsonPath("$.brand").value("Chevrolet"))
-                .andExpect(jsonPath("$.model").value("Onix"))
+                .andExpect(jsonPath("$.model.brand.name").value("Chevrolet"))
+                .andExpect(jsonPath("$.model.name").value("Onix"))
                 .andExpect(jsonPath("$.licensePlate").value("GET1A23"))
                 .andExpect(jsonPath("$.client.id").value(savedClient.getId()));
     }
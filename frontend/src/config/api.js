@@ -20,11 +20,48 @@ api.interceptors.request.use(
   }
 );
 
+// Uma única renovação em andamento por vez: requisições que recebem 401 ao mesmo tempo
+// aguardam a mesma promessa, pois o refresh token é rotacionado a cada uso.
+let refreshPromise = null;
+
+const refreshAccessToken = () => {
+  if (!refreshPromise) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    refreshPromise = axios
+      .post(`${api.defaults.baseURL}/auth/refresh`, { refreshToken })
+      .then(({ data }) => {
+        localStorage.setItem('token', data.token);
+        localStorage.setItem('refreshToken', data.refreshToken);
+        return data.token;
+      })
+      .finally(() => {
+        refreshPromise = null;
+      });
+  }
+  return refreshPromise;
+};
+
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
-    if (error.response?.status === 401) {
+  async (error) => {
+    const originalRequest = error.config;
+    const isAuthRequest = originalRequest?.url?.startsWith('/auth');
+
+    if (error.response?.status === 401 && !isAuthRequest && !originalRequest._retry
+        && localStorage.getItem('refreshToken')) {
+      originalRequest._retry = true;
+      try {
+        const token = await refreshAccessToken();
+        originalRequest.headers.Authorization = `Bearer ${token}`;
+        return api(originalRequest);
+      } catch (refreshError) {
+        // segue para o logout abaixo
+      }
+    }
+
+    if (error.response?.status === 401 && !isAuthRequest) {
       localStorage.removeItem('token');
+      localStorage.removeItem('refreshToken');
       window.location.href = '/auth';
     }
     return Promise.reject(error);
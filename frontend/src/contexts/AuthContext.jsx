@@ -46,6 +46,7 @@ export const AuthProvider = ({ children }) => {
         try {
             const response = await authService.login(email, password);
             localStorage.setItem('token', response.token);
+            localStorage.setItem('refreshToken', response.refreshToken);
             setIsAuthenticated(true);
             await loadUserProfile();
             return { success: true };
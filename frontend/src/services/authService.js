@@ -12,7 +12,13 @@ export const authService = {
     },
 
     logout: () => {
+        const refreshToken = localStorage.getItem('refreshToken');
+        if (refreshToken) {
+            // Revoga a sessão no servidor; falhas aqui não impedem o logout local
+            api.post('/auth/logout', { refreshToken }).catch(() => {});
+        }
         localStorage.removeItem('token');
+        localStorage.removeItem('refreshToken');
         window.location.href = '/auth';
     },
 